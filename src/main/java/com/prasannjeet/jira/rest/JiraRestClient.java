@@ -3,10 +3,15 @@ package com.prasannjeet.jira.rest;
 import com.prasannjeet.jira.rest.client.*;
 import com.prasannjeet.jira.rest.core.*;
 import com.prasannjeet.jira.rest.core.domain.field.FieldBean;
+import com.prasannjeet.jira.rest.core.http.ConnectionConfig;
+import com.prasannjeet.jira.rest.core.http.ConnectionPoolStats;
+import com.prasannjeet.jira.rest.core.http.RequestCoalescer;
+import com.prasannjeet.jira.rest.core.http.InstrumentedConnectionManager;
 import com.prasannjeet.jira.rest.core.misc.RestParamConstants;
 import com.prasannjeet.jira.rest.core.misc.RestPathConstants;
 import com.prasannjeet.jira.rest.core.util.HttpMethodFactory;
 import com.prasannjeet.jira.rest.core.util.URIHelper;
+import com.prasannjeet.jira.rest.core.util.VirtualThreads;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
@@ -19,9 +24,13 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.client.*;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -31,14 +40,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * User: Christian Schulze
  * Email: c.schulze@micromata.de
  * Date: 22.08.2014
  */
-public class JiraRestClient implements RestParamConstants, RestPathConstants {
+public class JiraRestClient implements RestParamConstants, RestPathConstants, Closeable {
 
 
     private static final String HTTP = "http";
@@ -46,9 +58,21 @@ public class JiraRestClient implements RestParamConstants, RestPathConstants {
 
     protected final ExecutorService executorService;
 
+    private final ConnectionConfig connectionConfig;
+
+    private final boolean ownsExecutorService;
+
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+
     private URI baseUri;
     private String username = StringUtils.EMPTY;
     private CloseableHttpClient httpclient;
+    private InstrumentedConnectionManager connectionManager;
+    private ScheduledExecutorService scheduler;
+    private volatile CloseableHttpAsyncClient asyncHttpClient;
+    private CredentialsProvider credsProvider;
+    private RequestConfig defaultRequestConfig;
+    private AuthCache authCache;
     private HttpHost proxyHost;
     private CookieStore cookieStore = new BasicCookieStore();
     private HttpClientContext clientContext;
@@ -67,8 +91,60 @@ public class JiraRestClient implements RestParamConstants, RestPathConstants {
 
     private SystemClient systemClient;
 
+    private AsyncIssueClient asyncIssueClient;
+
+    private AsyncUserClient asyncUserClient;
+
+    private AsyncSearchClient asyncSearchClient;
+
+    private AsyncProjectClient asyncProjectClient;
+
+    private AsyncSystemClient asyncSystemClient;
+
     public JiraRestClient(ExecutorService executorService) {
+        this(executorService, new ConnectionConfig());
+    }
+
+    /**
+     * Creates a JiraRestClient with a custom configuration of the connection pool.
+     * The pool should allow at least as many connections per route as the executorService has threads,
+     * otherwise the threads wait for a connection lease.
+     *
+     * @param executorService  = the executor for the requests
+     * @param connectionConfig = the configuration of the connection pool
+     */
+    public JiraRestClient(ExecutorService executorService, ConnectionConfig connectionConfig) {
+        this(executorService, connectionConfig, false);
+    }
+
+    private JiraRestClient(ExecutorService executorService, ConnectionConfig connectionConfig, boolean ownsExecutorService) {
         this.executorService = executorService;
+        this.connectionConfig = connectionConfig;
+        this.ownsExecutorService = ownsExecutorService;
+    }
+
+    /**
+     * Creates a JiraRestClient which runs every request on its own virtual thread (Java 21 or newer).
+     * There is no thread pool to size, the number of concurrent requests is only limited by the connection pool.
+     * Before Java 21 a cached thread pool is used instead. The executor is shut down when the client is closed.
+     *
+     * @return the JiraRestClient
+     */
+    public static JiraRestClient withVirtualThreads() {
+        return withVirtualThreads(new ConnectionConfig());
+    }
+
+    /**
+     * Creates a JiraRestClient which runs every request on its own virtual thread (Java 21 or newer),
+     * or on a cached thread pool before Java 21.
+     *
+     * @param connectionConfig = the configuration of the connection pool, which limits the concurrent requests
+     * @return the JiraRestClient
+     */
+    public static JiraRestClient withVirtualThreads(ConnectionConfig connectionConfig) {
+        ExecutorService executorService = VirtualThreads.isSupported() == true
+                ? VirtualThreads.newVirtualThreadPerTaskExecutor() : Executors.newCachedThreadPool();
+        return new JiraRestClient(executorService, connectionConfig, true);
     }
 
     public int connect(URI uri, String username, String password) throws IOException, URISyntaxException, ExecutionException, InterruptedException {
@@ -96,15 +172,28 @@ public class JiraRestClient implements RestParamConstants, RestPathConstants {
         String scheme = HTTP;
         if (port == 443) scheme = HTTPS;
         HttpHost target = new HttpHost(host, port, scheme);
-        CredentialsProvider credsProvider = new BasicCredentialsProvider();
+        credsProvider = new BasicCredentialsProvider();
         credsProvider.setCredentials(
                 new AuthScope(target.getHostName(), target.getPort()),
                 new UsernamePasswordCredentials(username, password));
+        if (httpclient != null) {
+            // the clients hold the closed connections, so they are created again
+            closeConnections();
+            resetClients();
+        }
+        connectionManager = new InstrumentedConnectionManager(connectionConfig);
+        defaultRequestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(connectionConfig.getConnectionRequestTimeout())
+                .build();
         httpclient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(createKeepAliveStrategy())
+                .setDefaultRequestConfig(defaultRequestConfig)
                 .setDefaultCredentialsProvider(credsProvider)
                 .build();
+        startIdleConnectionEvictor();
         // Create AuthCache instance
-        AuthCache authCache = new BasicAuthCache();
+        authCache = new BasicAuthCache();
         // Generate BASIC scheme object and add it to the local
         // auth cache
         BasicScheme basicAuth = new BasicScheme();
@@ -117,7 +206,7 @@ public class JiraRestClient implements RestParamConstants, RestPathConstants {
         // setzen des Proxies
         if(proxyHost != null){
             this.proxyHost = proxyHost;
-            requestConfig = RequestConfig.custom().setProxy(proxyHost).build();
+            requestConfig = RequestConfig.copy(defaultRequestConfig).setProxy(proxyHost).build();
         }
 
         URIBuilder uriBuilder = URIHelper.buildPath(baseUri, USER);
@@ -138,6 +227,173 @@ public class JiraRestClient implements RestParamConstants, RestPathConstants {
         return statusCode;
     }
 
+    private void resetClients() {
+        issueClient = null;
+        userClient = null;
+        searchClient = null;
+        projectClient = null;
+        systemClient = null;
+        asyncIssueClient = null;
+        asyncUserClient = null;
+        asyncSearchClient = null;
+        asyncProjectClient = null;
+        asyncSystemClient = null;
+    }
+
+    /**
+     * Uses the Keep-Alive header of the server, or the configured keep alive if the server sends none.
+     */
+    private ConnectionKeepAliveStrategy createKeepAliveStrategy() {
+        return (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            if (keepAlive < 0) {
+                return connectionConfig.getKeepAlive();
+            }
+            return keepAlive;
+        };
+    }
+
+    /**
+     * Closes expired and idle connections in the background, so stale connections are not leased.
+     */
+    private void startIdleConnectionEvictor() {
+        long interval = connectionConfig.getEvictionInterval();
+        if (interval <= 0) {
+            return;
+        }
+        final InstrumentedConnectionManager manager = connectionManager;
+        getScheduler().scheduleWithFixedDelay(() -> {
+            manager.closeExpiredConnections();
+            manager.closeIdleConnections(connectionConfig.getMaxIdleTime(), TimeUnit.MILLISECONDS);
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the daemon scheduler for the background tasks of this client.
+     *
+     * @return the scheduler
+     */
+    public synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null || scheduler.isShutdown() == true) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jira-rest-client-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+
+    /**
+     * Returns the non-blocking HTTP client used by the async clients.
+     * It is created and started on first use and shares the credentials and pool limits with the blocking client.
+     *
+     * @return the started CloseableHttpAsyncClient
+     */
+    public CloseableHttpAsyncClient getAsyncClient() {
+        CloseableHttpAsyncClient client = asyncHttpClient;
+        if (client != null) {
+            return client;
+        }
+        synchronized (this) {
+            if (asyncHttpClient == null) {
+                CloseableHttpAsyncClient newClient = HttpAsyncClients.custom()
+                        .setMaxConnTotal(connectionConfig.getMaxTotal())
+                        .setMaxConnPerRoute(connectionConfig.getMaxPerRoute())
+                        .setKeepAliveStrategy(createKeepAliveStrategy())
+                        .setDefaultRequestConfig(defaultRequestConfig)
+                        .setDefaultCredentialsProvider(credsProvider)
+                        .build();
+                newClient.start();
+                asyncHttpClient = newClient;
+            }
+            return asyncHttpClient;
+        }
+    }
+
+    /**
+     * Creates a new execution context which shares the preemptive auth cache.
+     * Use it for concurrent requests, because a HttpClientContext holds the state of a single execution.
+     *
+     * @return a new HttpClientContext
+     */
+    public HttpClientContext createClientContext() {
+        HttpClientContext context = HttpClientContext.create();
+        context.setAuthCache(authCache);
+        return context;
+    }
+
+    /**
+     * Returns the current state of the connection pool, or null if the client is not connected.
+     *
+     * @return ConnectionPoolStats
+     */
+    public ConnectionPoolStats getConnectionPoolStats() {
+        if (connectionManager == null) {
+            return null;
+        }
+        return connectionManager.getStats();
+    }
+
+    /**
+     * Returns the request configuration used if a request has no own configuration.
+     *
+     * @return the default RequestConfig
+     */
+    public RequestConfig getDefaultRequestConfig() {
+        return defaultRequestConfig;
+    }
+
+    /**
+     * Returns the coalescer which lets concurrent identical GET requests of all clients share one HTTP call,
+     * e.g. to read its hit and miss counters or to disable it.
+     *
+     * @return the RequestCoalescer
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    public ConnectionConfig getConnectionConfig() {
+        return connectionConfig;
+    }
+
+    /**
+     * @return the executor for the requests
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Stops the background tasks and closes all pooled connections.
+     * The ExecutorService is only shut down if it was created by the client, e.g. with withVirtualThreads().
+     *
+     * @throws IOException
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        closeConnections();
+        if (ownsExecutorService == true) {
+            executorService.shutdown();
+        }
+    }
+
+    private synchronized void closeConnections() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        if (httpclient != null) {
+            httpclient.close();
+            httpclient = null;
+        }
+        if (asyncHttpClient != null) {
+            asyncHttpClient.close();
+            asyncHttpClient = null;
+        }
+    }
+
     public static Map<String, FieldBean> getCustomfields() {
         return customfields;
     }
@@ -212,6 +468,41 @@ public class JiraRestClient implements RestParamConstants, RestPathConstants {
         return userClient;
     }
 
+    public AsyncIssueClient getAsyncIssueClient() {
+        if (asyncIssueClient == null) {
+            asyncIssueClient = new AsyncIssueClientImpl(this, executorService);
+        }
+        return asyncIssueClient;
+    }
+
+    public AsyncProjectClient getAsyncProjectClient() {
+        if (asyncProjectClient == null) {
+            asyncProjectClient = new AsyncProjectClientImpl(this, executorService);
+        }
+        return asyncProjectClient;
+    }
+
+    public AsyncSearchClient getAsyncSearchClient() {
+        if (asyncSearchClient == null) {
+            asyncSearchClient = new AsyncSearchClientImpl(this, executorService);
+        }
+        return asyncSearchClient;
+    }
+
+    public AsyncSystemClient getAsyncSystemClient() {
+        if (asyncSystemClient == null) {
+            asyncSystemClient = new AsyncSystemClientImpl(this, executorService);
+        }
+        return asyncSystemClient;
+    }
+
+    public AsyncUserClient getAsyncUserClient() {
+        if (asyncUserClient == null) {
+            asyncUserClient = new AsyncUserClientImpl(this, executorService);
+        }
+        return asyncUserClient;
+    }
+
     public CloseableHttpClient getClient() {
         return httpclient;
     }
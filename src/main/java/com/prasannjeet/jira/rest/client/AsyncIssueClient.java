@@ -0,0 +1,110 @@
+package com.prasannjeet.jira.rest.client;
+
+import com.prasannjeet.jira.rest.core.domain.*;
+import com.prasannjeet.jira.rest.core.domain.update.IssueUpdate;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the IssueClient.
+ * <p>
+ * The requests run on the HttpAsyncClient, no thread is parked while waiting for the server.
+ * Cancelling a returned future aborts the request.
+ */
+public interface AsyncIssueClient {
+
+    /**
+     * Create a new issue
+     * @param issue = the issue
+     * @return IssueResponse
+     */
+    CompletableFuture<IssueResponse> createIssue(IssueBean issue);
+
+    /**
+     * Returns a full representation of the issue for the given issue key.
+     *
+     * @param issueKey = issue key
+     * @return all informations for the issue or null if the issue did not exist
+     */
+    CompletableFuture<IssueBean> getIssueByKey(String issueKey);
+
+    /**
+     * Return a Issue with the given Field and Expand Fields.
+     *
+     * @param issueKey = issue key
+     * @param fields   = the fields to return, or null for all
+     * @param expand   = the fields to expand, or null
+     * @return the issue
+     */
+    CompletableFuture<IssueBean> getIssueByKey(String issueKey, List<String> fields, List<String> expand);
+
+    /**
+     * Update Fields of an Issue and return the updated Issue.
+     *
+     * @param issueKey    = issue key
+     * @param issueUpdate = the update
+     * @return the updated issue
+     */
+    CompletableFuture<IssueBean> updateIssue(String issueKey, IssueUpdate issueUpdate);
+
+    /**
+     * Get Attachement as byte Array, or null
+     *
+     * @param uri = the uri of the resource
+     * @return byte[] or null
+     */
+    CompletableFuture<byte[]> getAttachment(URI uri);
+
+    /**
+     * Get Attachment Information for an attachment by id
+     *
+     * @param id the id of the attachment
+     * @return AttachmentBean
+     */
+    CompletableFuture<AttachmentBean> getAttachment(long id);
+
+    /**
+     * Adds the worklog to the Issue.
+     *
+     * @param issueKey = the issue key
+     * @param worklog  = the worklog
+     * @return true if the worklog was created
+     */
+    CompletableFuture<Boolean> transferWorklogInIssue(String issueKey, WorklogBean worklog);
+
+    /**
+     * Executes a transition on an Issue.
+     *
+     * @param issueKey     = the issue key
+     * @param transitionId = the transition id
+     * @return true if the transition was executed
+     */
+    CompletableFuture<Boolean> updateIssueTransitionByKey(String issueKey, int transitionId);
+
+    /**
+     * Returns available transitions for an Issue.
+     *
+     * @param issueKey = the issue key
+     * @return List of TransitionBean
+     */
+    CompletableFuture<List<TransitionBean>> getIssueTransitionsByKey(String issueKey);
+
+    /**
+     * Returns a summarized representation of all comments for the given issue.
+     *
+     * @param issueKey = issue key
+     * @return summarized representation of all comments
+     */
+    CompletableFuture<CommentsBean> getCommentsByIssue(String issueKey);
+
+    /**
+     * Add comment to issue.
+     *
+     * @param issueKey = issue key
+     * @param comment  = comment to add
+     * @return true if the comment was created
+     */
+    CompletableFuture<Boolean> addCommentToIssue(String issueKey, CommentBean comment);
+}
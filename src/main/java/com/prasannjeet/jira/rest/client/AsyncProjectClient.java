@@ -0,0 +1,54 @@
+package com.prasannjeet.jira.rest.client;
+
+import com.prasannjeet.jira.rest.core.domain.ComponentBean;
+import com.prasannjeet.jira.rest.core.domain.ProjectBean;
+import com.prasannjeet.jira.rest.core.domain.VersionBean;
+import com.prasannjeet.jira.rest.core.domain.meta.MetaBean;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the ProjectClient.
+ */
+public interface AsyncProjectClient {
+
+    /**
+     * Returns all projects which are visible for the logged in user.
+     *
+     * @return list of projects
+     */
+    CompletableFuture<List<ProjectBean>> getAllProjects();
+
+    /**
+     * Returns a full representation of the project for the given key.
+     *
+     * @param projectKey = the project key
+     * @return the project
+     */
+    CompletableFuture<ProjectBean> getProjectByKey(String projectKey);
+
+    /**
+     * Returns all versions for the given project key.
+     *
+     * @param projectKey = the project key
+     * @return list of versions
+     */
+    CompletableFuture<List<VersionBean>> getProjectVersions(String projectKey);
+
+    /**
+     * Returns all components for the given project key.
+     *
+     * @param projectKey = the project key
+     * @return list of components
+     */
+    CompletableFuture<List<ComponentBean>> getProjectComponents(String projectKey);
+
+    /**
+     * Returns the create meta data of the issue types for the given project key.
+     *
+     * @param projectKey = the project key
+     * @return MetaBean
+     */
+    CompletableFuture<MetaBean> getIssueTypesMetaForProject(String projectKey);
+}
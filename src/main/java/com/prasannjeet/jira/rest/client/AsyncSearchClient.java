@@ -0,0 +1,45 @@
+package com.prasannjeet.jira.rest.client;
+
+import com.prasannjeet.jira.rest.core.domain.JqlSearchResult;
+import com.prasannjeet.jira.rest.core.domain.filter.FilterBean;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the SearchClient.
+ */
+public interface AsyncSearchClient {
+
+    /**
+     * Performs an extended search for issues.
+     *
+     * @param jsb = the search
+     * @return one page of the search result
+     */
+    CompletableFuture<JqlSearchResult> searchIssues(JqlSearchBean jsb);
+
+    /**
+     * Create a new Search Filter for the logged in User
+     *
+     * @param filter = the filter
+     * @return the created filter
+     */
+    CompletableFuture<FilterBean> createSearchFilter(FilterBean filter);
+
+    /**
+     * Get favorite Filter for JqlSearch for the logged in User
+     *
+     * @return List of FilterBeans
+     */
+    CompletableFuture<List<FilterBean>> getFavoriteFilter();
+
+    /**
+     * Get Filter by Id
+     *
+     * @param id the id of the filter
+     * @return FilterBean
+     */
+    CompletableFuture<FilterBean> getFilterById(String id);
+}
@@ -0,0 +1,75 @@
+package com.prasannjeet.jira.rest.client;
+
+import com.prasannjeet.jira.rest.core.domain.IssuetypeBean;
+import com.prasannjeet.jira.rest.core.domain.PriorityBean;
+import com.prasannjeet.jira.rest.core.domain.StatusBean;
+import com.prasannjeet.jira.rest.core.domain.field.CreateFieldBean;
+import com.prasannjeet.jira.rest.core.domain.field.FieldBean;
+import com.prasannjeet.jira.rest.core.domain.system.ConfigurationBean;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the SystemClient.
+ */
+public interface AsyncSystemClient {
+
+    /**
+     * Return the Configuration of the remote Jira Instanz
+     *
+     * @return ConfigurationBean
+     */
+    CompletableFuture<ConfigurationBean> getConfiguration();
+
+    /**
+     * Returns a list of all issue types visible to the connected client.
+     *
+     * @return list of issue types
+     */
+    CompletableFuture<List<IssuetypeBean>> getIssueTypes();
+
+    /**
+     * Returns a list of all statuses.
+     *
+     * @return list of statuses
+     */
+    CompletableFuture<List<StatusBean>> getStates();
+
+    /**
+     * Returns a List of all Priority Object from the Remote Jira.
+     *
+     * @return list of priorities
+     */
+    CompletableFuture<List<PriorityBean>> getPriorities();
+
+    /**
+     * Return a List of all Field configure in Jira, standard and custom
+     *
+     * @return a List of FieldBean
+     */
+    CompletableFuture<List<FieldBean>> getAllFields();
+
+    /**
+     * Return all Custom Field configure in the Jira
+     *
+     * @return a List of FieldBean
+     */
+    CompletableFuture<List<FieldBean>> getAllCustomFields();
+
+    /**
+     * Return a Custom Field by Id
+     *
+     * @param id = the id of the custom field
+     * @return the FieldBean or null
+     */
+    CompletableFuture<FieldBean> getCustomFieldById(String id);
+
+    /**
+     * Creates a Custom Field
+     *
+     * @param fieldBean The CreateFieldBean with the create Informations
+     * @return The created Field as FieldBean
+     */
+    CompletableFuture<FieldBean> createCustomField(CreateFieldBean fieldBean);
+}
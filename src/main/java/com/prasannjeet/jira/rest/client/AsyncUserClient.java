@@ -0,0 +1,55 @@
+package com.prasannjeet.jira.rest.client;
+
+import com.prasannjeet.jira.rest.core.domain.UserBean;
+import com.prasannjeet.jira.rest.core.domain.permission.MyPermissionsBean;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the UserClient.
+ */
+public interface AsyncUserClient {
+
+    /**
+     * Returns a List of UserBean which are assignable to Issue in a Project
+     *
+     * @param projectKey the projectkey
+     * @param startAt start at position (0-based) can be null the default (0)
+     * @param maxResults Number of Results (default 50) can be null then default (50)
+     * @return The List of a assignable Users, or an Empty List if the logged in User has no permission to get assign Issues
+     */
+    CompletableFuture<List<UserBean>> getAssignableUserForProject(String projectKey, Integer startAt, Integer maxResults);
+
+    /**
+     * Returns a List of UserBean which are assignable to an Issue
+     *
+     * @param issueKey The Issuekey
+     * @param startAt start at position (0-based) can be null the default (0)
+     * @param maxResults Number of Results (default 50) can be null then default (50)
+     * @return The List of a assignable Users, or an Empty List if the logged in User has no permission to get assign Issues
+     */
+    CompletableFuture<List<UserBean>> getAssignableUsersForIssue(String issueKey, Integer startAt, Integer maxResults);
+
+    /**
+     * Returns a User by his username
+     *
+     * @param username The username of the User
+     * @return The UserBean for the username or null if the logged in User has no permission to get another user
+     */
+    CompletableFuture<UserBean> getUserByUsername(String username);
+
+    /**
+     * Returns the logged in remote user.
+     *
+     * @return logged in user
+     */
+    CompletableFuture<UserBean> getLoggedInRemoteUser();
+
+    /**
+     * Get the Permissions for the logged in User.
+     *
+     * @return PermissionsBean with all Permission
+     */
+    CompletableFuture<MyPermissionsBean> getMyPermissions();
+}
@@ -1,15 +1,23 @@
 package com.prasannjeet.jira.rest.client;
 
+import com.prasannjeet.jira.rest.core.batch.BatchLoader;
 import com.prasannjeet.jira.rest.core.domain.*;
 import com.prasannjeet.jira.rest.core.domain.update.IssueUpdate;
+import com.prasannjeet.jira.rest.core.http.RequestOptions;
 import com.prasannjeet.jira.rest.core.util.RestException;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Future;
 
 /**
@@ -17,6 +25,11 @@ import java.util.concurrent.Future;
  */
 public interface IssueClient {
 
+    /**
+     * The maximum number of issues of one bulk create request.
+     */
+    int BULK_CREATE_LIMIT = 50;
+
     /**
      * Create a new issue
      * @param issue = the issue
@@ -24,6 +37,17 @@ public interface IssueClient {
      */
     Future<IssueResponse> createIssue(IssueBean issue);
 
+    /**
+     * Creates many issues with the bulk request of Jira. The issues are sent in chunks of
+     * {@link #BULK_CREATE_LIMIT}, the chunks run in parallel. Cancelling the future aborts the requests of the
+     * chunks which are not done yet.
+     *
+     * @param issues = the issues
+     * @return one IssueResponse per issue in the order of the issues, with the key of the created issue or the
+     * error. If a whole chunk failed, e.g. with a server error, every issue of the chunk has the error.
+     */
+    Future<List<IssueResponse>> createIssues(List<IssueBean> issues);
+
     /**
      * Returns a full representation of the issue for the given issue key.
      *
@@ -32,6 +56,16 @@ public interface IssueClient {
      */
     Future<IssueBean> getIssueByKey(String issueKey);
 
+    /**
+     * Returns a full representation of the issue with own timeouts.
+     * Cancelling the returned future, or reaching the total timeout, aborts the HTTP request.
+     *
+     * @param issueKey = issue key
+     * @param options  = the timeouts of the call, or null for the defaults
+     * @return all informations for the issue or null if the issue did not exist
+     */
+    Future<IssueBean> getIssueByKey(String issueKey, RequestOptions options);
+
     /**
      * update Field of an Issue
      *
@@ -41,6 +75,36 @@ public interface IssueClient {
      */
     Future<IssueBean> updateIssue(String issueKey, IssueUpdate issueUpdate);
 
+    /**
+     * Updates the issue and loads it again with only the given fields, in the same call.
+     *
+     * @param issueKey    = issue key
+     * @param issueUpdate = the update
+     * @param fields      = the fields to return, or null for all
+     * @return the updated issue or null if it was deleted in the meantime
+     */
+    Future<IssueBean> updateIssue(String issueKey, IssueUpdate issueUpdate, List<String> fields);
+
+    /**
+     * Updates the issue without loading it again, e.g. for jobs which update many issues.
+     *
+     * @param issueKey    = issue key
+     * @param issueUpdate = the update
+     * @return true if the issue was updated, a failed update completes the future with a RestException
+     */
+    Future<Boolean> updateIssueWithoutFetch(String issueKey, IssueUpdate issueUpdate);
+
+    /**
+     * Updates the issue and applies the update to the already loaded issue instead of loading it again,
+     * see {@link com.prasannjeet.jira.rest.core.util.IssuePatcher}. If the update can not be applied locally,
+     * the issue is loaded again.
+     *
+     * @param cachedIssue = the loaded issue, it is not modified
+     * @param issueUpdate = the update
+     * @return a copy of the issue with the update applied
+     */
+    Future<IssueBean> updateCachedIssue(IssueBean cachedIssue, IssueUpdate issueUpdate);
+
     /**
      * Return a Issue with the given Field and Expand Fields.
      *
@@ -52,7 +116,42 @@ public interface IssueClient {
     Future<IssueBean> getIssueByKey(String issueKey, List<String> fields, List<String> expand);
 
     /**
-     * Get Attachement as byte Array, or null
+     * Return a Issue with the given Field and Expand Fields and own timeouts.
+     *
+     * @param issueKey = issue key
+     * @param fields   = the fields to return, or null for all
+     * @param expand   = the fields to expand, or null
+     * @param options  = the timeouts of the call, or null for the defaults
+     * @return the issue
+     */
+    Future<IssueBean> getIssueByKey(String issueKey, List<String> fields, List<String> expand, RequestOptions options);
+
+    /**
+     * Loads many issues with a few searches instead of one request per issue. The keys are split into chunks of
+     * <code>key in (...)</code> searches which run in parallel.
+     *
+     * @param issueKeys = the issue keys
+     * @param fields    = the fields to return, or null for all
+     * @param expand    = the fields to expand, or null
+     * @return the issues by requested key in the order of the keys, the value is null if the issue did not exist.
+     * A moved issue is returned under the requested old key, every key which the searches did not find is loaded
+     * with one more request.
+     */
+    Future<Map<String, IssueBean>> getIssuesByKeys(Collection<String> issueKeys, List<String> fields, List<String> expand);
+
+    /**
+     * Creates a loader which collects single issue lookups for a few milliseconds and loads them with
+     * {@link #getIssuesByKeys(Collection, List, List)}, e.g. to replace getIssueByKey calls from many call sites.
+     *
+     * @param fields = the fields to return, or null for all
+     * @param expand = the fields to expand, or null
+     * @return the loader, its futures complete with null if the issue did not exist
+     */
+    BatchLoader<String, IssueBean> createIssueLoader(List<String> fields, List<String> expand);
+
+    /**
+     * Get Attachement as byte Array, or null.
+     * The whole attachment is held in memory, large attachments should be downloaded with downloadAttachment.
      *
      * @param uri = the uri of the resource
      * @return byte[] or null
@@ -61,12 +160,55 @@ public interface IssueClient {
 
 
     /**
-     * Get Attachment as InputStream
+     * Writes the attachment to a file, with a constant amount of memory.
+     * The file is replaced, a failed download deletes it.
+     *
+     * @param uri    = the content uri of the attachment
+     * @param target = the file
+     * @return the number of written bytes
+     */
+    Future<Long> downloadAttachment(URI uri, Path target);
+
+    /**
+     * Continues a download to a file with a Range request for the bytes after the end of the file. The file is
+     * written from the start if the server does not support ranges. The file is kept if the download fails, so
+     * it can be continued again.
+     *
+     * @param uri    = the content uri of the attachment
+     * @param target = the file, it does not need to exist
+     * @return the size of the file after the download
+     */
+    Future<Long> resumeAttachmentDownload(URI uri, Path target);
+
+    /**
+     * Writes the attachment to the channel, with a constant amount of memory.
+     *
+     * @param uri    = the content uri of the attachment
+     * @param target = the channel, it is not closed
+     * @return the number of written bytes
+     */
+    Future<Long> downloadAttachment(URI uri, WritableByteChannel target);
+
+    /**
+     * Writes the attachment to the stream, with a constant amount of memory.
+     *
+     * @param uri    = the content uri of the attachment
+     * @param target = the stream, it is not closed
+     * @return the number of written bytes
+     */
+    Future<Long> downloadAttachment(URI uri, OutputStream target);
+
+    /**
+     * Get Attachment as InputStream. The content is read from the connection while the stream is read,
+     * close the stream to release the connection. A stream which is closed before its end aborts the connection
+     * instead of reading the rest of the attachment.
+     * <p>
+     * The calling thread is blocked while the attachment metadata and the response headers are loaded.
      *
      * @param id the Id of the Attachment
-     * @return
+     * @return the content of the attachment, or null if the attachment does not exist
      */
-    InputStream getAttachmentAsStream(long id);
+    InputStream getAttachmentAsStream(long id) throws RestException, IOException;
 
 
     /**
@@ -82,6 +224,47 @@ public interface IssueClient {
      */
     Future<List<AttachmentBean>> saveAttachmentToIssue(String issuekey, File... file);
 
+    /**
+     * Saves the file as attachment, the file is streamed while the request is sent.
+     *
+     * @param issueKey = the issue
+     * @param file     = the file, the name of the file is the name of the attachment
+     * @return Future of the created attachment
+     */
+    Future<AttachmentBean> saveAttachmentToIssue(String issueKey, Path file);
+
+    /**
+     * Saves the content of the stream as attachment, the stream is read while the request is sent.
+     *
+     * @param issueKey = the issue
+     * @param filename = the name of the attachment
+     * @param content  = the content, it is not closed
+     * @param length   = the number of bytes of the content, or -1 to send it chunked
+     * @return Future of the created attachment
+     */
+    Future<AttachmentBean> saveAttachmentToIssue(String issueKey, String filename, InputStream content, long length);
+
+    /**
+     * Saves the content of the channel as attachment, the channel is read while the request is sent.
+     *
+     * @param issueKey = the issue
+     * @param filename = the name of the attachment
+     * @param content  = the content, it is not closed
+     * @param length   = the number of bytes of the content, or -1 to send it chunked
+     * @return Future of the created attachment
+     */
+    Future<AttachmentBean> saveAttachmentToIssue(String issueKey, String filename, ReadableByteChannel content,
+                                                 long length);
+
+    /**
+     * Saves the files as attachments with one request per file, so the files are uploaded in parallel.
+     *
+     * @param issueKey = the issue
+     * @param files    = the files
+     * @return the futures of the created attachments in the order of the files
+     */
+    List<Future<AttachmentBean>> saveAttachmentsToIssue(String issueKey, Collection<Path> files);
+
     /**
      * Returns true if the worklog is successfully transfered to the Issue.
      *
@@ -113,6 +296,25 @@ public interface IssueClient {
      */
     Future<List<TransitionBean>> getIssueTransitionsByKey(String issueKey);
 
+    /**
+     * Returns the available transitions for an Issue.
+     *
+     * @param issueKey     = the issue key
+     * @param expandFields = true to get the fields of the transition screens, false if only id, name and target
+     *                     status are needed
+     * @return List of TransitionBean
+     */
+    Future<List<TransitionBean>> getIssueTransitionsByKey(String issueKey, boolean expandFields);
+
+    /**
+     * Executes a transition without blocking the caller.
+     *
+     * @param issueKey     = the issue key
+     * @param transitionId = the transition id
+     * @return true if the transition succeeded, a failed transition completes the future with a RestException
+     */
+    Future<Boolean> transitionIssue(String issueKey, String transitionId);
+
     /**
      * Returns a summarized representation of all comments for the given issue.
      *
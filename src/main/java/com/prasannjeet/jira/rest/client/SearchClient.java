@@ -1,11 +1,22 @@
 package com.prasannjeet.jira.rest.client;
 
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
 import com.prasannjeet.jira.rest.core.domain.JqlSearchResult;
 import com.prasannjeet.jira.rest.core.domain.filter.FilterBean;
+import com.prasannjeet.jira.rest.core.http.RequestOptions;
+import com.prasannjeet.jira.rest.core.jql.EField;
 import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+import com.prasannjeet.jira.rest.core.search.SearchCache;
+import com.prasannjeet.jira.rest.core.search.SearchResultIterator;
+import com.prasannjeet.jira.rest.core.search.SearchShard;
+import com.prasannjeet.jira.rest.core.search.SeekSearchIterator;
+import com.prasannjeet.jira.rest.core.search.ShardedSearchIterator;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 
 /**
@@ -21,6 +32,164 @@ public interface SearchClient {
      */
     Future<JqlSearchResult> searchIssues(JqlSearchBean jsb);
 
+    /**
+     * Performs an extended search for issues with own timeouts.
+     * Cancelling the returned future, or reaching the total timeout, aborts the HTTP request.
+     *
+     * @param jsb     = the search
+     * @param options = the timeouts of the call, or null for the defaults
+     * @return one page of the search result
+     */
+    Future<JqlSearchResult> searchIssues(JqlSearchBean jsb, RequestOptions options);
+
+    /**
+     * Counts the issues of a JQL query with a search for maxResults = 0, no issues are transferred.
+     *
+     * @param jql = the JQL
+     * @return the number of matching issues
+     */
+    Future<Integer> countIssues(String jql);
+
+    /**
+     * Counts the issues of a JQL query per value of a field, e.g. the open bugs per assignee. Only the field is
+     * requested and the response is read without building IssueBeans. Dates are counted per day.
+     *
+     * @param jql   = the JQL, its ORDER BY is replaced by id
+     * @param field = the field to group by
+     * @return the counts per value sorted by count descending, issues without value are counted under null
+     */
+    Future<Map<String, Long>> countIssuesBy(String jql, EField field);
+
+    /**
+     * Counts the issues of a JQL query per value of a field, e.g. a custom field.
+     *
+     * @param jql      = the JQL, its ORDER BY is replaced by id
+     * @param field    = the field in the JSON of the issue, e.g. customfield_10000
+     * @param dateOnly = true to count dates per day
+     * @return the counts per value sorted by count descending, issues without value are counted under null
+     */
+    Future<Map<String, Long>> countIssuesBy(String jql, String field, boolean dateOnly);
+
+    /**
+     * Sets the cache of {@link #searchIssues(JqlSearchBean)}. The iterators and streams are never cached.
+     *
+     * @param searchCache = the cache, e.g. a LruSearchCache, or null to disable caching
+     */
+    void setSearchCache(SearchCache searchCache);
+
+    /**
+     * @return the cache of the searches, or null if caching is disabled
+     */
+    SearchCache getSearchCache();
+
+    /**
+     * Iterates over all issues of the search. The pages are requested lazily with the maxResults
+     * of the search as page size and the next page is prefetched while the current one is consumed.
+     *
+     * @param jsb = the search
+     * @return Iterator over all issues, close it if it is not consumed to the end
+     */
+    SearchResultIterator iterateIssues(JqlSearchBean jsb);
+
+    /**
+     * Iterates over all issues of the search.
+     *
+     * @param jsb      = the search
+     * @param pageSize = the maxResults per page
+     * @param prefetch = maximum number of pages requested ahead
+     * @return Iterator over all issues, close it if it is not consumed to the end
+     */
+    SearchResultIterator iterateIssues(JqlSearchBean jsb, int pageSize, int prefetch);
+
+    /**
+     * Iterates over all issues of the search and fetches the pages concurrently.
+     * The first page reports the total, then up to parallelism pages are requested at once.
+     * The effective concurrency is also limited by the ExecutorService and the connection pool.
+     *
+     * @param jsb         = the search
+     * @param pageSize    = the maxResults per page
+     * @param parallelism = maximum number of pages requested concurrently
+     * @param ordered     = true to keep the order of the search, false to emit the pages as they arrive
+     * @return Iterator over all issues, close it if it is not consumed to the end
+     */
+    SearchResultIterator iterateIssues(JqlSearchBean jsb, int pageSize, int parallelism, boolean ordered);
+
+    /**
+     * Streams all issues of the search, see {@link #iterateIssues(JqlSearchBean)}.
+     *
+     * @param jsb = the search
+     * @return Stream of all issues, close it if it is not consumed to the end
+     */
+    Stream<IssueBean> streamIssues(JqlSearchBean jsb);
+
+    /**
+     * Streams all issues of the search, see {@link #iterateIssues(JqlSearchBean, int, int)}.
+     *
+     * @param jsb      = the search
+     * @param pageSize = the maxResults per page
+     * @param prefetch = maximum number of pages requested ahead
+     * @return Stream of all issues, close it if it is not consumed to the end
+     */
+    Stream<IssueBean> streamIssues(JqlSearchBean jsb, int pageSize, int prefetch);
+
+    /**
+     * Streams all issues of the search with concurrent page requests,
+     * see {@link #iterateIssues(JqlSearchBean, int, int, boolean)}.
+     *
+     * @param jsb         = the search
+     * @param pageSize    = the maxResults per page
+     * @param parallelism = maximum number of pages requested concurrently
+     * @param ordered     = true to keep the order of the search, false to emit the pages as they arrive
+     * @return Stream of all issues, close it if it is not consumed to the end
+     */
+    Stream<IssueBean> streamIssues(JqlSearchBean jsb, int pageSize, int parallelism, boolean ordered);
+
+    /**
+     * Iterates over all issues of the search sorted by id with keyset pagination. Every page is requested with
+     * <code>id &gt; last id</code> instead of an offset, so deep scans have a constant cost per page and can be
+     * resumed with the cursor of the iterator.
+     *
+     * @param jsb          = the search, its ORDER BY is replaced by id
+     * @param pageSize     = the maxResults per page
+     * @param startAfterId = the id after which the scan starts, or null to start with the first issue
+     * @return Iterator over the issues, close it if it is not consumed to the end
+     */
+    SeekSearchIterator iterateIssuesById(JqlSearchBean jsb, int pageSize, String startAfterId);
+
+    /**
+     * Streams all issues of the search sorted by id with keyset pagination,
+     * see {@link #iterateIssuesById(JqlSearchBean, int, String)}.
+     *
+     * @param jsb          = the search
+     * @param pageSize     = the maxResults per page
+     * @param startAfterId = the id after which the scan starts, or null to start with the first issue
+     * @return Stream of the issues, close it if it is not consumed to the end
+     */
+    Stream<IssueBean> streamIssuesById(JqlSearchBean jsb, int pageSize, String startAfterId);
+
+    /**
+     * Iterates over the issues of disjoint shards of a search, e.g. created with the JqlSharder.
+     * The shards are fetched in parallel, issues found by more than one shard are emitted once.
+     *
+     * @param shards          = the shards
+     * @param pageSize        = the maxResults per page
+     * @param parallelism     = maximum number of shards fetched at once
+     * @param completedShards = names of shards completed by a previous run which are skipped, may be null
+     * @return Iterator over the issues of all shards, close it if it is not consumed to the end
+     */
+    ShardedSearchIterator iterateShards(List<SearchShard> shards, int pageSize, int parallelism, Collection<String> completedShards);
+
+    /**
+     * Streams the issues of disjoint shards of a search,
+     * see {@link #iterateShards(List, int, int, Collection)}.
+     *
+     * @param shards      = the shards
+     * @param pageSize    = the maxResults per page
+     * @param parallelism = maximum number of shards fetched at once
+     * @return Stream of the issues of all shards, close it if it is not consumed to the end
+     */
+    Stream<IssueBean> streamShards(List<SearchShard> shards, int pageSize, int parallelism);
+
     /**
      * Create a new Search Filter for the logged in User
      *
@@ -1,5 +1,6 @@
 package com.prasannjeet.jira.rest.client;
 
+import com.prasannjeet.jira.rest.core.cache.MetadataCache;
 import com.prasannjeet.jira.rest.core.domain.AttachmentMetaBean;
 import com.prasannjeet.jira.rest.core.domain.IssuetypeBean;
 import com.prasannjeet.jira.rest.core.domain.PriorityBean;
@@ -15,6 +16,9 @@ import java.util.concurrent.Future;
 
 /**
  * The SystemClient provides all Information about the Jira System Configuration
+ * <p>
+ * The configuration, issue types, statuses, priorities and fields are cached in the {@link MetadataCache}. Every
+ * caller gets the same instances, the lists are unmodifiable and the beans must not be modified.
  */
 public interface SystemClient {
 
@@ -85,4 +89,12 @@ public interface SystemClient {
      */
     Future<FieldBean> createCustomField(CreateFieldBean fieldBean);
 
+    /**
+     * Returns the cache of the configuration, issue types, statuses, priorities and fields. Use it to change the
+     * time to live or to invalidate a resource after a change in Jira.
+     *
+     * @return the MetadataCache
+     */
+    MetadataCache getMetadataCache();
+
 }
@@ -1,5 +1,6 @@
 package com.prasannjeet.jira.rest.client;
 
+import com.prasannjeet.jira.rest.core.batch.BatchLoader;
 import com.prasannjeet.jira.rest.core.domain.UserBean;
 import com.prasannjeet.jira.rest.core.domain.permission.MyPermissionsBean;
 import com.prasannjeet.jira.rest.core.util.RestException;
@@ -60,4 +61,12 @@ public interface UserClient {
      * @return PermissionsBean with all Permission,
      */
     Future<MyPermissionsBean> getMyPermissions();
+
+    /**
+     * Creates a loader which collects single user lookups for a few milliseconds and loads them together.
+     * Jira has no bulk request for users by name, a batch requests every distinct username once and in parallel.
+     *
+     * @return the loader, its futures complete like {@link #getUserByUsername(String)}
+     */
+    BatchLoader<String, UserBean> createUserLoader();
 }
@@ -0,0 +1,154 @@
+package com.prasannjeet.jira.rest.core;
+
+import com.google.gson.stream.JsonReader;
+import com.prasannjeet.jira.rest.JiraRestClient;
+import com.prasannjeet.jira.rest.core.util.RestException;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Base for the clients which run on the non-blocking HttpAsyncClient.
+ * <p>
+ * The requests are multiplexed over a few I/O dispatcher threads. No thread waits for the server,
+ * only the JSON parsing of the received response runs on the ExecutorService, so the I/O threads are never blocked.
+ * Cancelling a returned CompletableFuture aborts the HTTP request.
+ */
+public abstract class AsyncBaseClient extends BaseClient {
+
+    public AsyncBaseClient(JiraRestClient jiraRestClient, ExecutorService executorService) {
+        super(jiraRestClient);
+        this.executorService = executorService;
+    }
+
+    /**
+     * Converts a fully received response into the result of the request.
+     *
+     * @param <T> the result type
+     */
+    protected interface ResponseHandler<T> {
+
+        T handle(HttpResponse response) throws Exception;
+    }
+
+    /**
+     * Creates the request, e.g. with buildPath and the HttpMethodFactory.
+     */
+    protected interface RequestFactory {
+
+        HttpUriRequest create() throws Exception;
+    }
+
+    /**
+     * Executes the request and handles the response on the ExecutorService.
+     *
+     * @param requestFactory = creates the request
+     * @param handler        = the handler for the response
+     * @return the result of the handler
+     */
+    protected <T> CompletableFuture<T> execute(RequestFactory requestFactory, ResponseHandler<T> handler) {
+        final HttpUriRequest request;
+        try {
+            request = requestFactory.create();
+        } catch (Exception e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        final CompletableFuture<HttpResponse> responseFuture = new CompletableFuture<>();
+        final Future<HttpResponse> httpFuture = jiraRestClient.getAsyncClient().execute(request,
+                jiraRestClient.createClientContext(), new FutureCallback<HttpResponse>() {
+
+                    @Override
+                    public void completed(HttpResponse response) {
+                        responseFuture.complete(response);
+                    }
+
+                    @Override
+                    public void failed(Exception ex) {
+                        responseFuture.completeExceptionally(ex);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        responseFuture.completeExceptionally(new CancellationException());
+                    }
+                });
+        final CompletableFuture<T> result = responseFuture.thenApplyAsync(response -> {
+            try {
+                return handler.handle(response);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executorService);
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled() == true) {
+                httpFuture.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Executes the request and parses the response as JSON if the status code is one of the success codes.
+     * Every other status code completes the future with a RestException.
+     *
+     * @param requestFactory = creates the request
+     * @param type           = the type of the result
+     * @param successCodes   = the expected status codes
+     * @return the parsed result
+     */
+    protected <T> CompletableFuture<T> execute(RequestFactory requestFactory, final Type type, final int... successCodes) {
+        return execute(requestFactory, response -> {
+            if (isStatus(response, successCodes) == true) {
+                return parse(response, type);
+            }
+            throw new RestException(response);
+        });
+    }
+
+    /**
+     * Executes the request and returns true if the status code is the success code.
+     * Every other status code completes the future with a RestException.
+     *
+     * @param requestFactory = creates the request
+     * @param successCode    = the expected status code
+     * @return true
+     */
+    protected CompletableFuture<Boolean> executeForSuccess(RequestFactory requestFactory, final int successCode) {
+        return execute(requestFactory, response -> {
+            if (isStatus(response, successCode) == true) {
+                return Boolean.TRUE;
+            }
+            throw new RestException(response);
+        });
+    }
+
+    protected boolean isStatus(HttpResponse response, int... codes) {
+        int statusCode = response.getStatusLine().getStatusCode();
+        for (int code : codes) {
+            if (statusCode == code) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected <T> T parse(HttpResponse response, Type type) throws IOException {
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            return null;
+        }
+        JsonReader jsonReader = toJsonReader(entity.getContent());
+        return gson.fromJson(jsonReader, type);
+    }
+}
@@ -0,0 +1,151 @@
+package com.prasannjeet.jira.rest.core;
+
+import com.prasannjeet.jira.rest.JiraRestClient;
+import com.prasannjeet.jira.rest.client.AsyncIssueClient;
+import com.prasannjeet.jira.rest.core.domain.*;
+import com.prasannjeet.jira.rest.core.domain.update.IssueUpdate;
+import com.prasannjeet.jira.rest.core.misc.RestParamConstants;
+import com.prasannjeet.jira.rest.core.misc.RestPathConstants;
+import com.prasannjeet.jira.rest.core.util.GsonParserUtil;
+import com.prasannjeet.jira.rest.core.util.HttpMethodFactory;
+import com.prasannjeet.jira.rest.core.util.RestException;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.util.EntityUtils;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * HttpAsyncClient based implementation of the AsyncIssueClient.
+ */
+public class AsyncIssueClientImpl extends AsyncBaseClient implements AsyncIssueClient,
+        RestParamConstants, RestPathConstants {
+
+    private static final String SEPARATOR = ",";
+
+    public AsyncIssueClientImpl(JiraRestClient jiraRestClient, ExecutorService executorService) {
+        super(jiraRestClient, executorService);
+    }
+
+    @Override
+    public CompletableFuture<IssueResponse> createIssue(final IssueBean issue) {
+        Validate.notNull(issue);
+        final String json = gson.toJson(issue);
+        return execute(() -> HttpMethodFactory.createPostMethod(buildPath(ISSUE).build(), json), response -> {
+            if (isStatus(response, HttpURLConnection.HTTP_OK, HttpURLConnection.HTTP_CREATED) == true) {
+                IssueBean issueBean = parse(response, IssueBean.class);
+                return new IssueResponse(issueBean.getKey());
+            } else if (isStatus(response, HttpURLConnection.HTTP_BAD_REQUEST) == true) {
+                ErrorBean error = parse(response, ErrorBean.class);
+                return new IssueResponse(error);
+            }
+            throw new RestException(response);
+        });
+    }
+
+    @Override
+    public CompletableFuture<IssueBean> getIssueByKey(final String issueKey) {
+        Validate.notNull(issueKey);
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(ISSUE, issueKey).build()), response -> {
+            if (isStatus(response, HttpURLConnection.HTTP_OK) == true) {
+                return parse(response, IssueBean.class);
+            } else if (isStatus(response, HttpURLConnection.HTTP_NOT_FOUND) == true) {
+                return null;
+            }
+            throw new RestException(response);
+        });
+    }
+
+    @Override
+    public CompletableFuture<IssueBean> getIssueByKey(final String issueKey, final List<String> fields, final List<String> expand) {
+        Validate.notNull(issueKey);
+        return execute(() -> {
+            URIBuilder uriBuilder = buildPath(ISSUE, issueKey);
+            if (fields != null && fields.isEmpty() == false) {
+                uriBuilder.addParameter(FIELDS, StringUtils.join(fields, SEPARATOR));
+            }
+            if (expand != null && expand.isEmpty() == false) {
+                uriBuilder.addParameter(EXPAND, StringUtils.join(expand, SEPARATOR));
+            }
+            return HttpMethodFactory.createGetMethod(uriBuilder.build());
+        }, IssueBean.class, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<IssueBean> updateIssue(final String issueKey, final IssueUpdate issueUpdate) {
+        Validate.notNull(issueKey);
+        Validate.notNull(issueUpdate);
+        final String json = gson.toJson(issueUpdate);
+        return executeForSuccess(() -> HttpMethodFactory.createPutMethod(buildPath(ISSUE, issueKey).build(), json),
+                HttpURLConnection.HTTP_NO_CONTENT)
+                .thenCompose(updated -> getIssueByKey(issueKey));
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getAttachment(final URI uri) {
+        Validate.notNull(uri);
+        return execute(() -> HttpMethodFactory.createHttpGetForFile(uri), response -> {
+            if (isStatus(response, HttpURLConnection.HTTP_OK) == true) {
+                HttpEntity entity = response.getEntity();
+                return EntityUtils.toByteArray(entity);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<AttachmentBean> getAttachment(final long id) {
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(ATTACHMENT, String.valueOf(id)).build()),
+                AttachmentBean.class, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> transferWorklogInIssue(final String issueKey, final WorklogBean worklog) {
+        Validate.notNull(issueKey);
+        Validate.notNull(worklog);
+        final String json = gson.toJson(worklog);
+        return executeForSuccess(() -> HttpMethodFactory.createPostMethod(buildPath(ISSUE, issueKey, WORKLOG).build(), json),
+                HttpURLConnection.HTTP_CREATED);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateIssueTransitionByKey(final String issueKey, final int transitionId) {
+        Validate.notNull(issueKey);
+        final String json = GsonParserUtil.parseTransitionToJson(transitionId);
+        return executeForSuccess(() -> HttpMethodFactory.createPostMethod(buildPath(ISSUE, issueKey, TRANSITIONS).build(), json),
+                HttpURLConnection.HTTP_NO_CONTENT);
+    }
+
+    @Override
+    public CompletableFuture<List<TransitionBean>> getIssueTransitionsByKey(final String issueKey) {
+        Validate.notNull(issueKey);
+        CompletableFuture<IssueBean> future = execute(() -> {
+            URIBuilder uriBuilder = buildPath(ISSUE, issueKey, TRANSITIONS);
+            uriBuilder.addParameter(EXPAND, TRANSITIONS_FIELDS);
+            return HttpMethodFactory.createGetMethod(uriBuilder.build());
+        }, IssueBean.class, HttpURLConnection.HTTP_OK);
+        return future.thenApply(IssueBean::getTransitions);
+    }
+
+    @Override
+    public CompletableFuture<CommentsBean> getCommentsByIssue(final String issueKey) {
+        Validate.notNull(issueKey);
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(ISSUE, issueKey, COMMENT).build()),
+                CommentsBean.class, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addCommentToIssue(final String issueKey, final CommentBean comment) {
+        Validate.notNull(issueKey);
+        Validate.notNull(comment);
+        final String json = gson.toJson(comment);
+        return executeForSuccess(() -> HttpMethodFactory.createPostMethod(buildPath(ISSUE, issueKey, COMMENT).build(), json),
+                HttpURLConnection.HTTP_CREATED);
+    }
+}
@@ -0,0 +1,74 @@
+package com.prasannjeet.jira.rest.core;
+
+import com.google.gson.reflect.TypeToken;
+import com.prasannjeet.jira.rest.JiraRestClient;
+import com.prasannjeet.jira.rest.client.AsyncProjectClient;
+import com.prasannjeet.jira.rest.core.domain.ComponentBean;
+import com.prasannjeet.jira.rest.core.domain.ProjectBean;
+import com.prasannjeet.jira.rest.core.domain.VersionBean;
+import com.prasannjeet.jira.rest.core.domain.meta.MetaBean;
+import com.prasannjeet.jira.rest.core.misc.RestParamConstants;
+import com.prasannjeet.jira.rest.core.misc.RestPathConstants;
+import com.prasannjeet.jira.rest.core.util.HttpMethodFactory;
+import org.apache.commons.lang3.Validate;
+import org.apache.http.client.utils.URIBuilder;
+
+import java.lang.reflect.Type;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * HttpAsyncClient based implementation of the AsyncProjectClient.
+ */
+public class AsyncProjectClientImpl extends AsyncBaseClient implements AsyncProjectClient, RestParamConstants, RestPathConstants {
+
+    public AsyncProjectClientImpl(JiraRestClient jiraRestClient, ExecutorService executorService) {
+        super(jiraRestClient, executorService);
+    }
+
+    @Override
+    public CompletableFuture<List<ProjectBean>> getAllProjects() {
+        Type listType = new TypeToken<ArrayList<ProjectBean>>() {
+        }.getType();
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(PROJECT).build()), listType, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<ProjectBean> getProjectByKey(final String projectKey) {
+        Validate.notNull(projectKey);
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(PROJECT, projectKey).build()),
+                ProjectBean.class, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<List<VersionBean>> getProjectVersions(final String projectKey) {
+        Validate.notNull(projectKey);
+        Type listType = new TypeToken<ArrayList<VersionBean>>() {
+        }.getType();
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(PROJECT, projectKey, VERSIONS).build()),
+                listType, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<List<ComponentBean>> getProjectComponents(final String projectKey) {
+        Validate.notNull(projectKey);
+        Type listType = new TypeToken<ArrayList<ComponentBean>>() {
+        }.getType();
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(PROJECT, projectKey, COMPONENTS).build()),
+                listType, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<MetaBean> getIssueTypesMetaForProject(final String projectKey) {
+        Validate.notNull(projectKey);
+        return execute(() -> {
+            URIBuilder uriBuilder = buildPath(ISSUE, CREATEMETA);
+            uriBuilder.addParameter(PROJECTKEYS, projectKey);
+            uriBuilder.addParameter(EXPAND, "projects.issuetypes.fields");
+            return HttpMethodFactory.createGetMethod(uriBuilder.build());
+        }, MetaBean.class, HttpURLConnection.HTTP_OK);
+    }
+}
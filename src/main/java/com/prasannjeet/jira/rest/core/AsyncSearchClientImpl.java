@@ -0,0 +1,59 @@
+package com.prasannjeet.jira.rest.core;
+
+import com.google.gson.reflect.TypeToken;
+import com.prasannjeet.jira.rest.JiraRestClient;
+import com.prasannjeet.jira.rest.client.AsyncSearchClient;
+import com.prasannjeet.jira.rest.core.domain.JqlSearchResult;
+import com.prasannjeet.jira.rest.core.domain.filter.FilterBean;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+import com.prasannjeet.jira.rest.core.misc.RestParamConstants;
+import com.prasannjeet.jira.rest.core.misc.RestPathConstants;
+import com.prasannjeet.jira.rest.core.util.HttpMethodFactory;
+import org.apache.commons.lang3.Validate;
+
+import java.lang.reflect.Type;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * HttpAsyncClient based implementation of the AsyncSearchClient.
+ */
+public class AsyncSearchClientImpl extends AsyncBaseClient implements AsyncSearchClient, RestPathConstants, RestParamConstants {
+
+    public AsyncSearchClientImpl(JiraRestClient jiraRestClient, ExecutorService executorService) {
+        super(jiraRestClient, executorService);
+    }
+
+    @Override
+    public CompletableFuture<JqlSearchResult> searchIssues(final JqlSearchBean jsb) {
+        Validate.notNull(jsb);
+        final String json = gson.toJson(jsb);
+        return execute(() -> HttpMethodFactory.createPostMethod(buildPath(SEARCH).build(), json),
+                JqlSearchResult.class, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<FilterBean> createSearchFilter(final FilterBean filter) {
+        Validate.notNull(filter);
+        return execute(() -> HttpMethodFactory.createPostMethod(buildPath(FILTER).build(), filter.toString()),
+                FilterBean.class, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<List<FilterBean>> getFavoriteFilter() {
+        Type listType = new TypeToken<ArrayList<FilterBean>>() {
+        }.getType();
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(FILTER, FAVORITE).build()),
+                listType, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<FilterBean> getFilterById(final String id) {
+        Validate.notNull(id);
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(FILTER, id).build()),
+                FilterBean.class, HttpURLConnection.HTTP_OK);
+    }
+}
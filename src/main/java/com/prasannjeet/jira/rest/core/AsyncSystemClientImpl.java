@@ -0,0 +1,99 @@
+package com.prasannjeet.jira.rest.core;
+
+import com.google.gson.reflect.TypeToken;
+import com.prasannjeet.jira.rest.JiraRestClient;
+import com.prasannjeet.jira.rest.client.AsyncSystemClient;
+import com.prasannjeet.jira.rest.core.domain.IssuetypeBean;
+import com.prasannjeet.jira.rest.core.domain.PriorityBean;
+import com.prasannjeet.jira.rest.core.domain.StatusBean;
+import com.prasannjeet.jira.rest.core.domain.field.CreateFieldBean;
+import com.prasannjeet.jira.rest.core.domain.field.FieldBean;
+import com.prasannjeet.jira.rest.core.domain.system.ConfigurationBean;
+import com.prasannjeet.jira.rest.core.misc.RestParamConstants;
+import com.prasannjeet.jira.rest.core.misc.RestPathConstants;
+import com.prasannjeet.jira.rest.core.util.HttpMethodFactory;
+import org.apache.commons.lang3.Validate;
+
+import java.lang.reflect.Type;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * HttpAsyncClient based implementation of the AsyncSystemClient.
+ */
+public class AsyncSystemClientImpl extends AsyncBaseClient implements AsyncSystemClient, RestParamConstants, RestPathConstants {
+
+    public AsyncSystemClientImpl(JiraRestClient jiraRestClient, ExecutorService executorService) {
+        super(jiraRestClient, executorService);
+    }
+
+    @Override
+    public CompletableFuture<ConfigurationBean> getConfiguration() {
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(CONFIGURATION).build()),
+                ConfigurationBean.class, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<List<IssuetypeBean>> getIssueTypes() {
+        Type listType = new TypeToken<ArrayList<IssuetypeBean>>() {
+        }.getType();
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(ISSUETPYES).build()), listType, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<List<StatusBean>> getStates() {
+        Type listType = new TypeToken<ArrayList<StatusBean>>() {
+        }.getType();
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(STATUS).build()), listType, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<List<PriorityBean>> getPriorities() {
+        Type listType = new TypeToken<ArrayList<PriorityBean>>() {
+        }.getType();
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(PRIORITY).build()), listType, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<List<FieldBean>> getAllFields() {
+        Type listType = new TypeToken<ArrayList<FieldBean>>() {
+        }.getType();
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(FIELD).build()), listType, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public CompletableFuture<List<FieldBean>> getAllCustomFields() {
+        return getAllFields().thenApply(fields -> {
+            List<FieldBean> retval = new ArrayList<>();
+            for (FieldBean fieldBean : fields) {
+                if (fieldBean.getCustom() == true) {
+                    retval.add(fieldBean);
+                }
+            }
+            return retval;
+        });
+    }
+
+    @Override
+    public CompletableFuture<FieldBean> getCustomFieldById(final String id) {
+        Validate.notNull(id);
+        return getAllCustomFields().thenApply(fields -> {
+            for (FieldBean fieldBean : fields) {
+                if (fieldBean.getId().contains(id) == true) {
+                    return fieldBean;
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<FieldBean> createCustomField(final CreateFieldBean customField) {
+        Validate.notNull(customField);
+        return execute(() -> HttpMethodFactory.createPostMethod(buildPath(FIELD).build(), customField.toString()),
+                FieldBean.class, HttpURLConnection.HTTP_CREATED);
+    }
+}
@@ -0,0 +1,98 @@
+package com.prasannjeet.jira.rest.core;
+
+import com.google.gson.reflect.TypeToken;
+import com.prasannjeet.jira.rest.JiraRestClient;
+import com.prasannjeet.jira.rest.client.AsyncUserClient;
+import com.prasannjeet.jira.rest.core.domain.UserBean;
+import com.prasannjeet.jira.rest.core.domain.permission.MyPermissionsBean;
+import com.prasannjeet.jira.rest.core.misc.RestParamConstants;
+import com.prasannjeet.jira.rest.core.misc.RestPathConstants;
+import com.prasannjeet.jira.rest.core.util.HttpMethodFactory;
+import com.prasannjeet.jira.rest.core.util.RestException;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.http.client.utils.URIBuilder;
+
+import java.lang.reflect.Type;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * HttpAsyncClient based implementation of the AsyncUserClient.
+ */
+public class AsyncUserClientImpl extends AsyncBaseClient implements AsyncUserClient, RestPathConstants, RestParamConstants {
+
+    public AsyncUserClientImpl(JiraRestClient jiraRestClient, ExecutorService executorService) {
+        super(jiraRestClient, executorService);
+    }
+
+    @Override
+    public CompletableFuture<List<UserBean>> getAssignableUserForProject(String projectKey, Integer startAt, Integer maxResults) {
+        return getAssignableSearch(null, projectKey, startAt, maxResults);
+    }
+
+    @Override
+    public CompletableFuture<List<UserBean>> getAssignableUsersForIssue(String issueKey, Integer startAt, Integer maxResults) {
+        return getAssignableSearch(issueKey, null, startAt, maxResults);
+    }
+
+    @Override
+    public CompletableFuture<UserBean> getUserByUsername(final String username) {
+        Validate.notNull(username);
+        return execute(() -> {
+            URIBuilder uriBuilder = buildPath(USER);
+            uriBuilder.addParameter(USERNAME, username);
+            return HttpMethodFactory.createGetMethod(uriBuilder.build());
+        }, response -> {
+            if (isStatus(response, HttpURLConnection.HTTP_OK) == true) {
+                return parse(response, UserBean.class);
+            } else if (isStatus(response, HttpURLConnection.HTTP_UNAUTHORIZED, HttpURLConnection.HTTP_FORBIDDEN) == true) {
+                return null;
+            }
+            throw new RestException(response);
+        });
+    }
+
+    @Override
+    public CompletableFuture<UserBean> getLoggedInRemoteUser() {
+        return getUserByUsername(jiraRestClient.getUsername());
+    }
+
+    @Override
+    public CompletableFuture<MyPermissionsBean> getMyPermissions() {
+        return execute(() -> HttpMethodFactory.createGetMethod(buildPath(MYPERMISSIONS).build()),
+                MyPermissionsBean.class, HttpURLConnection.HTTP_OK);
+    }
+
+    private CompletableFuture<List<UserBean>> getAssignableSearch(final String issueKey, final String projectKey,
+                                                                  final Integer startAt, final Integer maxResults) {
+        final Type listType = new TypeToken<ArrayList<UserBean>>() {
+        }.getType();
+        return execute(() -> {
+            URIBuilder uriBuilder = buildPath(USER, ASSIGNABLE, SEARCH);
+            if (StringUtils.trimToNull(issueKey) != null) {
+                uriBuilder.addParameter(ISSUEKEY, issueKey);
+            }
+            if (StringUtils.trimToNull(projectKey) != null) {
+                uriBuilder.addParameter(PROJECTKEY, projectKey);
+            }
+            if (startAt != null && startAt >= 0) {
+                uriBuilder.addParameter(START_AT, startAt.toString());
+            }
+            if (maxResults != null && maxResults > 0 && maxResults < 1000) {
+                uriBuilder.addParameter(MAX_RESULTS, maxResults.toString());
+            }
+            return HttpMethodFactory.createGetMethod(uriBuilder.build());
+        }, response -> {
+            if (isStatus(response, HttpURLConnection.HTTP_OK) == true) {
+                return parse(response, listType);
+            } else if (isStatus(response, HttpURLConnection.HTTP_UNAUTHORIZED, HttpURLConnection.HTTP_FORBIDDEN) == true) {
+                return new ArrayList<>();
+            }
+            throw new RestException(response);
+        });
+    }
+}
@@ -4,14 +4,20 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.stream.JsonReader;
 import com.prasannjeet.jira.rest.JiraRestClient;
-import com.prasannjeet.jira.rest.core.custom.IssueBeanDeserializer;
+import com.prasannjeet.jira.rest.core.custom.IssueBeanTypeAdapterFactory;
 import com.prasannjeet.jira.rest.core.custom.MetaBeanDeserializer;
-import com.prasannjeet.jira.rest.core.domain.IssueBean;
 import com.prasannjeet.jira.rest.core.domain.meta.MetaBean;
+import com.prasannjeet.jira.rest.core.http.AbortableFuture;
+import com.prasannjeet.jira.rest.core.http.RequestCoalescer;
+import com.prasannjeet.jira.rest.core.http.RequestHandle;
+import com.prasannjeet.jira.rest.core.http.RequestOptions;
+import com.prasannjeet.jira.rest.core.util.HttpMethodFactory;
 import com.prasannjeet.jira.rest.core.util.URIHelper;
 import org.apache.commons.lang3.Validate;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -23,6 +29,9 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Author: Christian Date: 09.12.2014.
@@ -37,7 +46,7 @@ public abstract class BaseClient {
 
 	protected final Gson gson	= new GsonBuilder()
             .excludeFieldsWithoutExposeAnnotation()
-            .registerTypeAdapter(IssueBean.class, new IssueBeanDeserializer())
+            .registerTypeAdapterFactory(new IssueBeanTypeAdapterFactory())
             .registerTypeAdapter(MetaBean.class, new MetaBeanDeserializer())
             .create();
 
@@ -62,6 +71,96 @@ public abstract class BaseClient {
         return URIHelper.buildPath(baseUri, paths);
 	}
 
+    /**
+     * A call which executes its HTTP requests with the RequestHandle, so they can be aborted.
+     *
+     * @param <T> the result type
+     */
+    protected interface RequestCall<T> {
+
+        T call(RequestHandle handle) throws Exception;
+    }
+
+    /**
+     * Submits the call to the ExecutorService. Cancelling the returned future aborts the running HTTP request,
+     * and the total timeout of the options aborts it when the deadline is reached.
+     *
+     * @param options = the timeouts of the call, or null for the defaults of the client
+     * @param call    = the call
+     * @return the future of the call
+     */
+    protected <T> AbortableFuture<T> submit(final RequestOptions options, final RequestCall<T> call) {
+        final RequestHandle handle = new RequestHandle(options, jiraRestClient.getDefaultRequestConfig());
+        final AbortableFuture<T> future = new AbortableFuture<>(handle);
+        Future<?> task = executorService.submit(() -> {
+            if (future.isDone() == true) {
+                return;
+            }
+            try {
+                future.complete(call.call(handle));
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        });
+        future.setTask(task);
+        if (options != null && options.getTotalTimeout() > 0) {
+            final long totalTimeout = options.getTotalTimeout();
+            final ScheduledFuture<?> deadline = jiraRestClient.getScheduler()
+                    .schedule(() -> future.timeout(totalTimeout), totalTimeout, TimeUnit.MILLISECONDS);
+            future.whenComplete((result, throwable) -> deadline.cancel(false));
+        }
+        return future;
+    }
+
+    /**
+     * Creates the URI of a request.
+     */
+    protected interface UriFactory {
+
+        URI create() throws Exception;
+    }
+
+    /**
+     * A call which executes the given GET request with the RequestHandle.
+     *
+     * @param <T> the result type
+     */
+    protected interface GetCall<T> {
+
+        T call(RequestHandle handle, HttpGet method) throws Exception;
+    }
+
+    /**
+     * Submits an idempotent GET request. Concurrent calls with the same URI and headers share one HTTP request
+     * and its parsed result, see {@link RequestCoalescer}. Calls with options have their own timeouts and are
+     * never shared.
+     *
+     * @param options    = the timeouts of the call, or null for the defaults of the client
+     * @param uriFactory = creates the URI of the request
+     * @param call       = executes the request and parses the response, the result must not be modified later
+     * @return the future of the call
+     */
+    protected <T> Future<T> submitGet(final RequestOptions options, final UriFactory uriFactory,
+                                      final GetCall<T> call) {
+        final HttpGet method;
+        try {
+            method = HttpMethodFactory.createGetMethod(uriFactory.create());
+        } catch (Exception e) {
+            return submit(options, handle -> {
+                throw e;
+            });
+        }
+        if (options != null) {
+            return submit(options, handle -> call.call(handle, method));
+        }
+        StringBuilder key = new StringBuilder(method.getMethod()).append(' ').append(method.getURI());
+        for (Header header : method.getAllHeaders()) {
+            key.append('\n').append(header.getName()).append(": ").append(header.getValue());
+        }
+        return jiraRestClient.getRequestCoalescer().coalesce(key.toString(),
+                () -> submit(null, handle -> call.call(handle, method)));
+    }
+
     protected JsonReader getJsonReader(CloseableHttpResponse response) throws IOException {
         HttpEntity entity = response.getEntity();
         InputStream inputStream = entity.getContent();
@@ -1,28 +1,45 @@
 package com.prasannjeet.jira.rest.core;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.annotations.Expose;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.prasannjeet.jira.rest.JiraRestClient;
 import com.prasannjeet.jira.rest.client.IssueClient;
+import com.prasannjeet.jira.rest.core.batch.BatchLoader;
 import com.prasannjeet.jira.rest.core.domain.*;
 import com.prasannjeet.jira.rest.core.domain.update.IssueUpdate;
+import com.prasannjeet.jira.rest.core.http.AbortableFuture;
+import com.prasannjeet.jira.rest.core.http.RequestHandle;
+import com.prasannjeet.jira.rest.core.http.RequestOptions;
+import com.prasannjeet.jira.rest.core.http.StreamingContentBody;
+import com.prasannjeet.jira.rest.core.jql.JqlOperand;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
 import com.prasannjeet.jira.rest.core.misc.RestParamConstants;
 import com.prasannjeet.jira.rest.core.misc.RestPathConstants;
+import com.prasannjeet.jira.rest.core.util.ByteBufferPool;
+import com.prasannjeet.jira.rest.core.util.Futures;
 import com.prasannjeet.jira.rest.core.util.GsonParserUtil;
 import com.prasannjeet.jira.rest.core.util.HttpMethodFactory;
+import com.prasannjeet.jira.rest.core.util.IssuePatcher;
 import com.prasannjeet.jira.rest.core.util.RestException;
 import org.apache.commons.io.IOUtil;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.ContentType;
+import org.apache.http.entity.HttpEntityWrapper;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.apache.http.entity.mime.content.ContentBody;
 import org.apache.http.entity.mime.content.FileBody;
 
 import java.io.*;
@@ -30,8 +47,27 @@ import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -43,18 +79,36 @@ public class IssueClientImpl extends BaseClient implements IssueClient,
 
     private static final String SEPARATOR = ",";
 
+    private static final String ISSUE_UPDATES = "issueUpdates";
+
+    /**
+     * Keys per search of getIssuesByKeys, Jira returns at most 100 issues with all fields in one page.
+     */
+    private static final int MAX_KEYS_PER_SEARCH = 100;
+
+    /**
+     * Maximum length of the key list of one search, so the JQL stays within the request limits of proxies.
+     */
+    private static final int MAX_KEYS_LENGTH = 4000;
+
+    /**
+     * Status of a Range request beyond the end of the content, HttpURLConnection has no constant for it.
+     */
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+
     public IssueClientImpl(JiraRestClient jiraRestClient, ExecutorService executorService) {
         super(jiraRestClient);
         this.executorService = executorService;
     }
 
     public Future<IssueBean> getIssueByKey(final String issueKey) {
-        Validate.notNull(issueKey);
-        return executorService.submit(() -> {
+        return getIssueByKey(issueKey, (RequestOptions) null);
+    }
 
-            URIBuilder uriBuilder = buildPath(ISSUE, issueKey);
-            HttpGet method = HttpMethodFactory.createGetMethod(uriBuilder.build());
-            CloseableHttpResponse response = client.execute(method, clientContext);
+    public Future<IssueBean> getIssueByKey(final String issueKey, final RequestOptions options) {
+        Validate.notNull(issueKey);
+        return submitGet(options, () -> buildPath(ISSUE, issueKey).build(), (handle, method) -> {
+            CloseableHttpResponse response = handle.execute(client, method, clientContext);
             int statusCode = response.getStatusLine().getStatusCode();
             if (statusCode == HttpURLConnection.HTTP_OK) {
                 return extractIssueBean(method, response);
@@ -84,12 +138,12 @@ public class IssueClientImpl extends BaseClient implements IssueClient,
             int statusCode = response.getStatusLine().getStatusCode();
             if (statusCode == HttpURLConnection.HTTP_OK
                     || statusCode == HttpURLConnection.HTTP_CREATED) {
+                // the response has only id, key and self
                 JsonReader jsonReader = getJsonReader(response);
-                IssueBean issueBean = gson.fromJson(jsonReader,
-                        IssueBean.class);
+                IssueResponse issueResponse = gson.fromJson(jsonReader, IssueResponse.class);
                 method.releaseConnection();
                 response.close();
-                return new IssueResponse(issueBean.getKey());
+                return issueResponse;
             } else if (statusCode == HttpURLConnection.HTTP_BAD_REQUEST) {
                 HttpEntity entity = response.getEntity();
                 InputStream inputStream = entity.getContent();
@@ -109,48 +163,211 @@ public class IssueClientImpl extends BaseClient implements IssueClient,
 
     }
 
+    public Future<List<IssueResponse>> createIssues(final List<IssueBean> issues) {
+        Validate.notNull(issues);
+        // the requests, cancelling a future derived with handle would not abort them
+        final List<AbortableFuture<List<IssueResponse>>> requests = new ArrayList<>();
+        final List<CompletableFuture<List<IssueResponse>>> chunks = new ArrayList<>();
+        for (int start = 0; start < issues.size(); start += BULK_CREATE_LIMIT) {
+            final List<IssueBean> chunk = issues.subList(start, Math.min(start + BULK_CREATE_LIMIT, issues.size()));
+            AbortableFuture<List<IssueResponse>> created = submit(null, handle -> createChunk(handle, chunk));
+            requests.add(created);
+            // a failed chunk is reported per issue, the issues of the other chunks are created anyway
+            chunks.add(created.handle((result, throwable) -> {
+                Throwable cause = Futures.unwrap(throwable);
+                if (cause == null) {
+                    return result;
+                } else if (cause instanceof CancellationException) {
+                    throw (CancellationException) cause;
+                }
+                List<IssueResponse> failed = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    failed.add(new IssueResponse(toErrorBean(cause)));
+                }
+                return failed;
+            }));
+        }
+
+        final CompletableFuture<List<IssueResponse>> retval = new CompletableFuture<>();
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                retval.completeExceptionally(Futures.unwrap(throwable));
+                return;
+            }
+            List<IssueResponse> responses = new ArrayList<>(issues.size());
+            for (CompletableFuture<List<IssueResponse>> chunk : chunks) {
+                responses.addAll(chunk.join());
+            }
+            retval.complete(responses);
+        });
+        retval.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                for (AbortableFuture<List<IssueResponse>> request : requests) {
+                    request.cancel(true);
+                }
+            }
+        });
+        return retval;
+    }
+
+    private List<IssueResponse> createChunk(RequestHandle handle, List<IssueBean> issues) throws Exception {
+        JsonArray issueUpdates = new JsonArray();
+        for (IssueBean issue : issues) {
+            issueUpdates.add(gson.toJsonTree(issue));
+        }
+        JsonObject body = new JsonObject();
+        body.add(ISSUE_UPDATES, issueUpdates);
+        URIBuilder uriBuilder = buildPath(ISSUE, BULK);
+        HttpPost method = HttpMethodFactory.createPostMethod(uriBuilder.build(), gson.toJson(body));
+        CloseableHttpResponse response = handle.execute(client, method, clientContext);
+        int statusCode = response.getStatusLine().getStatusCode();
+        // Jira answers 400 if no issue of the chunk was created, with the same body
+        if (statusCode == HttpURLConnection.HTTP_OK || statusCode == HttpURLConnection.HTTP_CREATED
+                || statusCode == HttpURLConnection.HTTP_BAD_REQUEST) {
+            JsonReader jsonReader = getJsonReader(response);
+            BulkIssueResponse bulkResponse = gson.fromJson(jsonReader, BulkIssueResponse.class);
+            method.releaseConnection();
+            response.close();
+            if (bulkResponse == null) {
+                bulkResponse = new BulkIssueResponse();
+            }
+            IssueResponse[] responses = new IssueResponse[issues.size()];
+            if (bulkResponse.getErrors() != null) {
+                for (BulkErrorBean error : bulkResponse.getErrors()) {
+                    Integer element = error.getFailedElementNumber();
+                    if (element != null && element >= 0 && element < responses.length) {
+                        responses[element] = new IssueResponse(error.getElementErrors());
+                    }
+                }
+            }
+            // the created issues are in the order of the request without the failed elements
+            Iterator<IssueResponse> created = bulkResponse.getIssues() != null
+                    ? bulkResponse.getIssues().iterator() : Collections.<IssueResponse>emptyIterator();
+            for (int i = 0; i < responses.length; i++) {
+                if (responses[i] == null) {
+                    responses[i] = created.hasNext() == true ? created.next() : new IssueResponse(
+                            errorBean("The issue is missing in the bulk response"));
+                }
+            }
+            return Arrays.asList(responses);
+        } else {
+            RestException restException = new RestException(response);
+            method.releaseConnection();
+            response.close();
+            throw restException;
+        }
+    }
+
+    private static ErrorBean toErrorBean(Throwable throwable) {
+        if (throwable instanceof RestException && ((RestException) throwable).getRestErrorMessage() != null) {
+            return ((RestException) throwable).getRestErrorMessage();
+        }
+        return errorBean(String.valueOf(throwable.getMessage()));
+    }
+
+    private static ErrorBean errorBean(String message) {
+        ErrorBean retval = new ErrorBean();
+        retval.getErrorMessages().add(message);
+        return retval;
+    }
+
     public Future<IssueBean> updateIssue(final String issueKey,
                                          final IssueUpdate issueUpdate) {
+        return updateIssue(issueKey, issueUpdate, null);
+    }
 
+    public Future<IssueBean> updateIssue(final String issueKey, final IssueUpdate issueUpdate,
+                                         final List<String> fields) {
         Validate.notNull(issueKey);
         Validate.notNull(issueUpdate);
-        return executorService.submit(() -> {
+        // the issue is loaded in the same call, a nested future could wait for a thread of a saturated pool
+        return submit(null, handle -> {
+            putIssue(handle, issueKey, issueUpdate);
+            return fetchIssue(handle, issueKey, fields);
+        });
+    }
 
-            URIBuilder uriBuilder = buildPath(ISSUE, issueKey);
-            String json = gson.toJson(issueUpdate);
-            HttpPut method = HttpMethodFactory.createPutMethod(uriBuilder.build(), json);
-            CloseableHttpResponse response = client.execute(method, clientContext);
-            int statusCode = response.getStatusLine().getStatusCode();
-            if (statusCode == HttpURLConnection.HTTP_NO_CONTENT) {
-                final Future<IssueBean> issueByKey = getIssueByKey(issueKey);
-                method.releaseConnection();
-                response.close();
-                return issueByKey.get();
-            } else {
-                RestException restException = new RestException(response);
-                method.releaseConnection();
-                response.close();
-                throw restException;
-            }
+    public Future<Boolean> updateIssueWithoutFetch(final String issueKey, final IssueUpdate issueUpdate) {
+        Validate.notNull(issueKey);
+        Validate.notNull(issueUpdate);
+        return submit(null, handle -> {
+            putIssue(handle, issueKey, issueUpdate);
+            return true;
         });
     }
 
+    public Future<IssueBean> updateCachedIssue(final IssueBean cachedIssue, final IssueUpdate issueUpdate) {
+        Validate.notNull(cachedIssue);
+        Validate.notNull(cachedIssue.getKey());
+        Validate.notNull(issueUpdate);
+        return submit(null, handle -> {
+            putIssue(handle, cachedIssue.getKey(), issueUpdate);
+            IssueBean patched = IssuePatcher.patch(cachedIssue, issueUpdate);
+            return patched != null ? patched : fetchIssue(handle, cachedIssue.getKey(), null);
+        });
+    }
+
+    private void putIssue(RequestHandle handle, String issueKey, IssueUpdate issueUpdate) throws Exception {
+        URIBuilder uriBuilder = buildPath(ISSUE, issueKey);
+        String json = gson.toJson(issueUpdate);
+        HttpPut method = HttpMethodFactory.createPutMethod(uriBuilder.build(), json);
+        CloseableHttpResponse response = handle.execute(client, method, clientContext);
+        int statusCode = response.getStatusLine().getStatusCode();
+        if (statusCode == HttpURLConnection.HTTP_NO_CONTENT) {
+            method.releaseConnection();
+            response.close();
+        } else {
+            RestException restException = new RestException(response);
+            method.releaseConnection();
+            response.close();
+            throw restException;
+        }
+    }
+
+    /**
+     * @return the issue, or null if it did not exist
+     */
+    private IssueBean fetchIssue(RequestHandle handle, String issueKey, List<String> fields) throws Exception {
+        HttpGet method = HttpMethodFactory.createGetMethod(buildIssueUri(issueKey, fields, null));
+        CloseableHttpResponse response = handle.execute(client, method, clientContext);
+        int statusCode = response.getStatusLine().getStatusCode();
+        if (statusCode == HttpURLConnection.HTTP_OK) {
+            return extractIssueBean(method, response);
+        } else if (statusCode == HttpURLConnection.HTTP_NOT_FOUND) {
+            method.releaseConnection();
+            response.close();
+            return null;
+        } else {
+            RestException restException = new RestException(response);
+            method.releaseConnection();
+            response.close();
+            throw restException;
+        }
+    }
+
+    private URI buildIssueUri(String issueKey, List<String> fields, List<String> expand) throws URISyntaxException {
+        URIBuilder uriBuilder = buildPath(ISSUE, issueKey);
+        if (fields != null && fields.isEmpty() == false) {
+            String fieldsParam = StringUtils.join(fields, SEPARATOR);
+            uriBuilder.addParameter(FIELDS, fieldsParam);
+        }
+        if (expand != null && expand.isEmpty() == false) {
+            String expandParam = StringUtils.join(expand, SEPARATOR);
+            uriBuilder.addParameter(EXPAND, expandParam);
+        }
+        return uriBuilder.build();
+    }
+
     public Future<IssueBean> getIssueByKey(final String issueKey,
                                            final List<String> fields, final List<String> expand) {
+        return getIssueByKey(issueKey, fields, expand, null);
+    }
 
-        return executorService.submit(() -> {
+    public Future<IssueBean> getIssueByKey(final String issueKey, final List<String> fields,
+                                           final List<String> expand, final RequestOptions options) {
 
-            URIBuilder uriBuilder = buildPath(ISSUE, issueKey);
-            if (fields != null && fields.isEmpty() == false) {
-                String fieldsParam = StringUtils.join(fields, SEPARATOR);
-                uriBuilder.addParameter(FIELDS, fieldsParam);
-            }
-            if (expand != null && expand.isEmpty() == false) {
-                String expandParam = StringUtils.join(expand, SEPARATOR);
-                uriBuilder.addParameter(EXPAND, expandParam);
-            }
-            HttpGet method = HttpMethodFactory.createGetMethod(uriBuilder.build());
-            CloseableHttpResponse response = client.execute(method, clientContext);
+        return submitGet(options, () -> buildIssueUri(issueKey, fields, expand), (handle, method) -> {
+            CloseableHttpResponse response = handle.execute(client, method, clientContext);
             int statusCode = response.getStatusLine().getStatusCode();
             if (statusCode == HttpURLConnection.HTTP_OK) {
                 return extractIssueBean(method, response);
@@ -163,6 +380,152 @@ public class IssueClientImpl extends BaseClient implements IssueClient,
         });
     }
 
+    public Future<Map<String, IssueBean>> getIssuesByKeys(final Collection<String> issueKeys,
+                                                          final List<String> fields, final List<String> expand) {
+        Validate.notNull(issueKeys);
+        final Map<String, IssueBean> issues = new LinkedHashMap<>();
+        // the requested keys by the upper case key, keys are case insensitive
+        final Map<String, List<String>> requested = new HashMap<>();
+        final List<CompletableFuture<List<IssueBean>>> searches = new ArrayList<>();
+        List<String> chunk = new ArrayList<>();
+        int length = 0;
+        for (String issueKey : issueKeys) {
+            Validate.notEmpty(issueKey);
+            if (issues.containsKey(issueKey) == true) {
+                continue;
+            }
+            issues.put(issueKey, null);
+            List<String> variants = requested.computeIfAbsent(issueKey.toUpperCase(Locale.ROOT), k -> new ArrayList<>());
+            variants.add(issueKey);
+            if (variants.size() > 1) {
+                continue;
+            }
+            String quoted = JqlOperand.quote(issueKey);
+            if (chunk.size() == MAX_KEYS_PER_SEARCH
+                    || (chunk.isEmpty() == false && length + quoted.length() > MAX_KEYS_LENGTH)) {
+                searches.add(searchByKeys(chunk, fields, expand));
+                chunk = new ArrayList<>();
+                length = 0;
+            }
+            chunk.add(quoted);
+            length += quoted.length() + 2;
+        }
+        if (chunk.isEmpty() == false) {
+            searches.add(searchByKeys(chunk, fields, expand));
+        }
+
+        final CompletableFuture<Map<String, IssueBean>> retval = new CompletableFuture<>();
+        final List<CompletableFuture<IssueBean>> lookups = new ArrayList<>();
+        CompletableFuture.allOf(searches.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                retval.completeExceptionally(Futures.unwrap(throwable));
+                return;
+            }
+            for (CompletableFuture<List<IssueBean>> search : searches) {
+                for (IssueBean issue : search.join()) {
+                    // a moved issue is returned with its current key, which may not be requested
+                    List<String> variants = requested.get(issue.getKey().toUpperCase(Locale.ROOT));
+                    if (variants != null) {
+                        for (String key : variants) {
+                            issues.put(key, issue);
+                        }
+                    }
+                }
+            }
+            // the issue of a moved key is loaded by the old key, Jira follows the move
+            final List<List<String>> missing = new ArrayList<>();
+            synchronized (lookups) {
+                for (List<String> variants : requested.values()) {
+                    if (issues.get(variants.get(0)) == null && retval.isDone() == false) {
+                        missing.add(variants);
+                        lookups.add(getMovedIssue(variants.get(0), fields, expand));
+                    }
+                }
+            }
+            CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0])).whenComplete((none, error) -> {
+                if (error != null) {
+                    retval.completeExceptionally(Futures.unwrap(error));
+                    return;
+                }
+                for (int i = 0; i < missing.size(); i++) {
+                    for (String key : missing.get(i)) {
+                        issues.put(key, lookups.get(i).join());
+                    }
+                }
+                retval.complete(issues);
+            });
+        });
+        // a cancelled or failed call stops the remaining requests
+        retval.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                for (CompletableFuture<List<IssueBean>> search : searches) {
+                    search.cancel(true);
+                }
+                synchronized (lookups) {
+                    for (CompletableFuture<IssueBean> lookup : lookups) {
+                        lookup.cancel(true);
+                    }
+                }
+            }
+        });
+        return retval;
+    }
+
+    /**
+     * @return Future of the issue, or null if it does not exist
+     */
+    private CompletableFuture<IssueBean> getMovedIssue(String issueKey, List<String> fields, List<String> expand) {
+        return Futures.toCompletableFuture(getIssueByKey(issueKey, fields, expand), executorService)
+                .handle((issue, throwable) -> {
+                    Throwable cause = Futures.unwrap(throwable);
+                    if (cause instanceof RestException
+                            && ((RestException) cause).getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                        return null;
+                    } else if (cause != null) {
+                        throw new CompletionException(cause);
+                    }
+                    return issue;
+                });
+    }
+
+    public BatchLoader<String, IssueBean> createIssueLoader(final List<String> fields, final List<String> expand) {
+        return new BatchLoader<>(keys -> getIssuesByKeys(keys, fields, expand), jiraRestClient.getScheduler(),
+                executorService);
+    }
+
+    private CompletableFuture<List<IssueBean>> searchByKeys(List<String> quotedKeys, List<String> fields,
+                                                            List<String> expand) {
+        JqlSearchBean jsb = new JqlSearchBean();
+        jsb.setJql("key in (" + StringUtils.join(quotedKeys, ", ") + ")");
+        jsb.setStartAt(0);
+        jsb.setMaxResults(quotedKeys.size());
+        // deleted issues must not fail the search
+        jsb.setValidateQuery(false);
+        if (fields != null) {
+            jsb.addField(fields);
+        }
+        if (expand != null) {
+            jsb.getExpand().addAll(expand);
+        }
+        return searchPages(jsb, new ArrayList<>());
+    }
+
+    /**
+     * Follows with the next page if the server returned less issues than requested.
+     */
+    private CompletableFuture<List<IssueBean>> searchPages(final JqlSearchBean jsb, final List<IssueBean> issues) {
+        return Futures.toCompletableFuture(jiraRestClient.getSearchClient().searchIssues(jsb), executorService).thenCompose(result -> {
+            List<IssueBean> page = result.getIssues() != null ? result.getIssues() : new ArrayList<>();
+            issues.addAll(page);
+            if (page.isEmpty() == true || issues.size() >= result.getTotal()) {
+                return CompletableFuture.completedFuture(issues);
+            }
+            JqlSearchBean next = new JqlSearchBean(jsb);
+            next.setStartAt(issues.size());
+            return searchPages(next, issues);
+        });
+    }
+
     public Future<CommentsBean> getCommentsByIssue(final String issueKey) {
 
         Validate.notNull(issueKey);
@@ -233,8 +596,162 @@ public class IssueClientImpl extends BaseClient implements IssueClient,
         });
     }
 
-    public InputStream getAttachmentAsStream(long id) {
-        return null;
+    public Future<Long> downloadAttachment(final URI uri, final Path target) {
+        Validate.notNull(uri);
+        Validate.notNull(target);
+        return submit(null, handle -> {
+            boolean downloaded = false;
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                long retval = download(handle, uri, channel);
+                downloaded = true;
+                return retval;
+            } finally {
+                if (downloaded == false) {
+                    Files.deleteIfExists(target);
+                }
+            }
+        });
+    }
+
+    public Future<Long> resumeAttachmentDownload(final URI uri, final Path target) {
+        Validate.notNull(uri);
+        Validate.notNull(target);
+        return submit(null, handle -> {
+            long offset = Files.exists(target) == true ? Files.size(target) : 0;
+            HttpGet method = HttpMethodFactory.createHttpGetForFile(uri);
+            if (offset > 0) {
+                method.setHeader(HttpHeaders.RANGE, "bytes=" + offset + "-");
+            }
+            CloseableHttpResponse response = handle.execute(client, method, clientContext);
+            try {
+                int statusCode = response.getStatusLine().getStatusCode();
+                if (statusCode == HttpURLConnection.HTTP_OK || statusCode == HttpURLConnection.HTTP_PARTIAL) {
+                    boolean append = statusCode == HttpURLConnection.HTTP_PARTIAL;
+                    Header contentRange = response.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+                    if (append == true && (contentRange == null
+                            || contentRange.getValue().startsWith("bytes " + offset + "-") == false)) {
+                        throw new IOException("Unexpected content range " + contentRange + " for offset " + offset);
+                    }
+                    try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, append == true ? StandardOpenOption.APPEND
+                                    : StandardOpenOption.TRUNCATE_EXISTING);
+                         InputStream inputStream = response.getEntity().getContent()) {
+                        ByteBufferPool.shared().copy(inputStream, channel);
+                    }
+                    return Files.size(target);
+                } else if (statusCode == HTTP_RANGE_NOT_SATISFIABLE && offset > 0) {
+                    // the file is complete already
+                    return offset;
+                }
+                throw new RestException(response);
+            } finally {
+                method.releaseConnection();
+                response.close();
+            }
+        });
+    }
+
+    public Future<Long> downloadAttachment(final URI uri, final WritableByteChannel target) {
+        Validate.notNull(uri);
+        Validate.notNull(target);
+        return submit(null, handle -> download(handle, uri, target));
+    }
+
+    public Future<Long> downloadAttachment(final URI uri, final OutputStream target) {
+        Validate.notNull(uri);
+        Validate.notNull(target);
+        return submit(null, handle -> {
+            long retval = download(handle, uri, Channels.newChannel(target));
+            target.flush();
+            return retval;
+        });
+    }
+
+    private long download(RequestHandle handle, URI uri, WritableByteChannel target) throws Exception {
+        HttpGet method = HttpMethodFactory.createHttpGetForFile(uri);
+        CloseableHttpResponse response = handle.execute(client, method, clientContext);
+        int statusCode = response.getStatusLine().getStatusCode();
+        if (statusCode == HttpURLConnection.HTTP_OK) {
+            try (InputStream inputStream = response.getEntity().getContent()) {
+                return ByteBufferPool.shared().copy(inputStream, target);
+            } finally {
+                method.releaseConnection();
+                response.close();
+            }
+        } else {
+            RestException restException = new RestException(response);
+            method.releaseConnection();
+            response.close();
+            throw restException;
+        }
+    }
+
+    public InputStream getAttachmentAsStream(long id) throws RestException, IOException {
+        AttachmentBean attachment;
+        try {
+            attachment = getAttachment(id).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading the attachment " + id);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RestException) {
+                RestException restException = (RestException) e.getCause();
+                if (restException.getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                    return null;
+                }
+                throw restException;
+            }
+            throw new IOException(e.getCause());
+        }
+        final HttpGet method = HttpMethodFactory.createHttpGetForFile(URI.create(attachment.getContent()));
+        final CloseableHttpResponse response = client.execute(method, clientContext);
+        int statusCode = response.getStatusLine().getStatusCode();
+        if (statusCode == HttpURLConnection.HTTP_OK) {
+            return new FilterInputStream(response.getEntity().getContent()) {
+
+                private boolean eof = false;
+
+                @Override
+                public int read() throws IOException {
+                    int retval = super.read();
+                    eof = retval == -1;
+                    return retval;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int retval = super.read(b, off, len);
+                    eof = retval == -1;
+                    return retval;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    if (eof == false) {
+                        // closing the content would read the rest of the attachment to reuse the connection
+                        method.abort();
+                        response.close();
+                        return;
+                    }
+                    try {
+                        super.close();
+                    } finally {
+                        method.releaseConnection();
+                        response.close();
+                    }
+                }
+            };
+        } else if (statusCode == HttpURLConnection.HTTP_NOT_FOUND) {
+            method.releaseConnection();
+            response.close();
+            return null;
+        } else {
+            RestException restException = new RestException(response);
+            method.releaseConnection();
+            response.close();
+            throw restException;
+        }
     }
 
     public Future<AttachmentBean> getAttachment(final long id) {
@@ -263,35 +780,90 @@ public class IssueClientImpl extends BaseClient implements IssueClient,
     }
 
     public Future<List<AttachmentBean>> saveAttachmentToIssue(String issuekey, File... files) {
+        Validate.notNull(issuekey);
+        Validate.notNull(files);
+        List<ContentBody> parts = new ArrayList<>(files.length);
+        for (File file : files) {
+            parts.add(new FileBody(file, ContentType.MULTIPART_FORM_DATA));
+        }
+        return submit(null, handle -> postAttachments(handle, issuekey, parts));
+    }
 
-        return executorService.submit(() -> {
-            URIBuilder uriBuilder = buildPath(ISSUE, issuekey, ATTACHMENTS);
-            HttpPost postMethod = new HttpPost(uriBuilder.build());
-            postMethod.setHeader("X-Atlassian-Token", "no-check");
-            MultipartEntityBuilder multipartEntityBuilder = MultipartEntityBuilder.create();
-            for (File file : files) {
-                FileBody fileBody = new FileBody(file, ContentType.MULTIPART_FORM_DATA);
-                multipartEntityBuilder.addPart("file", fileBody);
-            }
-            HttpEntity entity = multipartEntityBuilder.build();
-            postMethod.setEntity(entity);
-            CloseableHttpResponse response = client.execute(postMethod);
-            int statusCode = response.getStatusLine().getStatusCode();
-            if (statusCode == HttpURLConnection.HTTP_OK) {
-                JsonReader jsonReader = getJsonReader(response);
-                Type listType = new TypeToken<ArrayList<AttachmentBean>>() {
-                }.getType();
-                List<AttachmentBean> attachments = gson.fromJson(jsonReader, listType);
-                postMethod.releaseConnection();
-                response.close();
-                return attachments;
-            } else {
-                RestException restException = new RestException(response);
-                postMethod.releaseConnection();
-                response.close();
-                throw restException;
+    public Future<AttachmentBean> saveAttachmentToIssue(final String issueKey, final Path file) {
+        Validate.notNull(issueKey);
+        Validate.notNull(file);
+        return submit(null, handle -> postAttachment(handle, issueKey, StreamingContentBody.of(file)));
+    }
+
+    public Future<AttachmentBean> saveAttachmentToIssue(String issueKey, String filename, InputStream content,
+                                                        long length) {
+        Validate.notNull(issueKey);
+        final StreamingContentBody part = StreamingContentBody.of(filename, content, length);
+        return submit(null, handle -> postAttachment(handle, issueKey, part));
+    }
+
+    public Future<AttachmentBean> saveAttachmentToIssue(String issueKey, String filename, ReadableByteChannel content,
+                                                        long length) {
+        Validate.notNull(issueKey);
+        final StreamingContentBody part = StreamingContentBody.of(filename, content, length);
+        return submit(null, handle -> postAttachment(handle, issueKey, part));
+    }
+
+    public List<Future<AttachmentBean>> saveAttachmentsToIssue(String issueKey, Collection<Path> files) {
+        Validate.notNull(issueKey);
+        Validate.notNull(files);
+        List<Future<AttachmentBean>> retval = new ArrayList<>(files.size());
+        for (Path file : files) {
+            retval.add(saveAttachmentToIssue(issueKey, file));
+        }
+        return retval;
+    }
+
+    private AttachmentBean postAttachment(RequestHandle handle, String issueKey, ContentBody part) throws Exception {
+        List<AttachmentBean> attachments = postAttachments(handle, issueKey, Collections.singletonList(part));
+        return attachments != null && attachments.isEmpty() == false ? attachments.get(0) : null;
+    }
+
+    private List<AttachmentBean> postAttachments(RequestHandle handle, String issueKey, List<ContentBody> parts)
+            throws Exception {
+        URIBuilder uriBuilder = buildPath(ISSUE, issueKey, ATTACHMENTS);
+        HttpPost postMethod = new HttpPost(uriBuilder.build());
+        postMethod.setHeader("X-Atlassian-Token", "no-check");
+        MultipartEntityBuilder multipartEntityBuilder = MultipartEntityBuilder.create();
+        boolean repeatable = true;
+        for (ContentBody part : parts) {
+            multipartEntityBuilder.addPart("file", part);
+            if (part instanceof StreamingContentBody && ((StreamingContentBody) part).isRepeatable() == false) {
+                repeatable = false;
             }
-        });
+        }
+        HttpEntity entity = multipartEntityBuilder.build();
+        if (repeatable == false) {
+            // a multipart entity with a known length claims to be repeatable, a stream can not be retried
+            entity = new HttpEntityWrapper(entity) {
+                @Override
+                public boolean isRepeatable() {
+                    return false;
+                }
+            };
+        }
+        postMethod.setEntity(entity);
+        CloseableHttpResponse response = handle.execute(client, postMethod, clientContext);
+        int statusCode = response.getStatusLine().getStatusCode();
+        if (statusCode == HttpURLConnection.HTTP_OK) {
+            JsonReader jsonReader = getJsonReader(response);
+            Type listType = new TypeToken<ArrayList<AttachmentBean>>() {
+            }.getType();
+            List<AttachmentBean> attachments = gson.fromJson(jsonReader, listType);
+            postMethod.releaseConnection();
+            response.close();
+            return attachments;
+        } else {
+            RestException restException = new RestException(response);
+            postMethod.releaseConnection();
+            response.close();
+            throw restException;
+        }
     }
 
     public boolean transferWorklogInIssue(String issueKey, WorklogBean worklog)
@@ -342,17 +914,27 @@ public class IssueClientImpl extends BaseClient implements IssueClient,
 
     public Future<List<TransitionBean>> getIssueTransitionsByKey(
             final String issueKey) {
+        return getIssueTransitionsByKey(issueKey, true);
+    }
 
+    public Future<List<TransitionBean>> getIssueTransitionsByKey(final String issueKey, final boolean expandFields) {
         Validate.notNull(issueKey);
-        return executorService.submit(() -> {
+        return submitGet(null, () -> {
             URIBuilder uriBuilder = buildPath(ISSUE, issueKey, TRANSITIONS);
-            uriBuilder.addParameter(EXPAND, TRANSITIONS_FIELDS);
-            HttpGet method = HttpMethodFactory.createGetMethod(uriBuilder.build());
-            CloseableHttpResponse response = client.execute(method, clientContext);
+            if (expandFields == true) {
+                uriBuilder.addParameter(EXPAND, TRANSITIONS_FIELDS);
+            }
+            return uriBuilder.build();
+        }, (handle, method) -> {
+            CloseableHttpResponse response = handle.execute(client, method, clientContext);
             int statusCode = response.getStatusLine().getStatusCode();
             if (statusCode == HttpURLConnection.HTTP_OK) {
-                final IssueBean issueBean = extractIssueBean(method, response);
-                return issueBean.getTransitions();
+                // the response has only the transitions, not a whole issue
+                JsonReader jsonReader = getJsonReader(response);
+                TransitionsResponse transitions = gson.fromJson(jsonReader, TransitionsResponse.class);
+                method.releaseConnection();
+                response.close();
+                return transitions.getTransitions();
             } else {
                 RestException restException = new RestException(response);
                 method.releaseConnection();
@@ -362,6 +944,41 @@ public class IssueClientImpl extends BaseClient implements IssueClient,
         });
     }
 
+    public Future<Boolean> transitionIssue(final String issueKey, final String transitionId) {
+        Validate.notNull(issueKey);
+        Validate.notNull(transitionId);
+        return submit(null, handle -> {
+            String json = GsonParserUtil.parseTransitionToJson(Integer.parseInt(transitionId));
+            URIBuilder uriBuilder = buildPath(ISSUE, issueKey, TRANSITIONS);
+            HttpPost method = HttpMethodFactory.createPostMethod(uriBuilder.build(), json);
+            CloseableHttpResponse response = handle.execute(client, method, clientContext);
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode == HttpURLConnection.HTTP_NO_CONTENT) {
+                method.releaseConnection();
+                response.close();
+                return true;
+            } else {
+                RestException restException = new RestException(response);
+                method.releaseConnection();
+                response.close();
+                throw restException;
+            }
+        });
+    }
+
+    /**
+     * The response of the transitions of an issue.
+     */
+    private static class TransitionsResponse {
+
+        @Expose
+        private List<TransitionBean> transitions = new ArrayList<>();
+
+        List<TransitionBean> getTransitions() {
+            return transitions;
+        }
+    }
+
     private IssueBean extractIssueBean(HttpGet method, CloseableHttpResponse response) throws IOException {
         JsonReader jsonReader = getJsonReader(response);
         final IssueBean issueBean = gson.fromJson(jsonReader,
@@ -4,10 +4,27 @@ import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.prasannjeet.jira.rest.JiraRestClient;
 import com.prasannjeet.jira.rest.client.SearchClient;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
 import com.prasannjeet.jira.rest.core.domain.JqlSearchResult;
 import com.prasannjeet.jira.rest.core.domain.filter.FilterBean;
+import com.prasannjeet.jira.rest.core.http.AbortableFuture;
+import com.prasannjeet.jira.rest.core.http.RequestHandle;
+import com.prasannjeet.jira.rest.core.http.RequestOptions;
+import com.prasannjeet.jira.rest.core.jql.EField;
+import com.prasannjeet.jira.rest.core.jql.EFieldType;
+import com.prasannjeet.jira.rest.core.jql.EOperator;
+import com.prasannjeet.jira.rest.core.jql.JqlBuilder;
+import com.prasannjeet.jira.rest.core.jql.JqlQuery;
 import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+import com.prasannjeet.jira.rest.core.jql.SortOrder;
 import com.prasannjeet.jira.rest.core.misc.RestParamConstants;
+import com.prasannjeet.jira.rest.core.search.CachedSearch;
+import com.prasannjeet.jira.rest.core.search.FieldGroupCounter;
+import com.prasannjeet.jira.rest.core.search.SearchCache;
+import com.prasannjeet.jira.rest.core.search.SearchResultIterator;
+import com.prasannjeet.jira.rest.core.search.SearchShard;
+import com.prasannjeet.jira.rest.core.search.SeekSearchIterator;
+import com.prasannjeet.jira.rest.core.search.ShardedSearchIterator;
 import com.prasannjeet.jira.rest.core.misc.RestPathConstants;
 import com.prasannjeet.jira.rest.core.util.HttpMethodFactory;
 import com.prasannjeet.jira.rest.core.util.RestException;
@@ -20,9 +37,14 @@ import org.apache.http.client.utils.URIBuilder;
 import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * User: Christian Schulze
@@ -31,34 +53,215 @@ import java.util.concurrent.Future;
  */
 public class SearchClientImpl extends BaseClient implements SearchClient, RestPathConstants, RestParamConstants {
 
+    /**
+     * The largest page Jira returns for searches with few fields.
+     */
+    private static final int AGGREGATION_PAGE_SIZE = 1000;
+
+    /**
+     * The JSON fields of the JQL fields with a different name.
+     */
+    private static final Map<EField, String> AGGREGATION_FIELDS = new EnumMap<>(EField.class);
+
+    static {
+        AGGREGATION_FIELDS.put(EField.AFFECTED_VERSION, "versions");
+        AGGREGATION_FIELDS.put(EField.FIX_VERSION, "fixVersions");
+        AGGREGATION_FIELDS.put(EField.COMPONENT, "components");
+        AGGREGATION_FIELDS.put(EField.DUE, "duedate");
+        AGGREGATION_FIELDS.put(EField.RESOLVED, "resolutiondate");
+        AGGREGATION_FIELDS.put(EField.LEVEL, "security");
+        AGGREGATION_FIELDS.put(EField.ORIGINAL_ESTIMATE, "timeoriginalestimate");
+        AGGREGATION_FIELDS.put(EField.REMAINING_ESTIMATE, "timeestimate");
+        AGGREGATION_FIELDS.put(EField.TIME_SPENT, "timespent");
+        AGGREGATION_FIELDS.put(EField.WORK_RATIO, "workratio");
+    }
+
+    private volatile SearchCache searchCache;
 
     public SearchClientImpl(JiraRestClient jiraRestClient, ExecutorService executorService) {
         super(jiraRestClient);
         this.executorService = executorService;
     }
 
-    public Future<JqlSearchResult> searchIssues(final JqlSearchBean jsb) {
+    public AbortableFuture<JqlSearchResult> searchIssues(final JqlSearchBean jsb) {
+        return searchIssues(jsb, null);
+    }
+
+    public AbortableFuture<JqlSearchResult> searchIssues(final JqlSearchBean jsb, final RequestOptions options) {
         Validate.notNull(jsb);
-        return executorService.submit(() -> {
+        final SearchCache cache = searchCache;
+        if (cache == null) {
+            return searchUncached(jsb, options);
+        }
+        final String key = SearchCache.key(jsb);
+        final CachedSearch cached = cache.get(key);
+        if (cached != null && System.currentTimeMillis() - cached.getValidatedAt() < cache.getTimeToLive()) {
+            AbortableFuture<JqlSearchResult> future = new AbortableFuture<>(new RequestHandle(options, null));
+            future.complete(cached.copyResult());
+            return future;
+        }
+        final JqlSearchBean search = new JqlSearchBean(jsb);
+        return submit(options, handle -> {
+            long start = System.currentTimeMillis();
+            if (cached != null && cached.isRevalidatable() == true && cache.isRevalidating() == true
+                    && isUnchanged(handle, search, cached) == true) {
+                cache.put(key, cached.revalidated(start));
+                return cached.copyResult();
+            }
+            CachedSearch result = new CachedSearch(search(handle, search), start,
+                    CachedSearch.isRevalidatable(search.getJql()));
+            cache.put(key, result);
+            return result.copyResult();
+        });
+    }
 
-            String json = gson.toJson(jsb);
-            URIBuilder uriBuilder = buildPath(SEARCH);
-            HttpPost method = HttpMethodFactory.createPostMethod(uriBuilder.build(), json);
-            CloseableHttpResponse response = client.execute(method, clientContext);
-            int statusCode = response.getStatusLine().getStatusCode();
-            if (statusCode == HttpURLConnection.HTTP_OK) {
-                JsonReader jsonReader = getJsonReader(response);
-                JqlSearchResult jqlSearchResult = gson.fromJson(jsonReader, JqlSearchResult.class);
-                response.close();
-                return jqlSearchResult;
-            } else {
-                RestException restException = new RestException(response);
-                method.releaseConnection();
-                response.close();
-                throw restException;
+    public AbortableFuture<Integer> countIssues(final String jql) {
+        final JqlSearchBean jsb = new JqlSearchBean();
+        jsb.setJql(jql);
+        jsb.setStartAt(0);
+        jsb.setMaxResults(0);
+        jsb.addField(EField.ID);
+        return submit(null, handle -> search(handle, jsb).getTotal());
+    }
+
+    public AbortableFuture<Map<String, Long>> countIssuesBy(final String jql, final EField field) {
+        Validate.notNull(field);
+        String jsonField = AGGREGATION_FIELDS.getOrDefault(field, field.getField());
+        return countIssuesBy(jql, jsonField, field.getType() == EFieldType.DATE);
+    }
+
+    public AbortableFuture<Map<String, Long>> countIssuesBy(final String jql, final String field,
+                                                            final boolean dateOnly) {
+        Validate.notEmpty(field);
+        final JqlQuery query = JqlQuery.parse(jql).withOrderBy(EField.ID + " " + SortOrder.ASC);
+        return submit(null, handle -> {
+            FieldGroupCounter counter = new FieldGroupCounter(field, dateOnly);
+            boolean exhausted = false;
+            while (exhausted == false) {
+                JqlQuery pageQuery = query;
+                if (counter.getLastId() != null) {
+                    pageQuery = query.and(new JqlBuilder()
+                            .addCondition(EField.ID, EOperator.GREATER_THAN, counter.getLastId()).build());
+                }
+                JqlSearchBean page = new JqlSearchBean();
+                page.setJql(pageQuery.toString());
+                page.setStartAt(0);
+                page.setMaxResults(AGGREGATION_PAGE_SIZE);
+                page.getFields().add(field);
+                HttpPost method = HttpMethodFactory.createPostMethod(buildPath(SEARCH).build(), gson.toJson(page));
+                try (CloseableHttpResponse response = handle.execute(client, method, clientContext)) {
+                    if (response.getStatusLine().getStatusCode() != HttpURLConnection.HTTP_OK) {
+                        RestException restException = new RestException(response);
+                        method.releaseConnection();
+                        throw restException;
+                    }
+                    int received = counter.read(getJsonReader(response));
+                    // total counts the issues after the last id, like in the SeekSearchIterator
+                    exhausted = received == 0 || received >= counter.getTotal();
+                }
             }
+            return counter.getCounts();
         });
+    }
+
+    public void setSearchCache(SearchCache searchCache) {
+        this.searchCache = searchCache;
+    }
+
+    public SearchCache getSearchCache() {
+        return searchCache;
+    }
+
+    private AbortableFuture<JqlSearchResult> searchUncached(final JqlSearchBean jsb) {
+        return searchUncached(jsb, null);
+    }
+
+    private AbortableFuture<JqlSearchResult> searchUncached(final JqlSearchBean jsb, final RequestOptions options) {
+        return submit(options, handle -> search(handle, jsb));
+    }
+
+    private JqlSearchResult search(RequestHandle handle, JqlSearchBean jsb) throws Exception {
+        String json = gson.toJson(jsb);
+        URIBuilder uriBuilder = buildPath(SEARCH);
+        HttpPost method = HttpMethodFactory.createPostMethod(uriBuilder.build(), json);
+        CloseableHttpResponse response = handle.execute(client, method, clientContext);
+        int statusCode = response.getStatusLine().getStatusCode();
+        if (statusCode == HttpURLConnection.HTTP_OK) {
+            JsonReader jsonReader = getJsonReader(response);
+            JqlSearchResult jqlSearchResult = gson.fromJson(jsonReader, JqlSearchResult.class);
+            response.close();
+            return jqlSearchResult;
+        } else {
+            RestException restException = new RestException(response);
+            method.releaseConnection();
+            response.close();
+            throw restException;
+        }
+    }
+
+    /**
+     * Revalidates a cached result with two searches for maxResults = 0: the total must be unchanged and no
+     * matching issue may have been updated since the last validation.
+     */
+    private boolean isUnchanged(RequestHandle handle, JqlSearchBean jsb, CachedSearch cached) throws Exception {
+        JqlSearchBean probe = new JqlSearchBean(jsb);
+        probe.setStartAt(0);
+        probe.setMaxResults(0);
+        probe.getFields().clear();
+        probe.getExpand().clear();
+        if (search(handle, probe).getTotal() != cached.getResult().getTotal()) {
+            return false;
+        }
+        // one more minute for the minute resolution of JQL dates and clock skew
+        long minutes = TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - cached.getValidatedAt()) + 2;
+        String updated = new JqlBuilder().addCondition(EField.UPDATED, EOperator.GREATER_THAN_EQUALS,
+                "-" + minutes + "m").build();
+        probe.setJql(JqlQuery.parse(jsb.getJql()).and(updated).toString());
+        return search(handle, probe).getTotal() == 0;
+    }
+
+    public SearchResultIterator iterateIssues(final JqlSearchBean jsb) {
+        Validate.notNull(jsb);
+        int pageSize = jsb.getMaxResults() != null && jsb.getMaxResults() > 0
+                ? jsb.getMaxResults() : SearchResultIterator.DEFAULT_PAGE_SIZE;
+        return iterateIssues(jsb, pageSize, SearchResultIterator.DEFAULT_PREFETCH);
+    }
+
+    public SearchResultIterator iterateIssues(final JqlSearchBean jsb, int pageSize, int prefetch) {
+        return iterateIssues(jsb, pageSize, prefetch, true);
+    }
+
+    public SearchResultIterator iterateIssues(final JqlSearchBean jsb, int pageSize, int parallelism, boolean ordered) {
+        return new SearchResultIterator(this::searchUncached, jsb, pageSize, parallelism, ordered);
+    }
+
+    public Stream<IssueBean> streamIssues(final JqlSearchBean jsb) {
+        return iterateIssues(jsb).stream();
+    }
+
+    public Stream<IssueBean> streamIssues(final JqlSearchBean jsb, int pageSize, int prefetch) {
+        return iterateIssues(jsb, pageSize, prefetch).stream();
+    }
+
+    public Stream<IssueBean> streamIssues(final JqlSearchBean jsb, int pageSize, int parallelism, boolean ordered) {
+        return iterateIssues(jsb, pageSize, parallelism, ordered).stream();
+    }
+
+    public SeekSearchIterator iterateIssuesById(final JqlSearchBean jsb, int pageSize, final String startAfterId) {
+        return new SeekSearchIterator(this::searchUncached, jsb, pageSize, startAfterId);
+    }
+
+    public Stream<IssueBean> streamIssuesById(final JqlSearchBean jsb, int pageSize, final String startAfterId) {
+        return iterateIssuesById(jsb, pageSize, startAfterId).stream();
+    }
+
+    public ShardedSearchIterator iterateShards(final List<SearchShard> shards, int pageSize, int parallelism,
+                                               final Collection<String> completedShards) {
+        return new ShardedSearchIterator(this::searchUncached, shards, pageSize, parallelism, completedShards);
+    }
 
+    public Stream<IssueBean> streamShards(final List<SearchShard> shards, int pageSize, int parallelism) {
+        return iterateShards(shards, pageSize, parallelism, null).stream();
     }
 
 
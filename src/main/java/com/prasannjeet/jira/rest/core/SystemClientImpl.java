@@ -4,6 +4,7 @@ import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.prasannjeet.jira.rest.JiraRestClient;
 import com.prasannjeet.jira.rest.client.SystemClient;
+import com.prasannjeet.jira.rest.core.cache.MetadataCache;
 import com.prasannjeet.jira.rest.core.domain.AttachmentMetaBean;
 import com.prasannjeet.jira.rest.core.domain.IssuetypeBean;
 import com.prasannjeet.jira.rest.core.domain.PriorityBean;
@@ -13,16 +14,17 @@ import com.prasannjeet.jira.rest.core.domain.field.FieldBean;
 import com.prasannjeet.jira.rest.core.domain.system.ConfigurationBean;
 import com.prasannjeet.jira.rest.core.misc.RestParamConstants;
 import com.prasannjeet.jira.rest.core.misc.RestPathConstants;
+import com.prasannjeet.jira.rest.core.util.Futures;
 import com.prasannjeet.jira.rest.core.util.HttpMethodFactory;
 import com.prasannjeet.jira.rest.core.util.RestException;
 import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.utils.URIBuilder;
 
 import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -35,19 +37,28 @@ import java.util.concurrent.Future;
 public class SystemClientImpl extends BaseClient implements SystemClient, RestParamConstants, RestPathConstants {
 
 
+    private final MetadataCache metadataCache;
+
     public SystemClientImpl(JiraRestClient jiraRestClient, ExecutorService executorService) {
         super(jiraRestClient);
         this.executorService = executorService;
+        this.metadataCache = new MetadataCache(executorService);
+    }
+
+    @Override
+    public MetadataCache getMetadataCache() {
+        return metadataCache;
     }
 
 
     @Override
     public Future<ConfigurationBean> getConfiguration() {
-        return executorService.submit(() -> {
+        return metadataCache.get(MetadataCache.CONFIGURATION, this::loadConfiguration);
+    }
 
-            URIBuilder uriBuilder = buildPath(CONFIGURATION);
-            HttpGet method = HttpMethodFactory.createGetMethod(uriBuilder.build());
-            CloseableHttpResponse response = client.execute(method, clientContext);
+    private Future<ConfigurationBean> loadConfiguration() {
+        return submitGet(null, () -> buildPath(CONFIGURATION).build(), (handle, method) -> {
+            CloseableHttpResponse response = handle.execute(client, method, clientContext);
             int statusCode = response.getStatusLine().getStatusCode();
             if (statusCode == HttpURLConnection.HTTP_OK) {
                 JsonReader jsonReader = getJsonReader(response);
@@ -64,11 +75,12 @@ public class SystemClientImpl extends BaseClient implements SystemClient, RestPa
     }
 
     public Future<List<IssuetypeBean>> getIssueTypes() {
-        return executorService.submit(() -> {
+        return metadataCache.get(MetadataCache.ISSUE_TYPES, this::loadIssueTypes);
+    }
 
-            URIBuilder uriBuilder = buildPath(ISSUETPYES);
-            HttpGet method = HttpMethodFactory.createGetMethod(uriBuilder.build());
-            CloseableHttpResponse response = client.execute(method, clientContext);
+    private Future<List<IssuetypeBean>> loadIssueTypes() {
+        return submitGet(null, () -> buildPath(ISSUETPYES).build(), (handle, method) -> {
+            CloseableHttpResponse response = handle.execute(client, method, clientContext);
             int statusCode = response.getStatusLine().getStatusCode();
             if (statusCode == HttpURLConnection.HTTP_OK) {
                 JsonReader jsonReader = getJsonReader(response);
@@ -76,7 +88,8 @@ public class SystemClientImpl extends BaseClient implements SystemClient, RestPa
                 }.getType();
                 List<IssuetypeBean> issuetypes = gson.fromJson(jsonReader, listType);
                 method.releaseConnection();
-                return issuetypes;
+                // cached and shared by all callers
+                return Collections.unmodifiableList(issuetypes);
             } else {
                 RestException restException = new RestException(response);
                 method.releaseConnection();
@@ -89,11 +102,12 @@ public class SystemClientImpl extends BaseClient implements SystemClient, RestPa
 
 
     public Future<List<StatusBean>> getStates() {
-        return executorService.submit(() -> {
+        return metadataCache.get(MetadataCache.STATES, this::loadStates);
+    }
 
-            URIBuilder uriBuilder = buildPath(STATUS);
-            HttpGet method = HttpMethodFactory.createGetMethod(uriBuilder.build());
-            CloseableHttpResponse response = client.execute(method, clientContext);
+    private Future<List<StatusBean>> loadStates() {
+        return submitGet(null, () -> buildPath(STATUS).build(), (handle, method) -> {
+            CloseableHttpResponse response = handle.execute(client, method, clientContext);
             int statusCode = response.getStatusLine().getStatusCode();
             if (statusCode == HttpURLConnection.HTTP_OK) {
                 JsonReader jsonReader = getJsonReader(response);
@@ -101,7 +115,8 @@ public class SystemClientImpl extends BaseClient implements SystemClient, RestPa
                 }.getType();
                 List<StatusBean> states = gson.fromJson(jsonReader, listType);
                 method.releaseConnection();
-                return states;
+                // cached and shared by all callers
+                return Collections.unmodifiableList(states);
             } else {
                 RestException restException = new RestException(response);
                 method.releaseConnection();
@@ -114,11 +129,12 @@ public class SystemClientImpl extends BaseClient implements SystemClient, RestPa
 
 
     public Future<List<PriorityBean>> getPriorities() {
-        return executorService.submit(() -> {
+        return metadataCache.get(MetadataCache.PRIORITIES, this::loadPriorities);
+    }
 
-            URIBuilder uriBuilder = buildPath(PRIORITY);
-            HttpGet method = HttpMethodFactory.createGetMethod(uriBuilder.build());
-            CloseableHttpResponse response = client.execute(method, clientContext);
+    private Future<List<PriorityBean>> loadPriorities() {
+        return submitGet(null, () -> buildPath(PRIORITY).build(), (handle, method) -> {
+            CloseableHttpResponse response = handle.execute(client, method, clientContext);
             int statusCode = response.getStatusLine().getStatusCode();
             if (statusCode == HttpURLConnection.HTTP_OK) {
                 JsonReader jsonReader = getJsonReader(response);
@@ -126,7 +142,8 @@ public class SystemClientImpl extends BaseClient implements SystemClient, RestPa
                 }.getType();
                 List<PriorityBean> priorities = gson.fromJson(jsonReader, listType);
                 method.releaseConnection();
-                return priorities;
+                // cached and shared by all callers
+                return Collections.unmodifiableList(priorities);
             } else {
                 RestException restException = new RestException(response);
                 method.releaseConnection();
@@ -138,10 +155,12 @@ public class SystemClientImpl extends BaseClient implements SystemClient, RestPa
 
 
     public Future<List<FieldBean>> getAllFields() {
-        return executorService.submit(() -> {
-            URIBuilder uriBuilder = buildPath(FIELD);
-            HttpGet method = HttpMethodFactory.createGetMethod(uriBuilder.build());
-            CloseableHttpResponse response = client.execute(method, clientContext);
+        return metadataCache.get(MetadataCache.FIELDS, this::loadAllFields);
+    }
+
+    private Future<List<FieldBean>> loadAllFields() {
+        return submitGet(null, () -> buildPath(FIELD).build(), (handle, method) -> {
+            CloseableHttpResponse response = handle.execute(client, method, clientContext);
             int statusCode = response.getStatusLine().getStatusCode();
             if (statusCode == HttpURLConnection.HTTP_OK) {
                 JsonReader jsonReader = getJsonReader(response);
@@ -149,7 +168,8 @@ public class SystemClientImpl extends BaseClient implements SystemClient, RestPa
                 }.getType();
                 List<FieldBean> fields = gson.fromJson(jsonReader, listType);
                 method.releaseConnection();
-                return fields;
+                // cached and shared by all callers
+                return Collections.unmodifiableList(fields);
             } else {
                 RestException restException = new RestException(response);
                 method.releaseConnection();
@@ -161,10 +181,8 @@ public class SystemClientImpl extends BaseClient implements SystemClient, RestPa
 
 
     public Future<List<FieldBean>> getAllCustomFields() {
-        return executorService.submit(() -> {
+        return Futures.toCompletableFuture(getAllFields(), executorService).thenApply(fieldBeen -> {
             List<FieldBean> retval = new ArrayList<>();
-            Future<List<FieldBean>> allFields = getAllFields();
-            List<FieldBean> fieldBeen = allFields.get();
             for (FieldBean fieldBean : fieldBeen) {
                 if (fieldBean.getCustom() == true) {
                     retval.add(fieldBean);
@@ -176,9 +194,7 @@ public class SystemClientImpl extends BaseClient implements SystemClient, RestPa
 
 
     public Future<FieldBean> getCustomFieldById(final String id) {
-        return executorService.submit(() -> {
-            Future<List<FieldBean>> allFields = getAllFields();
-            List<FieldBean> fieldBeen = allFields.get();
+        return Futures.toCompletableFuture(getAllFields(), executorService).thenApply(fieldBeen -> {
             for (FieldBean fieldBean : fieldBeen) {
                 if (fieldBean.getCustom() == false) {
                     continue;
@@ -206,6 +222,7 @@ public class SystemClientImpl extends BaseClient implements SystemClient, RestPa
             if (statusCode == HttpURLConnection.HTTP_CREATED) {
                 JsonReader jsonReader = getJsonReader(response);
                 FieldBean fieldBean = gson.fromJson(jsonReader, FieldBean.class);
+                metadataCache.invalidate(MetadataCache.FIELDS);
                 method.releaseConnection();
                 response.close();
                 return fieldBean;
@@ -4,10 +4,12 @@ import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.prasannjeet.jira.rest.JiraRestClient;
 import com.prasannjeet.jira.rest.client.UserClient;
+import com.prasannjeet.jira.rest.core.batch.BatchLoader;
 import com.prasannjeet.jira.rest.core.domain.UserBean;
 import com.prasannjeet.jira.rest.core.domain.permission.MyPermissionsBean;
 import com.prasannjeet.jira.rest.core.misc.RestParamConstants;
 import com.prasannjeet.jira.rest.core.misc.RestPathConstants;
+import com.prasannjeet.jira.rest.core.util.Futures;
 import com.prasannjeet.jira.rest.core.util.HttpMethodFactory;
 import com.prasannjeet.jira.rest.core.util.RestException;
 import org.apache.commons.lang3.StringUtils;
@@ -20,7 +22,12 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -49,11 +56,8 @@ public class UserClientImpl extends BaseClient implements UserClient, RestPathCo
 
     public Future<UserBean> getUserByUsername(final String username) {
         Validate.notNull(username);
-        return executorService.submit(() -> {
-            URIBuilder uriBuilder = buildPath(USER);
-            uriBuilder.addParameter(USERNAME, username);
-            HttpGet method = HttpMethodFactory.createGetMethod(uriBuilder.build());
-            CloseableHttpResponse response = client.execute(method, clientContext);
+        return submitGet(null, () -> buildPath(USER).addParameter(USERNAME, username).build(), (handle, method) -> {
+            CloseableHttpResponse response = handle.execute(client, method, clientContext);
             int statusCode = response.getStatusLine().getStatusCode();
             if (statusCode == HttpURLConnection.HTTP_OK) {
                 JsonReader jsonReader = getJsonReader(response);
@@ -72,6 +76,34 @@ public class UserClientImpl extends BaseClient implements UserClient, RestPathCo
     }
 
 
+    public BatchLoader<String, UserBean> createUserLoader() {
+        return new BatchLoader<>(usernames -> {
+            final Map<String, CompletableFuture<UserBean>> users = new LinkedHashMap<>();
+            for (String username : usernames) {
+                // an unknown user must not fail the other lookups of the batch
+                users.put(username, Futures.toCompletableFuture(getUserByUsername(username), executorService)
+                        .handle((user, throwable) -> {
+                            Throwable cause = Futures.unwrap(throwable);
+                            if (cause instanceof RestException
+                                    && ((RestException) cause).getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                                return null;
+                            } else if (cause != null) {
+                                throw new CompletionException(cause);
+                            }
+                            return user;
+                        }));
+            }
+            return CompletableFuture.allOf(users.values().toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+                Map<String, UserBean> retval = new HashMap<>();
+                for (Map.Entry<String, CompletableFuture<UserBean>> entry : users.entrySet()) {
+                    retval.put(entry.getKey(), entry.getValue().join());
+                }
+                return retval;
+            });
+        }, jiraRestClient.getScheduler(), executorService);
+    }
+
+
     public Future<UserBean> getLoggedInRemoteUser() throws RestException, IOException {
         String username = jiraRestClient.getUsername();
         return getUserByUsername(username);
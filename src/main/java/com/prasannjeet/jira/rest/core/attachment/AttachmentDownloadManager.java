@@ -0,0 +1,337 @@
+package com.prasannjeet.jira.rest.core.attachment;
+
+import com.prasannjeet.jira.rest.client.IssueClient;
+import com.prasannjeet.jira.rest.core.domain.AttachmentBean;
+import com.prasannjeet.jira.rest.core.util.Futures;
+import com.prasannjeet.jira.rest.core.util.RestException;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Downloads many attachments into a local directory with a limited number of concurrent downloads.
+ * <p>
+ * The files are named by the attachment id, which never changes its content. An attachment whose file exists with
+ * the size of the attachment is not downloaded again, so a job can be run again after a failure. A download is
+ * written to a <code>.part</code> file first. A failed download is continued with a Range request, in the same
+ * run up to the number of attempts after a growing delay, or in the next run. The size of the download is
+ * verified before the file is moved to its name.
+ */
+public class AttachmentDownloadManager {
+
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    public static final int DEFAULT_ATTEMPTS = 3;
+
+    public static final long DEFAULT_RETRY_DELAY = TimeUnit.SECONDS.toMillis(1);
+
+    private static final String PART = ".part";
+
+    private final IssueClient issueClient;
+
+    private final Path directory;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    private final int attempts;
+
+    private final ConcurrentMap<String, CompletableFuture<Path>> downloads = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicLong cacheHits = new AtomicLong();
+
+    private final AtomicLong transfers = new AtomicLong();
+
+    private final AtomicLong resumes = new AtomicLong();
+
+    private volatile long retryDelay = DEFAULT_RETRY_DELAY;
+
+    /**
+     * @param issueClient = the client for the downloads
+     * @param directory   = the cache directory, it is created with the first download
+     * @param scheduler   = delays the retries, e.g. JiraRestClient.getScheduler()
+     * @param executor    = continues after the downloads
+     */
+    public AttachmentDownloadManager(IssueClient issueClient, Path directory, ScheduledExecutorService scheduler,
+                                     Executor executor) {
+        this(issueClient, directory, scheduler, executor, DEFAULT_PARALLELISM, DEFAULT_ATTEMPTS);
+    }
+
+    /**
+     * @param issueClient = the client for the downloads
+     * @param directory   = the cache directory, it is created with the first download
+     * @param scheduler   = delays the retries, e.g. JiraRestClient.getScheduler()
+     * @param executor    = continues after the downloads
+     * @param parallelism = the maximum number of concurrent downloads
+     * @param attempts    = the maximum number of attempts per download in one run
+     */
+    public AttachmentDownloadManager(IssueClient issueClient, Path directory, ScheduledExecutorService scheduler,
+                                     Executor executor, int parallelism, int attempts) {
+        Validate.notNull(issueClient);
+        Validate.notNull(directory);
+        Validate.notNull(scheduler);
+        Validate.notNull(executor);
+        Validate.isTrue(parallelism > 0, "parallelism must be greater than 0");
+        Validate.isTrue(attempts > 0, "attempts must be greater than 0");
+        this.issueClient = issueClient;
+        this.directory = directory;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.attempts = attempts;
+    }
+
+    /**
+     * @param attachments = the attachments, e.g. of FieldsBean.getAttachment()
+     * @return Future of one DownloadResult per attachment in the order of the attachments
+     */
+    public CompletableFuture<List<DownloadResult>> downloadAll(Collection<AttachmentBean> attachments) {
+        Validate.notNull(attachments);
+        final List<CompletableFuture<DownloadResult>> results = new ArrayList<>(attachments.size());
+        for (final AttachmentBean attachment : attachments) {
+            CompletableFuture<Path> download;
+            try {
+                download = download(attachment);
+            } catch (RuntimeException e) {
+                download = new CompletableFuture<>();
+                download.completeExceptionally(e);
+            }
+            results.add(download.handle((path, throwable) ->
+                    new DownloadResult(attachment, path, Futures.unwrap(throwable))));
+        }
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<DownloadResult> retval = new ArrayList<>(results.size());
+            for (CompletableFuture<DownloadResult> result : results) {
+                retval.add(result.join());
+            }
+            return retval;
+        });
+    }
+
+    /**
+     * Downloads the attachment, or returns the cached file. Concurrent downloads of the same attachment share
+     * the future.
+     *
+     * @param attachment = the attachment with id and content uri
+     * @return Future of the file
+     */
+    public CompletableFuture<Path> download(final AttachmentBean attachment) {
+        Validate.notNull(attachment);
+        Validate.notEmpty(attachment.getId());
+        Validate.notEmpty(attachment.getContent());
+        final CompletableFuture<Path> placeholder = new CompletableFuture<>();
+        CompletableFuture<Path> retval = downloads.putIfAbsent(attachment.getId(), placeholder);
+        if (retval != null) {
+            return retval;
+        }
+        // started outside of the map, the start does file IO and may start the request
+        placeholder.whenComplete((path, throwable) -> downloads.remove(attachment.getId(), placeholder));
+        start(attachment, placeholder);
+        return placeholder;
+    }
+
+    /**
+     * @param attachment = the attachment
+     * @return the file of the attachment in the cache directory, it exists if the attachment was downloaded
+     */
+    public Path getPath(AttachmentBean attachment) {
+        String filename = attachment.getFilename();
+        if (StringUtils.isEmpty(filename) == true) {
+            return directory.resolve(attachment.getId());
+        }
+        return directory.resolve(attachment.getId() + "-" + filename.replaceAll("[^A-Za-z0-9._-]", "_"));
+    }
+
+    private void start(AttachmentBean attachment, CompletableFuture<Path> retval) {
+        Path target = getPath(attachment);
+        long size = sizeOf(attachment);
+        try {
+            if (Files.exists(target) == true && (size < 0 || Files.size(target) == size)) {
+                cacheHits.incrementAndGet();
+                retval.complete(target);
+                return;
+            }
+        } catch (IOException e) {
+            retval.completeExceptionally(e);
+            return;
+        }
+        waiting.add(() -> attempt(attachment, target, size, 1, retval));
+        drain();
+    }
+
+    /**
+     * Starts waiting downloads while less than the parallelism are running.
+     */
+    private void drain() {
+        while (waiting.isEmpty() == false) {
+            int running = active.get();
+            if (running >= parallelism) {
+                return;
+            }
+            if (active.compareAndSet(running, running + 1) == false) {
+                continue;
+            }
+            Runnable task = waiting.poll();
+            if (task == null) {
+                active.decrementAndGet();
+            } else {
+                task.run();
+            }
+        }
+    }
+
+    private void finish(CompletableFuture<Path> retval, Path target, Throwable error) {
+        active.decrementAndGet();
+        if (error != null) {
+            retval.completeExceptionally(error);
+        } else {
+            retval.complete(target);
+        }
+        drain();
+    }
+
+    private void attempt(final AttachmentBean attachment, final Path target, final long size, final int attempt,
+                         final CompletableFuture<Path> retval) {
+        final Path part = target.resolveSibling(target.getFileName() + PART);
+        CompletableFuture<Long> download;
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(part) == true) {
+                if (size >= 0 && Files.size(part) > size) {
+                    Files.delete(part);
+                } else {
+                    resumes.incrementAndGet();
+                }
+            }
+            download = Futures.toCompletableFuture(
+                    issueClient.resumeAttachmentDownload(URI.create(attachment.getContent()), part), executor);
+        } catch (IOException | RuntimeException e) {
+            finish(retval, target, e);
+            return;
+        }
+        // continue on the executor to keep the stack flat when a finished download starts the next one
+        download.whenCompleteAsync((downloaded, throwable) -> {
+            Throwable error = Futures.unwrap(throwable);
+            try {
+                if (error == null) {
+                    transfers.incrementAndGet();
+                    if (size < 0 || downloaded == size) {
+                        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+                        finish(retval, target, null);
+                        return;
+                    }
+                    if (downloaded > size) {
+                        Files.delete(part);
+                    }
+                    error = new IOException("Downloaded " + downloaded + " of " + size + " bytes of the attachment "
+                            + attachment.getId());
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+            if (attempt < attempts && isRetryable(error) == true) {
+                retry(attachment, target, size, attempt + 1, retval, error);
+            } else {
+                finish(retval, target, error);
+            }
+        }, executor);
+    }
+
+    /**
+     * Starts the next attempt after the retry delay, doubled for every failed attempt. The download keeps its
+     * slot of the parallelism while it waits, so a failing server gets fewer requests.
+     */
+    private void retry(final AttachmentBean attachment, final Path target, final long size, final int attempt,
+                       final CompletableFuture<Path> retval, Throwable error) {
+        long delay = retryDelay << Math.min(attempt - 2, 20);
+        try {
+            // the scheduler is shared, the attempt runs on the executor
+            scheduler.schedule(() -> executor.execute(() -> attempt(attachment, target, size, attempt, retval)),
+                    delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            finish(retval, target, error);
+        }
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof RestException) {
+            return ((RestException) error).getStatusCode() >= 500;
+        }
+        return error instanceof IOException;
+    }
+
+    /**
+     * @return the size of the attachment, or -1 if it is unknown
+     */
+    private static long sizeOf(AttachmentBean attachment) {
+        try {
+            return Long.parseLong(attachment.getSize());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return number of attachments which were found in the cache directory
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * @return number of completed HTTP transfers, including the transfers of resumed downloads
+     */
+    public long getTransfers() {
+        return transfers.get();
+    }
+
+    /**
+     * @return number of downloads which were continued from a partial file
+     */
+    public long getResumes() {
+        return resumes.get();
+    }
+
+    public long getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * @param retryDelay = the delay before the second attempt of a download, it is doubled for every further
+     *                   attempt, default 1 second
+     * @param unit       = the unit of retryDelay
+     */
+    public void setRetryDelay(long retryDelay, TimeUnit unit) {
+        Validate.isTrue(retryDelay >= 0, "retryDelay must not be negative");
+        this.retryDelay = unit.toMillis(retryDelay);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+}
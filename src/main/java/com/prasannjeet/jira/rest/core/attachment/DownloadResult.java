@@ -0,0 +1,52 @@
+package com.prasannjeet.jira.rest.core.attachment;
+
+import com.prasannjeet.jira.rest.core.domain.AttachmentBean;
+
+import java.nio.file.Path;
+
+/**
+ * The result of the download of one attachment.
+ */
+public class DownloadResult {
+
+    private final AttachmentBean attachment;
+
+    private final Path path;
+
+    private final Throwable error;
+
+    /**
+     * @param attachment = the attachment
+     * @param path       = the downloaded file, or null if the download failed
+     * @param error      = the reason of the failure, or null if the download succeeded
+     */
+    public DownloadResult(AttachmentBean attachment, Path path, Throwable error) {
+        this.attachment = attachment;
+        this.path = path;
+        this.error = error;
+    }
+
+    public AttachmentBean getAttachment() {
+        return attachment;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the reason of the failure, e.g. a RestException, or null if the download succeeded
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return attachment.getId() + (error == null ? " -> " + path : " failed: " + error);
+    }
+}
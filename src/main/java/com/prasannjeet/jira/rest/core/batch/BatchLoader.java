@@ -0,0 +1,204 @@
+package com.prasannjeet.jira.rest.core.batch;
+
+import com.prasannjeet.jira.rest.core.util.Futures;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects single lookups and loads them with one bulk request, e.g. many getIssueByKey calls with one
+ * <code>key in (...)</code> search.
+ * <p>
+ * The first key of a batch starts the window. The batch is dispatched when the window has passed or the batch
+ * is full, whatever comes first. Lookups of the same key in one batch share the future. Keys the bulk request
+ * did not return complete with null, a failed bulk request fails all futures of the batch.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class BatchLoader<K, V> {
+
+    public static final long DEFAULT_WINDOW_MILLIS = 10;
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    /**
+     * Loads the values of a batch.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    public interface BatchFunction<K, V> {
+
+        /**
+         * @param keys = the distinct keys of the batch
+         * @return Future of the values by key, missing keys are reported as null
+         */
+        Future<Map<K, V>> load(List<K> keys);
+    }
+
+    private final BatchFunction<K, V> batchFunction;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Executor executor;
+
+    private final long windowMillis;
+
+    private final int maxBatchSize;
+
+    private final AtomicLong batches = new AtomicLong();
+
+    private final AtomicLong loads = new AtomicLong();
+
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+    private ScheduledFuture<?> scheduledDispatch;
+
+    /**
+     * @param batchFunction = loads a batch
+     * @param scheduler     = dispatches the batches after the window
+     * @param executor      = waits for bulk requests which do not return a CompletableFuture
+     */
+    public BatchLoader(BatchFunction<K, V> batchFunction, ScheduledExecutorService scheduler, Executor executor) {
+        this(batchFunction, scheduler, executor, DEFAULT_WINDOW_MILLIS, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchFunction = loads a batch
+     * @param scheduler     = dispatches the batches after the window
+     * @param executor      = waits for bulk requests which do not return a CompletableFuture
+     * @param windowMillis  = how long the first key of a batch waits for more keys, 0 dispatches only full
+     *                      batches and the batches of {@link #dispatch()}
+     * @param maxBatchSize  = the maximum number of keys in one batch
+     */
+    public BatchLoader(BatchFunction<K, V> batchFunction, ScheduledExecutorService scheduler, Executor executor,
+                       long windowMillis, int maxBatchSize) {
+        Validate.notNull(batchFunction);
+        Validate.notNull(scheduler);
+        Validate.notNull(executor);
+        Validate.isTrue(windowMillis >= 0, "windowMillis must not be negative");
+        Validate.isTrue(maxBatchSize > 0, "maxBatchSize must be greater than 0");
+        this.batchFunction = batchFunction;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @param key = the key
+     * @return Future of the value, null if it did not exist
+     */
+    public CompletableFuture<V> load(K key) {
+        Validate.notNull(key);
+        loads.incrementAndGet();
+        Map<K, CompletableFuture<V>> full = null;
+        CompletableFuture<V> retval;
+        synchronized (this) {
+            retval = pending.get(key);
+            if (retval != null) {
+                return retval;
+            }
+            retval = new CompletableFuture<>();
+            pending.put(key, retval);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pending.size() == 1 && windowMillis > 0) {
+                scheduledDispatch = scheduler.schedule(() -> dispatch(), windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return retval;
+    }
+
+    /**
+     * @param keys = the keys
+     * @return the futures of the values in the order of the keys
+     */
+    public List<CompletableFuture<V>> loadAll(List<K> keys) {
+        List<CompletableFuture<V>> retval = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            retval.add(load(key));
+        }
+        return retval;
+    }
+
+    /**
+     * Dispatches the current batch without waiting for the end of the window.
+     */
+    public void dispatch() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            if (pending.isEmpty() == true) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private Map<K, CompletableFuture<V>> takePending() {
+        Map<K, CompletableFuture<V>> retval = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledDispatch != null) {
+            scheduledDispatch.cancel(false);
+            scheduledDispatch = null;
+        }
+        return retval;
+    }
+
+    private void dispatch(final Map<K, CompletableFuture<V>> batch) {
+        batches.incrementAndGet();
+        CompletableFuture<Map<K, V>> values;
+        try {
+            values = Futures.toCompletableFuture(batchFunction.load(new ArrayList<>(batch.keySet())), executor);
+        } catch (RuntimeException e) {
+            values = new CompletableFuture<>();
+            values.completeExceptionally(e);
+        }
+        values.whenComplete((result, throwable) -> {
+            for (Map.Entry<K, CompletableFuture<V>> entry : batch.entrySet()) {
+                if (throwable != null) {
+                    entry.getValue().completeExceptionally(Futures.unwrap(throwable));
+                } else {
+                    entry.getValue().complete(result != null ? result.get(entry.getKey()) : null);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return number of dispatched batches
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * @return number of single lookups, including the lookups which shared a key
+     */
+    public long getLoads() {
+        return loads.get();
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+}
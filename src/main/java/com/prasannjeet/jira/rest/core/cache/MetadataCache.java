@@ -0,0 +1,309 @@
+package com.prasannjeet.jira.rest.core.cache;
+
+import com.prasannjeet.jira.rest.core.util.Futures;
+import org.apache.commons.lang3.Validate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache for metadata which changes rarely, e.g. the issue types, statuses, priorities and fields.
+ * <p>
+ * Only the first request of a resource waits for the server. A value which is older than the refresh ahead part
+ * of its time to live is returned and reloaded in the background. A value beyond its time to live is returned as
+ * well while it is reloaded, and it is kept if the reload fails, so a failing server does not break lookups.
+ * Failed reloads are repeated at most once per error retry delay. The cached values are shared and must not be
+ * modified.
+ */
+public class MetadataCache {
+
+    public static final String CONFIGURATION = "configuration";
+
+    public static final String ISSUE_TYPES = "issuetypes";
+
+    public static final String STATES = "states";
+
+    public static final String PRIORITIES = "priorities";
+
+    public static final String FIELDS = "fields";
+
+    public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.HOURS.toMillis(1);
+
+    public static final double DEFAULT_REFRESH_AHEAD = 0.8;
+
+    public static final long DEFAULT_ERROR_RETRY_DELAY = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Loads a resource from the server.
+     *
+     * @param <T> the value type
+     */
+    public interface Loader<T> {
+
+        Future<T> load();
+    }
+
+    private static class Entry {
+
+        private Object value;
+
+        private long loadedAt;
+
+        private long retryAt;
+
+        private boolean expired;
+
+        private CompletableFuture<Object> loading;
+    }
+
+    private final Executor executor;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Long> timesToLive = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong refreshes = new AtomicLong();
+
+    private final AtomicLong refreshFailures = new AtomicLong();
+
+    private volatile long defaultTimeToLive = DEFAULT_TIME_TO_LIVE;
+
+    private volatile double refreshAhead = DEFAULT_REFRESH_AHEAD;
+
+    private volatile long errorRetryDelay = DEFAULT_ERROR_RETRY_DELAY;
+
+    private volatile boolean enabled = true;
+
+    /**
+     * @param executor = waits for loaders which do not return a CompletableFuture
+     */
+    public MetadataCache(Executor executor) {
+        Validate.notNull(executor);
+        this.executor = executor;
+    }
+
+    /**
+     * @param resource = the name of the resource, e.g. {@link #STATES}
+     * @param loader   = loads the resource if it is not cached
+     * @return Future of the value, completed if the resource was loaded before
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Future<T> get(String resource, Loader<T> loader) {
+        Validate.notNull(resource);
+        Validate.notNull(loader);
+        if (enabled == false) {
+            return loader.load();
+        }
+        while (true) {
+            final Entry entry = entries.computeIfAbsent(resource, r -> new Entry());
+            CompletableFuture<Object> loading;
+            synchronized (entry) {
+                if (entries.get(resource) != entry) {
+                    // invalidated or failed in the meantime
+                    continue;
+                }
+                if (entry.loadedAt > 0) {
+                    hits.incrementAndGet();
+                    long now = System.currentTimeMillis();
+                    if (entry.loading == null && now >= entry.retryAt
+                            && (entry.expired == true || now - entry.loadedAt >= refreshAheadOf(resource))) {
+                        refreshes.incrementAndGet();
+                        load(resource, entry, loader);
+                    }
+                    return CompletableFuture.completedFuture((T) entry.value);
+                }
+                misses.incrementAndGet();
+                loading = entry.loading != null ? entry.loading : load(resource, entry, loader);
+            }
+            // a cancelled caller does not cancel the shared load
+            return (Future<T>) loading.thenApply(value -> value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Object> load(final String resource, final Entry entry, Loader<?> loader) {
+        CompletableFuture<Object> loading;
+        try {
+            loading = Futures.toCompletableFuture((Future<Object>) loader.load(), executor);
+        } catch (RuntimeException e) {
+            loading = new CompletableFuture<>();
+            loading.completeExceptionally(e);
+        }
+        final CompletableFuture<Object> started = loading;
+        entry.loading = started;
+        started.whenComplete((value, throwable) -> {
+            synchronized (entry) {
+                if (entry.loading != started) {
+                    // invalidated while loading
+                    return;
+                }
+                entry.loading = null;
+                if (throwable == null) {
+                    entry.value = value;
+                    entry.loadedAt = System.currentTimeMillis();
+                    entry.retryAt = 0;
+                    entry.expired = false;
+                } else if (entry.loadedAt > 0) {
+                    // stale while revalidate, the old value stays until a reload succeeds
+                    refreshFailures.incrementAndGet();
+                    entry.retryAt = System.currentTimeMillis() + errorRetryDelay;
+                } else {
+                    entries.remove(resource, entry);
+                }
+            }
+        });
+        return started;
+    }
+
+    private long refreshAheadOf(String resource) {
+        return (long) (getTimeToLive(resource) * refreshAhead);
+    }
+
+    /**
+     * Forgets the resource, the next request waits for the server.
+     *
+     * @param resource = the name of the resource
+     */
+    public void invalidate(String resource) {
+        Entry entry = entries.remove(resource);
+        if (entry != null) {
+            synchronized (entry) {
+                entry.loading = null;
+            }
+        }
+    }
+
+    /**
+     * Forgets all resources.
+     */
+    public void invalidateAll() {
+        for (String resource : entries.keySet()) {
+            invalidate(resource);
+        }
+    }
+
+    /**
+     * Marks the resource as expired, the next request returns the cached value and reloads it in the background.
+     *
+     * @param resource = the name of the resource
+     */
+    public void expire(String resource) {
+        Entry entry = entries.get(resource);
+        if (entry != null) {
+            synchronized (entry) {
+                entry.expired = true;
+                entry.retryAt = 0;
+            }
+        }
+    }
+
+    /**
+     * @param resource = the name of the resource
+     * @return the time to live of the resource in milliseconds
+     */
+    public long getTimeToLive(String resource) {
+        Long retval = timesToLive.get(resource);
+        return retval != null ? retval : defaultTimeToLive;
+    }
+
+    /**
+     * @param resource   = the name of the resource
+     * @param timeToLive = the time the value is returned without reload
+     * @param unit       = the unit of timeToLive
+     */
+    public void setTimeToLive(String resource, long timeToLive, TimeUnit unit) {
+        Validate.notNull(resource);
+        Validate.isTrue(timeToLive >= 0, "timeToLive must not be negative");
+        timesToLive.put(resource, unit.toMillis(timeToLive));
+    }
+
+    public long getDefaultTimeToLive() {
+        return defaultTimeToLive;
+    }
+
+    /**
+     * @param timeToLive = the time to live of resources without own time to live
+     * @param unit       = the unit of timeToLive
+     */
+    public void setDefaultTimeToLive(long timeToLive, TimeUnit unit) {
+        Validate.isTrue(timeToLive >= 0, "timeToLive must not be negative");
+        this.defaultTimeToLive = unit.toMillis(timeToLive);
+    }
+
+    public double getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    /**
+     * @param refreshAhead = the part of the time to live after which a value is reloaded in the background,
+     *                     between 0 and 1, default 0.8
+     */
+    public void setRefreshAhead(double refreshAhead) {
+        Validate.isTrue(refreshAhead >= 0 && refreshAhead <= 1, "refreshAhead must be between 0 and 1");
+        this.refreshAhead = refreshAhead;
+    }
+
+    public long getErrorRetryDelay() {
+        return errorRetryDelay;
+    }
+
+    /**
+     * @param errorRetryDelay = the minimum time between reloads after a failed reload
+     * @param unit            = the unit of errorRetryDelay
+     */
+    public void setErrorRetryDelay(long errorRetryDelay, TimeUnit unit) {
+        Validate.isTrue(errorRetryDelay >= 0, "errorRetryDelay must not be negative");
+        this.errorRetryDelay = unit.toMillis(errorRetryDelay);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled = false sends every request to the server, default true
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled == false) {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * @return number of requests which were answered from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of requests which waited for the server
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of background reloads
+     */
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    /**
+     * @return number of failed background reloads, the stale value was kept
+     */
+    public long getRefreshFailures() {
+        return refreshFailures.get();
+    }
+}
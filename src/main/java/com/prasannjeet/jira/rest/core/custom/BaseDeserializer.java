@@ -6,6 +6,8 @@ import com.prasannjeet.jira.rest.JiraRestClient;
 import com.prasannjeet.jira.rest.core.domain.customFields.CustomFieldType;
 import com.prasannjeet.jira.rest.core.domain.field.FieldBean;
 
+import java.util.Map;
+
 /**
  * Created by cschulc on 16.03.16.
  */
@@ -16,20 +18,14 @@ public abstract class BaseDeserializer {
             .create();
 
     protected CustomFieldType getCustomFieldType(String customFieldId) {
-        FieldBean fieldBean = JiraRestClient.getCustomfields().get(customFieldId);
-        if(fieldBean == null){
+        Map<String, FieldBean> customfields = JiraRestClient.getCustomfields();
+        if (customfields == null) {
             return null;
         }
-        String custom = fieldBean.getSchema().getCustom();
-        if (custom == null) {
+        FieldBean fieldBean = customfields.get(customFieldId);
+        if (fieldBean == null || fieldBean.getSchema() == null) {
             return null;
         }
-        CustomFieldType[] values = CustomFieldType.values();
-        for (CustomFieldType value : values) {
-            if (custom.equals(value.getJiraName()) == true) {
-                return value;
-            }
-        }
-        return null;
+        return CustomFieldType.fromJiraName(fieldBean.getSchema().getCustom());
     }
 }
@@ -10,7 +10,10 @@ import java.util.*;
 
 /**
  * Created by cschulc on 18.02.16.
+ *
+ * @deprecated builds a JsonElement tree for every issue, use the streaming {@link IssueBeanTypeAdapterFactory}
  */
+@Deprecated
 public class IssueBeanDeserializer extends BaseDeserializer  implements JsonDeserializer<IssueBean> {
 
     @Override
@@ -0,0 +1,300 @@
+package com.prasannjeet.jira.rest.core.custom;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.prasannjeet.jira.rest.core.domain.FieldsBean;
+import com.prasannjeet.jira.rest.core.domain.ProjectBean;
+import com.prasannjeet.jira.rest.core.domain.UserBean;
+import com.prasannjeet.jira.rest.core.domain.VersionBean;
+import com.prasannjeet.jira.rest.core.domain.customFields.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes the customfield_* entries of the FieldsBean of an IssueBean into typed CustomFieldBaseBeans straight
+ * from the JsonReader, in the same pass which reads the standard fields.
+ * <p>
+ * The standard fields are bound by the default adapter of the Gson, so its exclusions, field naming and
+ * annotations apply. Writing is delegated to the default adapter, unless the factory is created to write the
+ * custom fields. Then the custom fields are written back as customfield_* entries, so a written issue can be read
+ * again.
+ */
+public class IssueBeanTypeAdapterFactory extends BaseDeserializer implements TypeAdapterFactory {
+
+    private static final String CUSTOM_FIELD_PREFIX = "customfield_";
+
+    private final boolean writeCustomFields;
+
+    public IssueBeanTypeAdapterFactory() {
+        this(false);
+    }
+
+    /**
+     * @param writeCustomFields = true to write the custom fields in the format they are read, e.g. to store issues
+     */
+    public IssueBeanTypeAdapterFactory(boolean writeCustomFields) {
+        this.writeCustomFields = writeCustomFields;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != FieldsBean.class) {
+            return null;
+        }
+        TypeAdapter<FieldsBean> delegate = gson.getDelegateAdapter(this, TypeToken.get(FieldsBean.class));
+        return (TypeAdapter<T>) new FieldsBeanTypeAdapter(gson, delegate);
+    }
+
+    private class FieldsBeanTypeAdapter extends TypeAdapter<FieldsBean> {
+
+        private final TypeAdapter<FieldsBean> delegate;
+
+        private final TypeAdapter<JsonElement> elementAdapter;
+
+        private final TypeAdapter<ValueBean> valueAdapter;
+
+        private final TypeAdapter<UserBean> userAdapter;
+
+        private final TypeAdapter<ProjectBean> projectAdapter;
+
+        private final TypeAdapter<VersionBean> versionAdapter;
+
+        FieldsBeanTypeAdapter(Gson gson, TypeAdapter<FieldsBean> delegate) {
+            this.delegate = delegate;
+            this.elementAdapter = gson.getAdapter(JsonElement.class);
+            this.valueAdapter = gson.getAdapter(ValueBean.class);
+            this.userAdapter = gson.getAdapter(UserBean.class);
+            this.projectAdapter = gson.getAdapter(ProjectBean.class);
+            this.versionAdapter = gson.getAdapter(VersionBean.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, FieldsBean fieldsBean) throws IOException {
+            if (writeCustomFields == false || fieldsBean == null) {
+                delegate.write(out, fieldsBean);
+                return;
+            }
+            out.beginObject();
+            for (Map.Entry<String, JsonElement> entry : delegate.toJsonTree(fieldsBean).getAsJsonObject().entrySet()) {
+                out.name(entry.getKey());
+                elementAdapter.write(out, entry.getValue());
+            }
+            if (fieldsBean.getCustomFields() != null) {
+                for (CustomFieldBaseBean customField : fieldsBean.getCustomFields()) {
+                    if (customField.getId() != null && customField.getType() != null) {
+                        out.name(customField.getId());
+                        writeCustomField(out, customField);
+                    }
+                }
+            }
+            out.endObject();
+        }
+
+        private void writeCustomField(JsonWriter out, CustomFieldBaseBean customField) throws IOException {
+            CustomFieldType type = customField.getType();
+            if (customField instanceof SingleValueBean) {
+                ValueBean valueBean = ((SingleValueBean) customField).getValue();
+                if (type == CustomFieldType.SELECT || type == CustomFieldType.RADIO) {
+                    valueAdapter.write(out, valueBean);
+                } else {
+                    out.value(valueBean != null ? valueBean.getValue() : null);
+                }
+            } else if (customField instanceof CascadingValueBean) {
+                valueAdapter.write(out, ((CascadingValueBean) customField).getValue());
+            } else if (customField instanceof ProjectSelectBean) {
+                projectAdapter.write(out, ((ProjectSelectBean) customField).getProject());
+            } else if (customField instanceof UserSelectBean) {
+                writeSingleOrList(out, ((UserSelectBean) customField).getUsers(), userAdapter, type == CustomFieldType.USER);
+            } else if (customField instanceof GroupSelectBean) {
+                writeSingleOrList(out, ((GroupSelectBean) customField).getGroups(), valueAdapter, type == CustomFieldType.GROUP);
+            } else if (customField instanceof VersionSelectBean) {
+                writeSingleOrList(out, ((VersionSelectBean) customField).getVersions(), versionAdapter, type == CustomFieldType.VERSION);
+            } else if (customField instanceof MultiValueBean) {
+                List<ValueBean> values = ((MultiValueBean) customField).getValues();
+                if (type == CustomFieldType.LABELS) {
+                    out.beginArray();
+                    for (ValueBean valueBean : values) {
+                        out.value(valueBean.getValue());
+                    }
+                    out.endArray();
+                } else {
+                    writeSingleOrList(out, values, valueAdapter, false);
+                }
+            } else {
+                out.nullValue();
+            }
+        }
+
+        private <E> void writeSingleOrList(JsonWriter out, List<E> values, TypeAdapter<E> adapter, boolean single)
+                throws IOException {
+            if (single == true) {
+                adapter.write(out, values.isEmpty() ? null : values.get(0));
+                return;
+            }
+            out.beginArray();
+            for (E value : values) {
+                adapter.write(out, value);
+            }
+            out.endArray();
+        }
+
+        @Override
+        public FieldsBean read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            // only the standard fields are collected for the default adapter, the custom fields are decoded here
+            JsonObject standardFields = new JsonObject();
+            List<CustomFieldBaseBean> customFields = new ArrayList<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (name.startsWith(CUSTOM_FIELD_PREFIX) == true) {
+                    CustomFieldBaseBean customField = readCustomField(name, in);
+                    if (customField != null) {
+                        customField.setId(name);
+                        customFields.add(customField);
+                    }
+                } else {
+                    standardFields.add(name, elementAdapter.read(in));
+                }
+            }
+            in.endObject();
+            FieldsBean fieldsBean = delegate.fromJsonTree(standardFields);
+            fieldsBean.setCustomFields(customFields);
+            return fieldsBean;
+        }
+
+        private CustomFieldBaseBean readCustomField(String id, JsonReader in) throws IOException {
+            CustomFieldType customFieldType = getCustomFieldType(id);
+            if (customFieldType == null) {
+                in.skipValue();
+                return null;
+            }
+            switch (in.peek()) {
+                case STRING:
+                case NUMBER:
+                    return readPrimitiveCustomField(customFieldType, in.nextString());
+                case BOOLEAN:
+                    return readPrimitiveCustomField(customFieldType, String.valueOf(in.nextBoolean()));
+                case BEGIN_OBJECT:
+                    return readObjectCustomField(customFieldType, in);
+                case BEGIN_ARRAY:
+                    return readArrayCustomField(customFieldType, in);
+                default:
+                    in.skipValue();
+                    return null;
+            }
+        }
+
+        private CustomFieldBaseBean readPrimitiveCustomField(CustomFieldType customFieldType, String value) {
+            SingleValueBean retval = new SingleValueBean();
+            ValueBean valueBean = new ValueBean();
+            valueBean.setValue(value);
+            retval.setValue(valueBean);
+            retval.setType(customFieldType);
+            return retval;
+        }
+
+        private CustomFieldBaseBean readObjectCustomField(CustomFieldType customFieldType, JsonReader in) throws IOException {
+            switch (customFieldType) {
+                case SELECT:
+                case RADIO:
+                    SingleValueBean singleValueBean = new SingleValueBean();
+                    singleValueBean.setType(customFieldType);
+                    singleValueBean.setValue(valueAdapter.read(in));
+                    return singleValueBean;
+                case USER:
+                    UserSelectBean userSelectBean = new UserSelectBean();
+                    userSelectBean.setType(CustomFieldType.USER);
+                    userSelectBean.getUsers().add(userAdapter.read(in));
+                    return userSelectBean;
+                case PROJECT:
+                    ProjectSelectBean projectSelectBean = new ProjectSelectBean();
+                    projectSelectBean.setType(CustomFieldType.PROJECT);
+                    projectSelectBean.setProject(projectAdapter.read(in));
+                    return projectSelectBean;
+                case CASCADING:
+                    CascadingValueBean cascadingValueBean = new CascadingValueBean();
+                    cascadingValueBean.setType(CustomFieldType.CASCADING);
+                    cascadingValueBean.setValue(valueAdapter.read(in));
+                    return cascadingValueBean;
+                case GROUP:
+                    GroupSelectBean groupSelectBean = new GroupSelectBean();
+                    groupSelectBean.setType(CustomFieldType.GROUP);
+                    groupSelectBean.getGroups().add(valueAdapter.read(in));
+                    return groupSelectBean;
+                case VERSION:
+                    VersionSelectBean versionSelectBean = new VersionSelectBean();
+                    versionSelectBean.setType(CustomFieldType.VERSION);
+                    versionSelectBean.getVersions().add(versionAdapter.read(in));
+                    return versionSelectBean;
+                default:
+                    in.skipValue();
+                    return null;
+            }
+        }
+
+        private CustomFieldBaseBean readArrayCustomField(CustomFieldType customFieldType, JsonReader in) throws IOException {
+            switch (customFieldType) {
+                case LABELS:
+                    MultiValueBean labelsBean = new MultiValueBean();
+                    labelsBean.setType(CustomFieldType.LABELS);
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        ValueBean valueBean = new ValueBean();
+                        valueBean.setValue(in.nextString());
+                        labelsBean.getValues().add(valueBean);
+                    }
+                    in.endArray();
+                    return labelsBean;
+                case MULTISELECT:
+                case CHECKBOX:
+                    MultiValueBean multiValueBean = new MultiValueBean();
+                    multiValueBean.setType(customFieldType);
+                    multiValueBean.setValues(readList(in, valueAdapter));
+                    return multiValueBean;
+                case MULTIUSER:
+                    UserSelectBean userSelectBean = new UserSelectBean();
+                    userSelectBean.setType(CustomFieldType.MULTIUSER);
+                    userSelectBean.setUsers(readList(in, userAdapter));
+                    return userSelectBean;
+                case MULTIVERSION:
+                    VersionSelectBean versionSelectBean = new VersionSelectBean();
+                    versionSelectBean.setType(CustomFieldType.MULTIVERSION);
+                    versionSelectBean.setVersions(readList(in, versionAdapter));
+                    return versionSelectBean;
+                case MULTIGROUP:
+                    GroupSelectBean groupSelectBean = new GroupSelectBean();
+                    groupSelectBean.setType(CustomFieldType.MULTIGROUP);
+                    groupSelectBean.setGroups(readList(in, valueAdapter));
+                    return groupSelectBean;
+                default:
+                    in.skipValue();
+                    return null;
+            }
+        }
+
+        private <E> List<E> readList(JsonReader in, TypeAdapter<E> adapter) throws IOException {
+            List<E> retval = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                retval.add(adapter.read(in));
+            }
+            in.endArray();
+            return retval;
+        }
+    }
+}
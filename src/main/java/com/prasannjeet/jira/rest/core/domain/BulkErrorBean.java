@@ -0,0 +1,43 @@
+package com.prasannjeet.jira.rest.core.domain;
+
+import com.google.gson.annotations.Expose;
+
+/**
+ * The error of one element of a bulk request.
+ */
+public class BulkErrorBean {
+
+    @Expose
+    private Integer status;
+    @Expose
+    private ErrorBean elementErrors;
+    /**
+     * The 0-based index of the element in the request.
+     */
+    @Expose
+    private Integer failedElementNumber;
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public ErrorBean getElementErrors() {
+        return elementErrors;
+    }
+
+    public void setElementErrors(ErrorBean elementErrors) {
+        this.elementErrors = elementErrors;
+    }
+
+    public Integer getFailedElementNumber() {
+        return failedElementNumber;
+    }
+
+    public void setFailedElementNumber(Integer failedElementNumber) {
+        this.failedElementNumber = failedElementNumber;
+    }
+}
@@ -0,0 +1,33 @@
+package com.prasannjeet.jira.rest.core.domain;
+
+import com.google.gson.annotations.Expose;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response of a bulk create. The created issues are in the order of the request, without the failed elements.
+ */
+public class BulkIssueResponse {
+
+    @Expose
+    private List<IssueResponse> issues = new ArrayList<>();
+    @Expose
+    private List<BulkErrorBean> errors = new ArrayList<>();
+
+    public List<IssueResponse> getIssues() {
+        return issues;
+    }
+
+    public void setIssues(List<IssueResponse> issues) {
+        this.issues = issues;
+    }
+
+    public List<BulkErrorBean> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkErrorBean> errors) {
+        this.errors = errors;
+    }
+}
@@ -1,5 +1,7 @@
 package com.prasannjeet.jira.rest.core.domain.customFields;
 
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Created by cschulc on 19.02.16.
@@ -45,4 +47,25 @@ public enum CustomFieldType {
     public boolean isHasAllowedValues() {
         return hasAllowedValues;
     }
+
+    private static final Map<String, CustomFieldType> BY_JIRA_NAME = new HashMap<>();
+
+    static {
+        for (CustomFieldType value : values()) {
+            BY_JIRA_NAME.put(value.jiraName, value);
+        }
+    }
+
+    /**
+     * Returns the type for the custom schema name of a field.
+     *
+     * @param jiraName = the custom schema name, e.g. com.atlassian.jira.plugin.system.customfieldtypes:select
+     * @return the type or null if the name is unknown
+     */
+    public static CustomFieldType fromJiraName(String jiraName) {
+        if (jiraName == null) {
+            return null;
+        }
+        return BY_JIRA_NAME.get(jiraName);
+    }
 }
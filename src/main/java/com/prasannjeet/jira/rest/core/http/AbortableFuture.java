@@ -0,0 +1,58 @@
+package com.prasannjeet.jira.rest.core.http;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Future of a submitted call which aborts the HTTP request when it is cancelled or the deadline is reached.
+ * <p>
+ * A plain Future of the ExecutorService only interrupts the thread, the request would keep its connection
+ * until the server answers.
+ */
+public class AbortableFuture<T> extends CompletableFuture<T> {
+
+    private final RequestHandle handle;
+
+    private volatile Future<?> task;
+
+    public AbortableFuture(RequestHandle handle) {
+        this.handle = handle;
+    }
+
+    public void setTask(Future<?> task) {
+        this.task = task;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled == true) {
+            abortTask(mayInterruptIfRunning);
+        }
+        return cancelled;
+    }
+
+    /**
+     * Fails the future with a TimeoutException and aborts the request, if the call is not yet done.
+     *
+     * @param totalTimeout = the reached deadline in milliseconds
+     */
+    public void timeout(long totalTimeout) {
+        if (completeExceptionally(new TimeoutException("Call did not complete within " + totalTimeout + " ms")) == true) {
+            abortTask(true);
+        }
+    }
+
+    private void abortTask(boolean mayInterruptIfRunning) {
+        handle.abort();
+        Future<?> currentTask = task;
+        if (currentTask != null) {
+            currentTask.cancel(mayInterruptIfRunning);
+        }
+    }
+
+    public RequestHandle getHandle() {
+        return handle;
+    }
+}
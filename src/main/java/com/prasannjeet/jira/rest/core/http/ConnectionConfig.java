@@ -0,0 +1,101 @@
+package com.prasannjeet.jira.rest.core.http;
+
+/**
+ * Settings for the pooled HTTP connections of the JiraRestClient.
+ * <p>
+ * The defaults are sized for an ExecutorService with about 100 threads talking to a single Jira instance.
+ * All time values are in milliseconds.
+ */
+public class ConnectionConfig {
+
+    /**
+     * Maximum number of connections in the pool.
+     */
+    private int maxTotal = 200;
+
+    /**
+     * Maximum number of connections per route (host).
+     */
+    private int maxPerRoute = 100;
+
+    /**
+     * How long a connection is kept alive if the server sends no Keep-Alive header.
+     */
+    private long keepAlive = 30000;
+
+    /**
+     * Connections idle for longer than this are checked before they are leased again. A negative value disables the check.
+     */
+    private int validateAfterInactivity = 2000;
+
+    /**
+     * Connections idle for longer than this are closed by the background evictor.
+     */
+    private long maxIdleTime = 60000;
+
+    /**
+     * Interval of the background evictor. A value &lt;= 0 disables the evictor.
+     */
+    private long evictionInterval = 5000;
+
+    /**
+     * Maximum time to wait for a connection lease from the pool. A negative value waits forever.
+     */
+    private int connectionRequestTimeout = -1;
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public void setMaxTotal(int maxTotal) {
+        this.maxTotal = maxTotal;
+    }
+
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    public void setMaxPerRoute(int maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+    }
+
+    public long getKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(long keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public int getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    public void setValidateAfterInactivity(int validateAfterInactivity) {
+        this.validateAfterInactivity = validateAfterInactivity;
+    }
+
+    public long getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    public void setMaxIdleTime(long maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    public long getEvictionInterval() {
+        return evictionInterval;
+    }
+
+    public void setEvictionInterval(long evictionInterval) {
+        this.evictionInterval = evictionInterval;
+    }
+
+    public int getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(int connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+}
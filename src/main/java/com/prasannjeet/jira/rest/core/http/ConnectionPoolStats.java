@@ -0,0 +1,98 @@
+package com.prasannjeet.jira.rest.core.http;
+
+/**
+ * Snapshot of the connection pool of the JiraRestClient.
+ */
+public class ConnectionPoolStats {
+
+    private final int leased;
+
+    private final int available;
+
+    private final int pending;
+
+    private final int max;
+
+    private final long leaseCount;
+
+    private final long totalLeaseWaitMillis;
+
+    private final long maxLeaseWaitMillis;
+
+    public ConnectionPoolStats(int leased, int available, int pending, int max,
+                               long leaseCount, long totalLeaseWaitMillis, long maxLeaseWaitMillis) {
+        this.leased = leased;
+        this.available = available;
+        this.pending = pending;
+        this.max = max;
+        this.leaseCount = leaseCount;
+        this.totalLeaseWaitMillis = totalLeaseWaitMillis;
+        this.maxLeaseWaitMillis = maxLeaseWaitMillis;
+    }
+
+    /**
+     * @return number of connections currently in use
+     */
+    public int getLeased() {
+        return leased;
+    }
+
+    /**
+     * @return number of idle connections in the pool
+     */
+    public int getAvailable() {
+        return available;
+    }
+
+    /**
+     * @return number of requests waiting for a connection
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * @return maximum number of connections in the pool
+     */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * @return number of leases since the pool was created
+     */
+    public long getLeaseCount() {
+        return leaseCount;
+    }
+
+    /**
+     * @return summed time all leases waited for a connection
+     */
+    public long getTotalLeaseWaitMillis() {
+        return totalLeaseWaitMillis;
+    }
+
+    /**
+     * @return longest time a single lease waited for a connection
+     */
+    public long getMaxLeaseWaitMillis() {
+        return maxLeaseWaitMillis;
+    }
+
+    /**
+     * @return average time a lease waited for a connection
+     */
+    public double getAverageLeaseWaitMillis() {
+        if (leaseCount == 0) {
+            return 0;
+        }
+        return (double) totalLeaseWaitMillis / leaseCount;
+    }
+
+    @Override
+    public String toString() {
+        return "[leased: " + leased + "; pending: " + pending + "; available: " + available + "; max: " + max
+                + "; leases: " + leaseCount + "; avg wait ms: " + getAverageLeaseWaitMillis()
+                + "; max wait ms: " + maxLeaseWaitMillis + "]";
+    }
+}
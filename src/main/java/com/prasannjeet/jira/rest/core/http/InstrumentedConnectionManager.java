@@ -0,0 +1,76 @@
+package com.prasannjeet.jira.rest.core.http;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PoolingHttpClientConnectionManager which measures how long the requests wait for a connection lease.
+ */
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final AtomicLong leaseCount = new AtomicLong();
+
+    private final AtomicLong totalLeaseWaitNanos = new AtomicLong();
+
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+    public InstrumentedConnectionManager(ConnectionConfig config) {
+        super();
+        setMaxTotal(config.getMaxTotal());
+        setDefaultMaxPerRoute(config.getMaxPerRoute());
+        setValidateAfterInactivity(config.getValidateAfterInactivity());
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        final ConnectionRequest connectionRequest = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit tunit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return connectionRequest.get(timeout, tunit);
+                } finally {
+                    recordLeaseWait(System.nanoTime() - start);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return connectionRequest.cancel();
+            }
+        };
+    }
+
+    private void recordLeaseWait(long nanos) {
+        leaseCount.incrementAndGet();
+        totalLeaseWaitNanos.addAndGet(nanos);
+        long max = maxLeaseWaitNanos.get();
+        while (nanos > max && maxLeaseWaitNanos.compareAndSet(max, nanos) == false) {
+            max = maxLeaseWaitNanos.get();
+        }
+    }
+
+    /**
+     * Returns the current state of the pool together with the lease wait times.
+     *
+     * @return ConnectionPoolStats
+     */
+    public ConnectionPoolStats getStats() {
+        PoolStats totalStats = getTotalStats();
+        return new ConnectionPoolStats(totalStats.getLeased(), totalStats.getAvailable(), totalStats.getPending(),
+                totalStats.getMax(), leaseCount.get(),
+                TimeUnit.NANOSECONDS.toMillis(totalLeaseWaitNanos.get()),
+                TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get()));
+    }
+}
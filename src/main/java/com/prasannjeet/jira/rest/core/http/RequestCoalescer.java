@@ -0,0 +1,204 @@
+package com.prasannjeet.jira.rest.core.http;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Shares one in-flight call between concurrent callers with the same key, e.g. identical GET requests.
+ * <p>
+ * The first caller starts the call (a miss), callers arriving while it runs get its result (a hit). Every caller
+ * gets its own future: cancelling it does not affect the other callers, the shared call is cancelled when all of
+ * its callers cancelled. The result is not cached, the next call after completion goes to the server again.
+ * <p>
+ * The callers of a shared call get the same result instance, it must not be modified.
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentMap<String, InFlight<?>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private volatile boolean enabled = true;
+
+    /**
+     * @param key  = identifies identical calls, e.g. method, URI and headers of the request
+     * @param call = starts the call, only invoked if no call with the key is in flight
+     * @return the future of this caller
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> coalesce(String key, Supplier<? extends CompletableFuture<T>> call) {
+        if (enabled == false) {
+            misses.incrementAndGet();
+            return call.get();
+        }
+        while (true) {
+            InFlight<T> current = (InFlight<T>) inFlight.get(key);
+            if (current != null) {
+                CompletableFuture<T> follower = current.join();
+                if (follower != null) {
+                    hits.incrementAndGet();
+                    return follower;
+                }
+                // all callers cancelled or the call just completed
+                inFlight.remove(key, current);
+                continue;
+            }
+            InFlight<T> created = new InFlight<>();
+            if (inFlight.putIfAbsent(key, created) != null) {
+                continue;
+            }
+            misses.incrementAndGet();
+            CompletableFuture<T> leader = created.join();
+            CompletableFuture<T> shared;
+            try {
+                shared = call.get();
+            } catch (RuntimeException e) {
+                inFlight.remove(key, created);
+                created.start(failed(e), () -> { });
+                throw e;
+            }
+            created.start(shared, () -> inFlight.remove(key, created));
+            return leader;
+        }
+    }
+
+    /**
+     * @return number of calls which got the result of a call in flight
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of calls which went to the server
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of shared calls currently in flight
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled = false sends every call to the server, default true
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void resetStats() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "[hits: " + hits.get() + "; misses: " + misses.get() + "; in flight: " + inFlight.size() + "]";
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable throwable) {
+        CompletableFuture<T> retval = new CompletableFuture<>();
+        retval.completeExceptionally(throwable);
+        return retval;
+    }
+
+    /**
+     * A shared call and the number of its callers which did not cancel.
+     */
+    private static final class InFlight<T> {
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private final AtomicInteger callers = new AtomicInteger();
+
+        private volatile CompletableFuture<T> shared;
+
+        /**
+         * @return the future of a new caller, or null if the call can not be joined any more
+         */
+        CompletableFuture<T> join() {
+            while (true) {
+                int count = callers.get();
+                if (count < 0 || result.isDone() == true) {
+                    return null;
+                }
+                if (callers.compareAndSet(count, count + 1) == true) {
+                    return new Caller<>(this);
+                }
+            }
+        }
+
+        /**
+         * @param call   = the shared call
+         * @param onDone = runs when the call is done, before the callers are completed
+         */
+        void start(CompletableFuture<T> call, Runnable onDone) {
+            shared = call;
+            call.whenComplete((value, throwable) -> {
+                onDone.run();
+                if (throwable != null) {
+                    result.completeExceptionally(throwable);
+                } else {
+                    result.complete(value);
+                }
+            });
+            // every caller cancelled before the call was started
+            if (callers.get() < 0) {
+                call.cancel(true);
+            }
+        }
+
+        void leave() {
+            if (callers.decrementAndGet() == 0 && callers.compareAndSet(0, -1) == true) {
+                CompletableFuture<T> call = shared;
+                if (call != null) {
+                    call.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * The future of one caller, completed with the shared result.
+     */
+    private static final class Caller<T> extends CompletableFuture<T> {
+
+        private final InFlight<T> inFlight;
+
+        Caller(InFlight<T> inFlight) {
+            this.inFlight = inFlight;
+            inFlight.result.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    completeExceptionally(throwable instanceof CompletionException
+                            && throwable.getCause() != null ? throwable.getCause() : throwable);
+                } else {
+                    complete(value);
+                }
+            });
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled == true) {
+                inFlight.leave();
+            }
+            return cancelled;
+        }
+    }
+}
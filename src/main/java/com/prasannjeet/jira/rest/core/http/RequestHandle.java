@@ -0,0 +1,77 @@
+package com.prasannjeet.jira.rest.core.http;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import java.io.IOException;
+
+/**
+ * Tracks the HTTP request of a submitted call, so the call can be aborted from another thread.
+ * <p>
+ * A call executes its requests with {@link #execute}. After {@link #abort()} the running request is aborted,
+ * which closes its connection, and every further request fails immediately.
+ */
+public class RequestHandle {
+
+    private final RequestOptions options;
+
+    private final RequestConfig defaultConfig;
+
+    private HttpRequestBase currentRequest;
+
+    private boolean aborted = false;
+
+    public RequestHandle(RequestOptions options, RequestConfig defaultConfig) {
+        this.options = options;
+        this.defaultConfig = defaultConfig;
+    }
+
+    /**
+     * Executes the request with the timeouts of the options. The request is aborted if the handle is aborted.
+     *
+     * @param client  = the client
+     * @param request = the request
+     * @param context = the execution context
+     * @return the response
+     * @throws IOException if the request fails or was aborted
+     */
+    public CloseableHttpResponse execute(CloseableHttpClient client, HttpRequestBase request, HttpClientContext context)
+            throws IOException {
+        if (options != null) {
+            RequestConfig base = request.getConfig() != null ? request.getConfig() : defaultConfig;
+            request.setConfig(options.toRequestConfig(base));
+        }
+        synchronized (this) {
+            currentRequest = request;
+            if (aborted == true) {
+                request.abort();
+            }
+        }
+        return client.execute(request, context);
+    }
+
+    /**
+     * Aborts the running request and all further requests of the call.
+     */
+    public void abort() {
+        HttpRequestBase request;
+        synchronized (this) {
+            aborted = true;
+            request = currentRequest;
+        }
+        if (request != null) {
+            request.abort();
+        }
+    }
+
+    public synchronized boolean isAborted() {
+        return aborted;
+    }
+
+    public RequestOptions getOptions() {
+        return options;
+    }
+}
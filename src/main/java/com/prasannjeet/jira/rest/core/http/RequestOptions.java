@@ -0,0 +1,88 @@
+package com.prasannjeet.jira.rest.core.http;
+
+import org.apache.http.client.config.RequestConfig;
+
+/**
+ * Timeouts for a single call. All values are in milliseconds, a value &lt;= 0 keeps the default of the client.
+ * <p>
+ * The connect and socket timeouts are passed to the HttpClient. The total timeout is a deadline for the whole call,
+ * including the time the call waits for a free thread and connection. When it is reached the HTTP request is aborted
+ * and the future fails with a TimeoutException.
+ */
+public class RequestOptions {
+
+    private int connectTimeout = -1;
+
+    private int socketTimeout = -1;
+
+    private int connectionRequestTimeout = -1;
+
+    private long totalTimeout = -1;
+
+    public RequestOptions() {
+    }
+
+    /**
+     * Creates options with a deadline for the whole call.
+     *
+     * @param totalTimeout = the deadline in milliseconds
+     * @return the RequestOptions
+     */
+    public static RequestOptions withTotalTimeout(long totalTimeout) {
+        RequestOptions options = new RequestOptions();
+        options.setTotalTimeout(totalTimeout);
+        return options;
+    }
+
+    /**
+     * Returns the configuration for the request, based on the configuration of the request or the client.
+     *
+     * @param base = the current configuration
+     * @return the RequestConfig with the timeouts of these options
+     */
+    public RequestConfig toRequestConfig(RequestConfig base) {
+        RequestConfig.Builder builder = base == null ? RequestConfig.custom() : RequestConfig.copy(base);
+        if (connectTimeout > 0) {
+            builder.setConnectTimeout(connectTimeout);
+        }
+        if (socketTimeout > 0) {
+            builder.setSocketTimeout(socketTimeout);
+        }
+        if (connectionRequestTimeout > 0) {
+            builder.setConnectionRequestTimeout(connectionRequestTimeout);
+        }
+        return builder.build();
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public void setSocketTimeout(int socketTimeout) {
+        this.socketTimeout = socketTimeout;
+    }
+
+    public int getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(int connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    public long getTotalTimeout() {
+        return totalTimeout;
+    }
+
+    public void setTotalTimeout(long totalTimeout) {
+        this.totalTimeout = totalTimeout;
+    }
+}
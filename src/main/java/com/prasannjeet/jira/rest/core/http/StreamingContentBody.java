@@ -0,0 +1,126 @@
+package com.prasannjeet.jira.rest.core.http;
+
+import com.prasannjeet.jira.rest.core.util.ByteBufferPool;
+import org.apache.commons.lang3.Validate;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.MIME;
+import org.apache.http.entity.mime.content.AbstractContentBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file part of a multipart request which is copied from its source while the request is sent, with a pooled
+ * buffer instead of the whole content in memory.
+ * <p>
+ * A part with an unknown length is sent with chunked transfer encoding. A part of a file can be sent again, a part
+ * of a stream or channel only once.
+ */
+public class StreamingContentBody extends AbstractContentBody {
+
+    /**
+     * Opens the source of the content.
+     */
+    private interface Source {
+
+        ReadableByteChannel open() throws IOException;
+    }
+
+    private final String filename;
+
+    private final Source source;
+
+    private final long length;
+
+    private final boolean repeatable;
+
+    private boolean written = false;
+
+    private StreamingContentBody(String filename, Source source, long length, boolean repeatable) {
+        super(ContentType.DEFAULT_BINARY);
+        Validate.notEmpty(filename);
+        this.filename = filename;
+        this.source = source;
+        this.length = length;
+        this.repeatable = repeatable;
+    }
+
+    /**
+     * @param file = the file, the name of the file is the name of the attachment
+     * @return the part of the file
+     */
+    public static StreamingContentBody of(final Path file) throws IOException {
+        Validate.notNull(file);
+        return new StreamingContentBody(file.getFileName().toString(),
+                () -> FileChannel.open(file, StandardOpenOption.READ), Files.size(file), true);
+    }
+
+    /**
+     * @param filename = the name of the attachment
+     * @param content  = the content, it is not closed
+     * @param length   = the number of bytes of the content, or -1 if it is unknown
+     * @return the part of the stream
+     */
+    public static StreamingContentBody of(String filename, final InputStream content, long length) {
+        Validate.notNull(content);
+        return new StreamingContentBody(filename, () -> Channels.newChannel(content), length, false);
+    }
+
+    /**
+     * @param filename = the name of the attachment
+     * @param content  = the content, it is not closed
+     * @param length   = the number of bytes of the content, or -1 if it is unknown
+     * @return the part of the channel
+     */
+    public static StreamingContentBody of(String filename, final ReadableByteChannel content, long length) {
+        Validate.notNull(content);
+        return new StreamingContentBody(filename, () -> content, length, false);
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        synchronized (this) {
+            if (repeatable == false && written == true) {
+                throw new IOException("The content of " + filename + " can only be sent once");
+            }
+            written = true;
+        }
+        ReadableByteChannel channel = source.open();
+        try {
+            long copied = ByteBufferPool.shared().copy(channel, Channels.newChannel(out));
+            if (length >= 0 && copied != length) {
+                throw new IOException("Sent " + copied + " of " + length + " bytes of " + filename);
+            }
+        } finally {
+            if (repeatable == true) {
+                channel.close();
+            }
+        }
+    }
+
+    @Override
+    public String getTransferEncoding() {
+        return MIME.ENC_BINARY;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    public boolean isRepeatable() {
+        return repeatable;
+    }
+}
@@ -190,6 +190,15 @@ public enum EField {
      */
     ISSUE_KEY("issueKey", EFieldType.ISSUE),
 
+    /**
+     * Issues with a particular Issue ID. The ids grow with every created issue, so they give a stable sort order.
+     * <p>Examples:
+     * <ol>
+     * <li>id &gt; 10000 order by id asc
+     * </ol>
+     */
+    ID("id", EFieldType.ISSUE),
+
     /**
      * Issues that were last viewed on, before or after a particular date (or date range).
      * <p>Use one of the following formats:
@@ -45,28 +45,28 @@ public enum EOperator {
      * Cannot be used with text fields. Note that the "&gt;" operator can only be used with fields which support ordering
      * (e.g. date fields and version fields). To see a field's supported operators, check the individual field reference.
      */
-    GREATER_THAN("&gt;"),
+    GREATER_THAN(">"),
 
     /**
      * The "&gt;=" operator is used to search for issues where the value of the specified field is greater than or equal to the
      * specified value. Cannot be used with text fields. Note that the "&gt;=" operator can only be used with fields which support
      * ordering (e.g. date fields and version fields). To see a field's supported operators, check the individual field reference.
      */
-    GREATER_THAN_EQUALS("&gt;="),
+    GREATER_THAN_EQUALS(">="),
 
     /**
      * The "&lt;" operator is used to search for issues where the value of the specified field is less than the specified value.
      * Cannot be used with text fields.Note that the "&lt;" operator can only be used with fields which support ordering (e.g. date fields and version fields).
      * To see a field's supported operators, check the individual field reference.
      */
-    LESS_THAN("&lt;"),
+    LESS_THAN("<"),
 
     /**
      * The "&lt;=" operator is used to search for issues where the value of the specified field is less than or equal to than the
      * specified value. Cannot be used with text fields. Note that the "&lt;=" operator can only be used with fields which support
      * ordering (e.g. date fields and version fields). To see a field's supported operators, check the individual field reference.
      */
-    LESS_THAN_EQUALS("&lt;="),
+    LESS_THAN_EQUALS("<="),
 
     /**
      * The "IN" operator is used to search for issues where the value of the specified field is one of multiple specified values. The
@@ -22,16 +22,17 @@ import org.apache.commons.lang3.StringUtils;
  * <p></p>
  * <p>JQL condition = ( field + operator + operand ) + JqlKeyword + ...</p>
  * <p>Example: ( PROJECT = DEMO ) + AND ...</p>
+ * <p>The request is returned as String, as JqlStatement or in canonical form.</p>
  *
  * @author Christian Schulze
  * @author Vitali Filippow
  */
 public class JqlBuilder {
 
-    private StringBuffer jql;
+    private StringBuilder jql;
 
     public JqlBuilder() {
-        jql = new StringBuffer();
+        jql = new StringBuilder();
     }
 
     public JqlKeyword addCondition(EField field, EOperator operator, String... operand) {
@@ -103,5 +104,26 @@ public class JqlBuilder {
             clear();
             return request;
         }
+
+        /**
+         * Return the request as immutable JqlStatement and clear the buffer.
+         *
+         * @return the parsed request
+         * @throws JqlParseException if the request is not valid JQL
+         */
+        public JqlStatement buildStatement() {
+            return JqlParser.parseJql(build());
+        }
+
+        /**
+         * Return the request in the canonical form of the JqlCanonicalizer and clear the buffer.
+         * Semantically identical requests return the same String, e.g. for cache keys.
+         *
+         * @return the canonical request
+         * @throws JqlParseException if the request is not valid JQL
+         */
+        public String buildCanonical() {
+            return JqlCanonicalizer.canonicalize(buildStatement()).toString();
+        }
     }
 }
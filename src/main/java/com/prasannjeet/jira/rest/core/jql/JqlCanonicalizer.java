@@ -0,0 +1,120 @@
+package com.prasannjeet.jira.rest.core.jql;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rewrites JQL into a canonical form, so semantically identical queries get the same string.
+ * <p>
+ * Field names, keywords and function names are lowercased and field aliases are replaced, e.g. type by issuetype.
+ * Nested AND and OR are flattened, the operands of AND, OR and IN are sorted and deduplicated, IN with one
+ * value becomes =, double negations are removed and the whitespace and quoting are normalized. Values and the
+ * ORDER BY sequence are kept as they are.
+ * <p>
+ * The canonical form is meant as key for caches, de-duplication and metrics.
+ */
+public final class JqlCanonicalizer {
+
+    private static final Map<String, String> ALIASES = new HashMap<>();
+
+    static {
+        ALIASES.put("type", "issuetype");
+        ALIASES.put("issuekey", "key");
+        ALIASES.put("createddate", "created");
+        ALIASES.put("updateddate", "updated");
+        ALIASES.put("resolutiondate", "resolved");
+        ALIASES.put("duedate", "due");
+    }
+
+    private static final Comparator<JqlNode> NODES = Comparator.comparing(JqlNode::toString);
+
+    private static final Comparator<JqlOperand> OPERANDS = Comparator.comparing(JqlOperand::getType)
+            .thenComparing(JqlOperand::getValue)
+            .thenComparing(operand -> operand.getArguments().toString());
+
+    private JqlCanonicalizer() {
+    }
+
+    /**
+     * @param jql = the JQL, may be null
+     * @return the canonical JQL, or the trimmed JQL if it can not be parsed
+     */
+    public static String canonicalize(String jql) {
+        if (jql == null) {
+            return "";
+        }
+        try {
+            return canonicalize(JqlParser.parseJql(jql)).toString();
+        } catch (JqlParseException e) {
+            return jql.trim();
+        }
+    }
+
+    /**
+     * @param statement = the statement
+     * @return the canonical statement
+     */
+    public static JqlStatement canonicalize(JqlStatement statement) {
+        List<JqlSort> orderBy = new ArrayList<>();
+        for (JqlSort sort : statement.getOrderBy()) {
+            orderBy.add(new JqlSort(field(sort.getField()), sort.getOrder()));
+        }
+        JqlNode where = statement.getWhere() != null ? canonicalize(statement.getWhere()) : null;
+        return new JqlStatement(where, orderBy);
+    }
+
+    /**
+     * @param node = the condition
+     * @return the canonical condition
+     */
+    public static JqlNode canonicalize(JqlNode node) {
+        if (node instanceof JqlNot) {
+            JqlNode inner = canonicalize(((JqlNot) node).getNode());
+            return inner instanceof JqlNot ? ((JqlNot) inner).getNode() : new JqlNot(inner);
+        }
+        if (node instanceof JqlJunction) {
+            JqlJunction junction = (JqlJunction) node;
+            Set<JqlNode> nodes = new LinkedHashSet<>();
+            for (JqlNode child : junction.getNodes()) {
+                JqlNode canonical = canonicalize(child);
+                if (canonical instanceof JqlJunction
+                        && ((JqlJunction) canonical).getKeyword() == junction.getKeyword()) {
+                    nodes.addAll(((JqlJunction) canonical).getNodes());
+                } else {
+                    nodes.add(canonical);
+                }
+            }
+            List<JqlNode> sorted = new ArrayList<>(nodes);
+            sorted.sort(NODES);
+            return sorted.size() == 1 ? sorted.get(0) : new JqlJunction(junction.getKeyword(), sorted);
+        }
+        JqlClause clause = (JqlClause) node;
+        Set<JqlOperand> operands = new LinkedHashSet<>();
+        for (JqlOperand operand : clause.getOperands()) {
+            operands.add(operand.getType() == JqlOperand.Type.FUNCTION
+                    ? JqlOperand.function(operand.getValue().toLowerCase(Locale.ROOT), operand.getArguments())
+                    : operand);
+        }
+        List<JqlOperand> sorted = new ArrayList<>(operands);
+        EOperator operator = clause.getOperator();
+        if (clause.isList() == true) {
+            sorted.sort(OPERANDS);
+            // a function in an IN clause returns a list, it can not become =
+            if (sorted.size() == 1 && sorted.get(0).getType() == JqlOperand.Type.VALUE) {
+                operator = operator == EOperator.IN ? EOperator.EQUALS : EOperator.NOT_EQUALS;
+            }
+        }
+        return new JqlClause(field(clause.getField()), operator, sorted);
+    }
+
+    private static String field(String field) {
+        String retval = field.toLowerCase(Locale.ROOT);
+        return ALIASES.getOrDefault(retval, retval);
+    }
+}
@@ -0,0 +1,91 @@
+package com.prasannjeet.jira.rest.core.jql;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A JQL condition <code>field operator operand</code>, e.g. <code>status in (Open, "In Progress")</code>.
+ * Instances are immutable.
+ */
+public final class JqlClause implements JqlNode {
+
+    private final String field;
+
+    private final EOperator operator;
+
+    private final List<JqlOperand> operands;
+
+    /**
+     * @param field    = the field as written in the JQL, e.g. project or cf[10000]
+     * @param operator = the operator
+     * @param operands = one operand, or the list of IN and NOT IN
+     */
+    public JqlClause(String field, EOperator operator, List<JqlOperand> operands) {
+        Validate.notEmpty(field);
+        Validate.notNull(operator);
+        Validate.notEmpty(operands);
+        this.field = field;
+        this.operator = operator;
+        this.operands = Collections.unmodifiableList(new ArrayList<>(operands));
+    }
+
+    public JqlClause(String field, EOperator operator, JqlOperand operand) {
+        this(field, operator, Collections.singletonList(operand));
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public EOperator getOperator() {
+        return operator;
+    }
+
+    public List<JqlOperand> getOperands() {
+        return operands;
+    }
+
+    /**
+     * @return true for IN and NOT IN, their operands are written as list
+     */
+    public boolean isList() {
+        return operator == EOperator.IN || operator == EOperator.NOT_IN;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JqlClause that = (JqlClause) o;
+        return field.equals(that.field) && operator == that.operator && operands.equals(that.operands);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(field, operator, operands);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder retval = new StringBuilder(JqlOperand.quoteField(field)).append(' ').append(operator).append(' ');
+        if (isList() == true) {
+            retval.append('(');
+            for (int i = 0; i < operands.size(); i++) {
+                if (i > 0) {
+                    retval.append(", ");
+                }
+                retval.append(operands.get(i));
+            }
+            return retval.append(')').toString();
+        }
+        return retval.append(operands.get(0)).toString();
+    }
+}
@@ -0,0 +1,732 @@
+package com.prasannjeet.jira.rest.core.jql;
+
+import com.prasannjeet.jira.rest.core.domain.BaseBean;
+import com.prasannjeet.jira.rest.core.domain.CommentBean;
+import com.prasannjeet.jira.rest.core.domain.FieldsBean;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.ProjectBean;
+import com.prasannjeet.jira.rest.core.domain.ResolutionBean;
+import com.prasannjeet.jira.rest.core.domain.UserBean;
+import com.prasannjeet.jira.rest.core.util.DateParser;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles parsed JQL into a Predicate and a Comparator over IssueBeans, so cached or mirrored issues can be
+ * searched without a request to Jira.
+ * <p>
+ * Supported fields: project, status, priority, resolution, issuetype/type, assignee, reporter, creator,
+ * labels, component, fixVersion, affectedVersion, key/issueKey, id, parent, summary, description, environment,
+ * comment, text, created, updated, resolved, due, votes, watchers, workRatio, timeSpent, originalEstimate and
+ * remainingEstimate, with the operators and functions currentUser(), now(), startOfDay(), endOfDay() which apply
+ * to them. Names are compared case insensitive against the name and id (users also the display name and email).
+ * <p>
+ * Differences to Jira: <code>~</code> matches if every word of the operand is contained in the text, without
+ * stemming. Dates in the JQL are interpreted in the configured time zone, <code>=</code> matches the whole day or
+ * minute of the date. Every other field, custom fields and the history operators throw an
+ * UnsupportedOperationException when compiled.
+ * <p>
+ * Instances are thread safe.
+ */
+public class JqlEvaluator {
+
+    private static final DateTimeFormatter[] DATE_TIMES = {
+            DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+    };
+
+    private static final DateTimeFormatter[] DATES = {
+            DateTimeFormatter.ofPattern("yyyy/MM/dd"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd")
+    };
+
+    private static final Pattern RELATIVE = Pattern.compile("([+-]?\\d+)([wdhm])");
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+)([wdhm])");
+
+    private static final Pattern KEY = Pattern.compile("([A-Za-z][A-Za-z0-9_]*)-(\\d+)");
+
+    private static final FieldsBean EMPTY_FIELDS = new FieldsBean();
+
+    private static final Map<String, Field> FIELDS = new HashMap<>();
+
+    static {
+        field(Kind.NAMED, issue -> project(fields(issue).getProject()), "project");
+        field(Kind.NAMED, issue -> named(fields(issue).getStatus()), "status");
+        field(Kind.NAMED, issue -> named(fields(issue).getPriority()), "priority");
+        field(Kind.NAMED, issue -> resolution(fields(issue).getResolution()), "resolution");
+        field(Kind.NAMED, issue -> named(fields(issue).getIssuetype()), "issuetype", "type");
+        field(Kind.NAMED, issue -> user(fields(issue).getAssignee()), "assignee");
+        field(Kind.NAMED, issue -> user(fields(issue).getReporter()), "reporter");
+        field(Kind.NAMED, issue -> user(fields(issue).getCreator()), "creator");
+        field(Kind.NAMED, issue -> labels(fields(issue).getLabels()), "labels");
+        field(Kind.NAMED, issue -> named(fields(issue).getComponents()), "component");
+        field(Kind.NAMED, issue -> named(fields(issue).getFixVersions()), "fixversion");
+        field(Kind.NAMED, issue -> named(fields(issue).getVersions()), "affectedversion");
+        field(Kind.KEY, issue -> key(issue), "key", "issuekey");
+        field(Kind.KEY, issue -> key(fields(issue).getParent()), "parent");
+        field(Kind.NUMBER, issue -> number(issue.getId()), "id");
+        field(Kind.TEXT, issue -> text(fields(issue).getSummary()), "summary");
+        field(Kind.TEXT, issue -> text(fields(issue).getDescription()), "description");
+        field(Kind.TEXT, issue -> text(fields(issue).getEnvironment()), "environment");
+        field(Kind.TEXT, issue -> comments(fields(issue)), "comment");
+        field(Kind.TEXT, issue -> {
+            List<Object> retval = new ArrayList<>();
+            retval.addAll(text(fields(issue).getSummary()));
+            retval.addAll(text(fields(issue).getDescription()));
+            retval.addAll(text(fields(issue).getEnvironment()));
+            retval.addAll(comments(fields(issue)));
+            return retval;
+        }, "text");
+        field(Kind.DATE, issue -> timestamp(fields(issue).getCreated()), "created", "createddate");
+        field(Kind.DATE, issue -> timestamp(fields(issue).getUpdated()), "updated", "updateddate");
+        field(Kind.DATE, issue -> timestamp(fields(issue).getResolutiondate()), "resolved", "resolutiondate");
+        field(Kind.DATE, issue -> Collections.singletonList(fields(issue).getDuedate()), "due", "duedate");
+        field(Kind.NUMBER, issue -> number(fields(issue).getVotes() != null
+                ? fields(issue).getVotes().getVotes() : null), "votes");
+        field(Kind.NUMBER, issue -> number(fields(issue).getWatches() != null
+                ? fields(issue).getWatches().getWatchCount() : null), "watchers");
+        field(Kind.NUMBER, issue -> number(fields(issue).getWorkratio()), "workratio");
+        field(Kind.DURATION, issue -> number(fields(issue).getTimespent()), "timespent");
+        field(Kind.DURATION, issue -> number(fields(issue).getTimeoriginalestimate()), "originalestimate");
+        field(Kind.DURATION, issue -> number(fields(issue).getTimeestimate()), "remainingestimate");
+    }
+
+    private final ZoneId zoneId;
+
+    private final String currentUser;
+
+    private final Clock clock;
+
+    /**
+     * @param zoneId      = the time zone of the Jira user, used for the dates in the JQL and the due date
+     * @param currentUser = the name of the user for currentUser(), or null if not supported
+     */
+    public JqlEvaluator(ZoneId zoneId, String currentUser) {
+        this(zoneId, currentUser, Clock.system(zoneId));
+    }
+
+    /**
+     * @param zoneId      = the time zone of the Jira user, used for the dates in the JQL and the due date
+     * @param currentUser = the name of the user for currentUser(), or null if not supported
+     * @param clock       = the clock for now() and relative dates
+     */
+    public JqlEvaluator(ZoneId zoneId, String currentUser, Clock clock) {
+        Validate.notNull(zoneId);
+        Validate.notNull(clock);
+        this.zoneId = zoneId;
+        this.currentUser = currentUser;
+        this.clock = clock;
+    }
+
+    /**
+     * Filters and sorts the issues like a search in Jira.
+     *
+     * @param issues = the issues
+     * @param jql    = the JQL
+     * @return the matching issues, sorted by the ORDER BY of the JQL or in the order of the given issues
+     * @throws JqlParseException             if the JQL is invalid
+     * @throws UnsupportedOperationException if the JQL uses fields or operators which are not supported
+     */
+    public List<IssueBean> search(Collection<IssueBean> issues, String jql) {
+        JqlStatement statement = JqlParser.parseJql(jql);
+        Predicate<IssueBean> predicate = compile(statement.getWhere());
+        List<IssueBean> retval = new ArrayList<>();
+        for (IssueBean issue : issues) {
+            if (predicate.test(issue) == true) {
+                retval.add(issue);
+            }
+        }
+        Comparator<IssueBean> comparator = compile(statement.getOrderBy());
+        if (comparator != null) {
+            retval.sort(comparator);
+        }
+        return retval;
+    }
+
+    /**
+     * @param statement = the statement
+     * @return true if the condition and ORDER BY can be compiled
+     */
+    public boolean isSupported(JqlStatement statement) {
+        try {
+            compile(statement.getWhere());
+            compile(statement.getOrderBy());
+            return true;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param node = the condition, or null for all issues
+     * @return the Predicate
+     * @throws UnsupportedOperationException if the condition uses fields or operators which are not supported
+     */
+    public Predicate<IssueBean> compile(JqlNode node) {
+        if (node == null) {
+            return issue -> true;
+        }
+        if (node instanceof JqlNot) {
+            return compile(((JqlNot) node).getNode()).negate();
+        }
+        if (node instanceof JqlJunction) {
+            JqlJunction junction = (JqlJunction) node;
+            List<Predicate<IssueBean>> predicates = new ArrayList<>();
+            for (JqlNode child : junction.getNodes()) {
+                predicates.add(compile(child));
+            }
+            if (junction.getKeyword() == EKeyword.AND) {
+                return issue -> {
+                    for (Predicate<IssueBean> predicate : predicates) {
+                        if (predicate.test(issue) == false) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+            return issue -> {
+                for (Predicate<IssueBean> predicate : predicates) {
+                    if (predicate.test(issue) == true) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        return compile((JqlClause) node);
+    }
+
+    /**
+     * @param orderBy = the sort fields
+     * @return the Comparator, or null if orderBy is empty
+     * @throws UnsupportedOperationException if a field is not supported
+     */
+    public Comparator<IssueBean> compile(List<JqlSort> orderBy) {
+        Comparator<IssueBean> retval = null;
+        for (JqlSort sort : orderBy) {
+            Field field = field(sort.getField());
+            Comparator<IssueBean> comparator = Comparator.comparing(issue -> sortKey(field, issue),
+                    Comparator.nullsLast(Comparator.<Comparable<Object>>naturalOrder()));
+            // dates are sorted newest first by default like in Jira
+            SortOrder order = sort.getOrder() != null ? sort.getOrder()
+                    : field.kind == Kind.DATE ? SortOrder.DESC : SortOrder.ASC;
+            if (order == SortOrder.DESC) {
+                comparator = comparator.reversed();
+            }
+            retval = retval == null ? comparator : retval.thenComparing(comparator);
+        }
+        return retval;
+    }
+
+    /**
+     * Resolves a date operand, e.g. "2024/01/31", "2024-01-31 12:00", -1d or now().
+     *
+     * @param operand = the operand
+     * @return the date in epoch milliseconds
+     * @throws UnsupportedOperationException if the operand is not a supported date
+     */
+    public long toEpochMillis(JqlOperand operand) {
+        return resolveDate(operand)[0];
+    }
+
+    private Predicate<IssueBean> compile(JqlClause clause) {
+        Field field = field(clause.getField());
+        EOperator operator = clause.getOperator();
+        switch (operator) {
+            case IS:
+            case IS_NOT:
+                return emptyPredicate(field, operator == EOperator.IS);
+            case EQUALS:
+            case NOT_EQUALS:
+                if (clause.getOperands().get(0).getType() == JqlOperand.Type.EMPTY) {
+                    return emptyPredicate(field, operator == EOperator.EQUALS);
+                }
+                break;
+            default:
+                break;
+        }
+        List<Predicate<Object>> matchers = new ArrayList<>();
+        boolean matchesEmpty = false;
+        for (JqlOperand operand : clause.getOperands()) {
+            if (operand.getType() == JqlOperand.Type.EMPTY) {
+                matchesEmpty = true;
+            } else {
+                matchers.add(matcher(field, operator, operand, clause));
+            }
+        }
+        boolean negated = operator == EOperator.NOT_EQUALS || operator == EOperator.NOT_IN
+                || operator == EOperator.DOES_NOT_CONTAIN;
+        boolean empty = matchesEmpty;
+        return issue -> {
+            List<Object> values = field.values.apply(issue);
+            if (values.isEmpty() == true) {
+                // like in Jira a negated condition does not match empty fields
+                return negated == false && empty == true;
+            }
+            boolean any = false;
+            for (Object value : values) {
+                for (Predicate<Object> matcher : matchers) {
+                    if (matcher.test(value) == true) {
+                        any = true;
+                        break;
+                    }
+                }
+                if (any == true) {
+                    break;
+                }
+            }
+            return negated == true ? any == false : any;
+        };
+    }
+
+    private Predicate<Object> matcher(Field field, EOperator operator, JqlOperand operand, JqlClause clause) {
+        switch (field.kind) {
+            case NAMED:
+                if (operator == EOperator.EQUALS || operator == EOperator.NOT_EQUALS
+                        || operator == EOperator.IN || operator == EOperator.NOT_IN) {
+                    String expected = resolveName(operand, clause);
+                    return value -> {
+                        for (String alias : (String[]) value) {
+                            if (expected.equalsIgnoreCase(alias) == true) {
+                                return true;
+                            }
+                        }
+                        return false;
+                    };
+                }
+                break;
+            case KEY:
+                String key = resolveValue(operand, clause).toUpperCase(Locale.ROOT);
+                if (operator == EOperator.EQUALS || operator == EOperator.NOT_EQUALS
+                        || operator == EOperator.IN || operator == EOperator.NOT_IN) {
+                    return value -> key.equals(((String[]) value)[0]) || key.equals(((String[]) value)[1]);
+                }
+                Matcher matcher = KEY.matcher(key);
+                if (matcher.matches() == true) {
+                    IssueKey expected = new IssueKey(matcher.group(1), Long.parseLong(matcher.group(2)));
+                    return value -> {
+                        IssueKey actual = IssueKey.parse(((String[]) value)[0]);
+                        return actual != null && actual.project.equals(expected.project)
+                                && compare(operator, Long.compare(actual.number, expected.number));
+                    };
+                }
+                break;
+            case TEXT:
+                if (operator == EOperator.CONTAINS || operator == EOperator.DOES_NOT_CONTAIN) {
+                    List<String> terms = terms(resolveValue(operand, clause));
+                    return value -> {
+                        String text = ((String) value).toLowerCase(Locale.ROOT);
+                        for (String term : terms) {
+                            if (text.contains(term) == false) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    };
+                }
+                break;
+            case DATE:
+                long[] date = resolveDate(operand);
+                return value -> {
+                    Long actual = toEpochMillis(value);
+                    if (actual == null) {
+                        return false;
+                    }
+                    if (operator == EOperator.EQUALS || operator == EOperator.NOT_EQUALS
+                            || operator == EOperator.IN || operator == EOperator.NOT_IN) {
+                        return actual >= date[0] && actual < date[0] + date[1];
+                    }
+                    return compare(operator, Long.compare(actual, date[0]));
+                };
+            case NUMBER:
+            case DURATION:
+                String text = resolveValue(operand, clause);
+                long expected = field.kind == Kind.DURATION ? parseDuration(text, clause) : parseNumber(text, clause);
+                if (operator == EOperator.EQUALS || operator == EOperator.NOT_EQUALS
+                        || operator == EOperator.IN || operator == EOperator.NOT_IN) {
+                    return value -> (Long) value == expected;
+                }
+                return value -> compare(operator, Long.compare((Long) value, expected));
+            default:
+                break;
+        }
+        throw new UnsupportedOperationException("The operator " + operator + " is not supported for "
+                + clause.getField());
+    }
+
+    private static boolean compare(EOperator operator, int comparison) {
+        switch (operator) {
+            case GREATER_THAN:
+                return comparison > 0;
+            case GREATER_THAN_EQUALS:
+                return comparison >= 0;
+            case LESS_THAN:
+                return comparison < 0;
+            case LESS_THAN_EQUALS:
+                return comparison <= 0;
+            default:
+                throw new UnsupportedOperationException("The operator " + operator + " is not supported");
+        }
+    }
+
+    private static Predicate<IssueBean> emptyPredicate(Field field, boolean empty) {
+        return issue -> field.values.apply(issue).isEmpty() == empty;
+    }
+
+    private String resolveName(JqlOperand operand, JqlClause clause) {
+        if (operand.getType() == JqlOperand.Type.FUNCTION
+                && operand.getValue().equalsIgnoreCase("currentUser") == true && currentUser != null) {
+            return currentUser;
+        }
+        return resolveValue(operand, clause);
+    }
+
+    private static String resolveValue(JqlOperand operand, JqlClause clause) {
+        if (operand.getType() != JqlOperand.Type.VALUE) {
+            throw new UnsupportedOperationException("The operand " + operand + " is not supported for "
+                    + clause.getField());
+        }
+        return operand.getValue();
+    }
+
+    /**
+     * @return the date in epoch milliseconds and the length of the period it stands for
+     */
+    private long[] resolveDate(JqlOperand operand) {
+        if (operand.getType() == JqlOperand.Type.FUNCTION && operand.getArguments().isEmpty() == true) {
+            long now = clock.millis();
+            LocalDate today = LocalDate.now(clock.withZone(zoneId));
+            switch (operand.getValue().toLowerCase(Locale.ROOT)) {
+                case "now":
+                    return new long[]{now, TimeUnit.MINUTES.toMillis(1)};
+                case "startofday":
+                    return new long[]{today.atStartOfDay(zoneId).toInstant().toEpochMilli(), TimeUnit.DAYS.toMillis(1)};
+                case "endofday":
+                    return new long[]{today.plusDays(1).atStartOfDay(zoneId).toInstant().toEpochMilli() - 1, 1};
+                default:
+                    break;
+            }
+        } else if (operand.getType() == JqlOperand.Type.VALUE) {
+            String value = operand.getValue().trim();
+            Matcher relative = RELATIVE.matcher(value);
+            if (relative.matches() == true) {
+                long amount = Long.parseLong(relative.group(1));
+                return new long[]{clock.millis() + amount * unitMillis(relative.group(2).charAt(0)),
+                        TimeUnit.MINUTES.toMillis(1)};
+            }
+            for (DateTimeFormatter format : DATE_TIMES) {
+                try {
+                    return new long[]{LocalDateTime.parse(value, format).atZone(zoneId).toInstant().toEpochMilli(),
+                            TimeUnit.MINUTES.toMillis(1)};
+                } catch (DateTimeParseException e) {
+                    // try the next format
+                }
+            }
+            for (DateTimeFormatter format : DATES) {
+                try {
+                    return new long[]{LocalDate.parse(value, format).atStartOfDay(zoneId).toInstant().toEpochMilli(),
+                            TimeUnit.DAYS.toMillis(1)};
+                } catch (DateTimeParseException e) {
+                    // try the next format
+                }
+            }
+        }
+        throw new UnsupportedOperationException("The date " + operand + " is not supported");
+    }
+
+    private static long unitMillis(char unit) {
+        switch (unit) {
+            case 'w':
+                return TimeUnit.DAYS.toMillis(7);
+            case 'd':
+                return TimeUnit.DAYS.toMillis(1);
+            case 'h':
+                return TimeUnit.HOURS.toMillis(1);
+            default:
+                return TimeUnit.MINUTES.toMillis(1);
+        }
+    }
+
+    private static long parseNumber(String value, JqlClause clause) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new UnsupportedOperationException("The value " + value + " is not a number for " + clause.getField());
+        }
+    }
+
+    /**
+     * Parses a duration like "1w 2d 4h 30m" with the Jira defaults of 8 hours per day and 5 days per week.
+     * A plain number is minutes.
+     *
+     * @return the duration in seconds
+     */
+    private static long parseDuration(String value, JqlClause clause) {
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+        if (StringUtils.isNumeric(trimmed) == true) {
+            return Long.parseLong(trimmed) * 60;
+        }
+        Matcher matcher = DURATION.matcher(trimmed);
+        long retval = 0;
+        int end = 0;
+        while (matcher.find() == true) {
+            if (trimmed.substring(end, matcher.start()).trim().isEmpty() == false) {
+                break;
+            }
+            long amount = Long.parseLong(matcher.group(1));
+            switch (matcher.group(2).charAt(0)) {
+                case 'w':
+                    retval += amount * 5 * 8 * 3600;
+                    break;
+                case 'd':
+                    retval += amount * 8 * 3600;
+                    break;
+                case 'h':
+                    retval += amount * 3600;
+                    break;
+                default:
+                    retval += amount * 60;
+                    break;
+            }
+            end = matcher.end();
+        }
+        if (end == 0 || end != trimmed.length()) {
+            throw new UnsupportedOperationException("The value " + value + " is not a duration for "
+                    + clause.getField());
+        }
+        return retval;
+    }
+
+    private static List<String> terms(String value) {
+        List<String> retval = new ArrayList<>();
+        String trimmed = value.trim();
+        if (trimmed.length() > 1 && trimmed.startsWith("\"") == true && trimmed.endsWith("\"") == true) {
+            // an exact phrase
+            retval.add(trimmed.substring(1, trimmed.length() - 1).toLowerCase(Locale.ROOT));
+            return retval;
+        }
+        for (String term : StringUtils.split(trimmed.toLowerCase(Locale.ROOT))) {
+            term = StringUtils.strip(term, "*?");
+            if (term.isEmpty() == false) {
+                retval.add(term);
+            }
+        }
+        return retval;
+    }
+
+    private Long toEpochMillis(Object value) {
+        String date = (String) value;
+        if (date.length() == 10) {
+            // the due date has no time
+            try {
+                return LocalDate.parse(date).atStartOfDay(zoneId).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+        return DateParser.parseJiraDateTime(date);
+    }
+
+    private Comparable<Object> sortKey(Field field, IssueBean issue) {
+        List<Object> values = field.values.apply(issue);
+        if (values.isEmpty() == true) {
+            return null;
+        }
+        Object value = values.get(0);
+        switch (field.kind) {
+            case NAMED:
+                String name = ((String[]) value)[0];
+                return name != null ? comparable(name.toLowerCase(Locale.ROOT)) : null;
+            case KEY:
+                return comparable(IssueKey.parse(((String[]) value)[0]));
+            case TEXT:
+                return comparable(((String) value).toLowerCase(Locale.ROOT));
+            case DATE:
+                return comparable(toEpochMillis(value));
+            default:
+                return comparable(value);
+        }
+    }
+
+    /**
+     * The sort keys of one field have the same type, so every key is only compared with keys of its own type.
+     */
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> comparable(Object key) {
+        return (Comparable<Object>) key;
+    }
+
+    private static Field field(String name) {
+        Field retval = FIELDS.get(name.toLowerCase(Locale.ROOT));
+        if (retval == null) {
+            throw new UnsupportedOperationException("The field " + name + " is not supported");
+        }
+        return retval;
+    }
+
+    private static void field(Kind kind, Function<IssueBean, List<Object>> values, String... names) {
+        Field field = new Field(kind, issue -> {
+            List<Object> retval = values.apply(issue);
+            // remove the nulls of missing single values
+            if (retval.size() == 1 && retval.get(0) == null) {
+                return Collections.emptyList();
+            }
+            return retval;
+        });
+        for (String name : names) {
+            FIELDS.put(name, field);
+        }
+    }
+
+    private static FieldsBean fields(IssueBean issue) {
+        return issue.getFields() != null ? issue.getFields() : EMPTY_FIELDS;
+    }
+
+    private static List<Object> named(BaseBean bean) {
+        if (bean == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new String[]{bean.getName(), bean.getId()});
+    }
+
+    private static List<Object> named(List<? extends BaseBean> beans) {
+        if (beans == null) {
+            return Collections.emptyList();
+        }
+        List<Object> retval = new ArrayList<>();
+        for (BaseBean bean : beans) {
+            retval.add(new String[]{bean.getName(), bean.getId()});
+        }
+        return retval;
+    }
+
+    private static List<Object> project(ProjectBean project) {
+        if (project == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new String[]{project.getKey(), project.getId(), project.getName()});
+    }
+
+    private static List<Object> resolution(ResolutionBean resolution) {
+        if (resolution == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new String[]{resolution.getName(), resolution.getId()});
+    }
+
+    private static List<Object> user(UserBean user) {
+        if (user == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new String[]{user.getName(), user.getDisplayName(), user.getEmailAddress()});
+    }
+
+    private static List<Object> labels(List<String> labels) {
+        if (labels == null) {
+            return Collections.emptyList();
+        }
+        List<Object> retval = new ArrayList<>();
+        for (String label : labels) {
+            retval.add(new String[]{label});
+        }
+        return retval;
+    }
+
+    private static List<Object> key(IssueBean issue) {
+        if (issue == null || issue.getKey() == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new String[]{issue.getKey().toUpperCase(Locale.ROOT), issue.getId()});
+    }
+
+    private static List<Object> text(String text) {
+        return StringUtils.isEmpty(text) == true ? Collections.emptyList() : Collections.singletonList(text);
+    }
+
+    private static List<Object> comments(FieldsBean fields) {
+        if (fields.getComment() == null || fields.getComment().getComments() == null) {
+            return Collections.emptyList();
+        }
+        List<Object> retval = new ArrayList<>();
+        for (CommentBean comment : fields.getComment().getComments()) {
+            if (StringUtils.isEmpty(comment.getBody()) == false) {
+                retval.add(comment.getBody());
+            }
+        }
+        return retval;
+    }
+
+    private static List<Object> timestamp(String date) {
+        return date == null ? Collections.emptyList() : Collections.singletonList(date);
+    }
+
+    private static List<Object> number(Number number) {
+        return number == null ? Collections.emptyList() : Collections.singletonList(number.longValue());
+    }
+
+    private static List<Object> number(String number) {
+        return StringUtils.isNumeric(number) == true
+                ? Collections.singletonList(Long.parseLong(number)) : Collections.emptyList();
+    }
+
+    private enum Kind {
+        NAMED, KEY, TEXT, DATE, NUMBER, DURATION
+    }
+
+    private static final class Field {
+
+        private final Kind kind;
+
+        private final Function<IssueBean, List<Object>> values;
+
+        private Field(Kind kind, Function<IssueBean, List<Object>> values) {
+            this.kind = kind;
+            this.values = values;
+        }
+    }
+
+    private static final class IssueKey implements Comparable<IssueKey> {
+
+        private final String project;
+
+        private final long number;
+
+        private IssueKey(String project, long number) {
+            this.project = project;
+            this.number = number;
+        }
+
+        private static IssueKey parse(String key) {
+            Matcher matcher = KEY.matcher(key);
+            return matcher.matches() == true ? new IssueKey(matcher.group(1), Long.parseLong(matcher.group(2))) : null;
+        }
+
+        @Override
+        public int compareTo(IssueKey o) {
+            int retval = project.compareTo(o.project);
+            return retval != 0 ? retval : Long.compare(number, o.number);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.prasannjeet.jira.rest.core.jql;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Two or more JqlNodes joined with AND or OR. Instances are immutable.
+ */
+public final class JqlJunction implements JqlNode {
+
+    private final EKeyword keyword;
+
+    private final List<JqlNode> nodes;
+
+    /**
+     * @param keyword = AND or OR
+     * @param nodes   = the joined nodes
+     */
+    public JqlJunction(EKeyword keyword, List<? extends JqlNode> nodes) {
+        Validate.isTrue(keyword == EKeyword.AND || keyword == EKeyword.OR, "keyword must be AND or OR");
+        Validate.isTrue(nodes.size() >= 2, "a junction needs at least two nodes");
+        this.keyword = keyword;
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+    }
+
+    public EKeyword getKeyword() {
+        return keyword;
+    }
+
+    public List<JqlNode> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JqlJunction that = (JqlJunction) o;
+        return keyword == that.keyword && nodes.equals(that.nodes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(keyword, nodes);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder retval = new StringBuilder();
+        for (JqlNode node : nodes) {
+            if (retval.length() > 0) {
+                retval.append(' ').append(keyword).append(' ');
+            }
+            if (node instanceof JqlJunction) {
+                retval.append('(').append(node).append(')');
+            } else {
+                retval.append(node);
+            }
+        }
+        return retval.toString();
+    }
+}
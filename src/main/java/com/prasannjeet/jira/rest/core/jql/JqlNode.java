@@ -0,0 +1,9 @@
+package com.prasannjeet.jira.rest.core.jql;
+
+/**
+ * Node of a parsed JQL condition: a JqlClause, a JqlJunction of nodes or a JqlNot.
+ * <p>
+ * Nodes are immutable, toString returns the node as JQL.
+ */
+public interface JqlNode {
+}
@@ -0,0 +1,38 @@
+package com.prasannjeet.jira.rest.core.jql;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The negation of a JqlNode. Instances are immutable.
+ */
+public final class JqlNot implements JqlNode {
+
+    private final JqlNode node;
+
+    public JqlNot(JqlNode node) {
+        Validate.notNull(node);
+        this.node = node;
+    }
+
+    public JqlNode getNode() {
+        return node;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof JqlNot && node.equals(((JqlNot) o).node);
+    }
+
+    @Override
+    public int hashCode() {
+        return ~node.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        if (node instanceof JqlClause) {
+            return EKeyword.NOT + " " + node;
+        }
+        return EKeyword.NOT + " (" + node + ")";
+    }
+}
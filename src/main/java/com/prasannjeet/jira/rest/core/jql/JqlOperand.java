@@ -0,0 +1,147 @@
+package com.prasannjeet.jira.rest.core.jql;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Operand of a JqlClause: a value, a function call like <code>currentUser()</code> or the keyword EMPTY.
+ * Instances are immutable.
+ */
+public final class JqlOperand {
+
+    public enum Type {
+        VALUE, FUNCTION, EMPTY
+    }
+
+    private static final Pattern UNQUOTED = Pattern.compile("[A-Za-z0-9_\\-]+");
+
+    private static final Pattern CUSTOM_FIELD = Pattern.compile("cf\\[\\d+]");
+
+    private static final Set<String> RESERVED = new HashSet<>(Arrays.asList(
+            "and", "or", "not", "empty", "null", "order", "by", "in", "is", "was", "changed", "asc", "desc"));
+
+    private static final JqlOperand EMPTY = new JqlOperand(Type.EMPTY, EKeyword.EMPTY.getKeyword(),
+            Collections.emptyList());
+
+    private final Type type;
+
+    private final String value;
+
+    private final List<String> arguments;
+
+    private JqlOperand(Type type, String value, List<String> arguments) {
+        this.type = type;
+        this.value = value;
+        this.arguments = arguments;
+    }
+
+    /**
+     * @param value = the unquoted value
+     * @return the operand
+     */
+    public static JqlOperand value(String value) {
+        Validate.notNull(value);
+        return new JqlOperand(Type.VALUE, value, Collections.emptyList());
+    }
+
+    /**
+     * @param name      = the name of the function, e.g. currentUser
+     * @param arguments = the unquoted arguments
+     * @return the operand
+     */
+    public static JqlOperand function(String name, List<String> arguments) {
+        Validate.notEmpty(name);
+        return new JqlOperand(Type.FUNCTION, name, Collections.unmodifiableList(new ArrayList<>(arguments)));
+    }
+
+    public static JqlOperand empty() {
+        return EMPTY;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the value, the name of the function or "empty"
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return the arguments of a function
+     */
+    public List<String> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Quotes the value if JQL requires it, e.g. for spaces, dates or reserved words.
+     *
+     * @param value = the unquoted value
+     * @return the value as JQL
+     */
+    public static String quote(String value) {
+        if (UNQUOTED.matcher(value).matches() == true
+                && RESERVED.contains(value.toLowerCase(Locale.ROOT)) == false) {
+            return value;
+        }
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Quotes a field name if JQL requires it, custom field ids like cf[10000] are never quoted.
+     *
+     * @param field = the field name
+     * @return the field as JQL
+     */
+    public static String quoteField(String field) {
+        return CUSTOM_FIELD.matcher(field).matches() == true ? field : quote(field);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JqlOperand that = (JqlOperand) o;
+        return type == that.type && value.equals(that.value) && arguments.equals(that.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, value, arguments);
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case FUNCTION:
+                StringBuilder retval = new StringBuilder(value).append('(');
+                for (int i = 0; i < arguments.size(); i++) {
+                    if (i > 0) {
+                        retval.append(", ");
+                    }
+                    retval.append(quote(arguments.get(i)));
+                }
+                return retval.append(')').toString();
+            case EMPTY:
+                return value;
+            default:
+                return quote(value);
+        }
+    }
+}
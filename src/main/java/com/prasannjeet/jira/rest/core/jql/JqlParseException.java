@@ -0,0 +1,23 @@
+package com.prasannjeet.jira.rest.core.jql;
+
+/**
+ * Thrown by the JqlParser if a JQL query is invalid or uses syntax which is not supported.
+ */
+public class JqlParseException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int position;
+
+    public JqlParseException(String message, int position) {
+        super(message + " at position " + position);
+        this.position = position;
+    }
+
+    /**
+     * @return the position of the error in the JQL
+     */
+    public int getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,300 @@
+package com.prasannjeet.jira.rest.core.jql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses JQL into a JqlStatement.
+ * <p>
+ * Supported are the operators <code>= != &gt; &gt;= &lt; &lt;= ~ !~ in, not in, is, is not</code> with values,
+ * lists, functions and EMPTY/NULL, the keywords AND, OR, NOT (also <code>&amp;&amp; || !</code>), parentheses and
+ * ORDER BY. The history operators WAS and CHANGED are not supported. Keywords are case insensitive.
+ * <p>
+ * Instances are not thread safe, use one parser per call of {@link #parse(String)}.
+ */
+public class JqlParser {
+
+    private static final String SYMBOLS = "(),=!<>~&|";
+
+    private final List<Token> tokens = new ArrayList<>();
+
+    private int position;
+
+    /**
+     * @param jql = the JQL, may be null or empty
+     * @return the parsed statement
+     * @throws JqlParseException if the JQL is invalid or not supported
+     */
+    public static JqlStatement parseJql(String jql) {
+        return new JqlParser().parse(jql);
+    }
+
+    /**
+     * @param jql = the JQL, may be null or empty
+     * @return the parsed statement
+     * @throws JqlParseException if the JQL is invalid or not supported
+     */
+    public JqlStatement parse(String jql) {
+        tokenize(jql != null ? jql : "");
+        position = 0;
+        JqlNode where = null;
+        if (peek().type != TokenType.END && isKeyword("order") == false) {
+            where = parseOr();
+        }
+        List<JqlSort> orderBy = new ArrayList<>();
+        if (acceptKeyword("order") == true) {
+            expectKeyword("by");
+            do {
+                Token field = next();
+                if (field.type != TokenType.WORD && field.type != TokenType.STRING) {
+                    throw new JqlParseException("Expected a field but found '" + field.text + "'", field.position);
+                }
+                SortOrder order = null;
+                if (acceptKeyword("asc") == true) {
+                    order = SortOrder.ASC;
+                } else if (acceptKeyword("desc") == true) {
+                    order = SortOrder.DESC;
+                }
+                orderBy.add(new JqlSort(field.text, order));
+            } while (acceptSymbol(",") == true);
+        }
+        Token end = peek();
+        if (end.type != TokenType.END) {
+            throw new JqlParseException("Unexpected '" + end.text + "'", end.position);
+        }
+        return new JqlStatement(where, orderBy);
+    }
+
+    private JqlNode parseOr() {
+        List<JqlNode> nodes = new ArrayList<>();
+        nodes.add(parseAnd());
+        while (acceptKeyword("or") == true || acceptSymbol("||") == true) {
+            nodes.add(parseAnd());
+        }
+        return nodes.size() == 1 ? nodes.get(0) : new JqlJunction(EKeyword.OR, nodes);
+    }
+
+    private JqlNode parseAnd() {
+        List<JqlNode> nodes = new ArrayList<>();
+        nodes.add(parseNot());
+        while (acceptKeyword("and") == true || acceptSymbol("&&") == true) {
+            nodes.add(parseNot());
+        }
+        return nodes.size() == 1 ? nodes.get(0) : new JqlJunction(EKeyword.AND, nodes);
+    }
+
+    private JqlNode parseNot() {
+        if (acceptKeyword("not") == true || acceptSymbol("!") == true) {
+            return new JqlNot(parseNot());
+        }
+        if (acceptSymbol("(") == true) {
+            JqlNode retval = parseOr();
+            expectSymbol(")");
+            return retval;
+        }
+        return parseClause();
+    }
+
+    private JqlClause parseClause() {
+        Token field = next();
+        if (field.type != TokenType.WORD && field.type != TokenType.STRING) {
+            throw new JqlParseException("Expected a field but found '" + field.text + "'", field.position);
+        }
+        Token operatorToken = peek();
+        EOperator operator = parseOperator();
+        if (operator == EOperator.IN || operator == EOperator.NOT_IN) {
+            List<JqlOperand> operands = new ArrayList<>();
+            if (peek().type == TokenType.WORD && peek(1).text.equals("(")) {
+                // a function returning a list, e.g. membersOf("group")
+                operands.add(parseOperand());
+            } else {
+                expectSymbol("(");
+                do {
+                    operands.add(parseOperand());
+                } while (acceptSymbol(",") == true);
+                expectSymbol(")");
+            }
+            return new JqlClause(field.text, operator, operands);
+        }
+        JqlOperand operand = parseOperand();
+        if ((operator == EOperator.IS || operator == EOperator.IS_NOT) && operand.getType() != JqlOperand.Type.EMPTY) {
+            throw new JqlParseException("IS requires EMPTY or NULL", operatorToken.position);
+        }
+        return new JqlClause(field.text, operator, operand);
+    }
+
+    private EOperator parseOperator() {
+        Token token = next();
+        if (token.type == TokenType.SYMBOL) {
+            for (EOperator operator : EOperator.values()) {
+                if (operator.getOperator().equals(token.text) == true) {
+                    return operator;
+                }
+            }
+        } else if (token.type == TokenType.WORD) {
+            switch (token.text.toLowerCase(Locale.ROOT)) {
+                case "in":
+                    return EOperator.IN;
+                case "is":
+                    return acceptKeyword("not") == true ? EOperator.IS_NOT : EOperator.IS;
+                case "not":
+                    expectKeyword("in");
+                    return EOperator.NOT_IN;
+                case "was":
+                case "changed":
+                    throw new JqlParseException("The history operator " + token.text + " is not supported",
+                            token.position);
+                default:
+                    break;
+            }
+        }
+        throw new JqlParseException("Expected an operator but found '" + token.text + "'", token.position);
+    }
+
+    private JqlOperand parseOperand() {
+        Token token = next();
+        if (token.type == TokenType.STRING) {
+            return JqlOperand.value(token.text);
+        }
+        if (token.type != TokenType.WORD) {
+            throw new JqlParseException("Expected a value but found '" + token.text + "'", token.position);
+        }
+        if (acceptSymbol("(") == true) {
+            List<String> arguments = new ArrayList<>();
+            if (acceptSymbol(")") == false) {
+                do {
+                    Token argument = next();
+                    if (argument.type != TokenType.WORD && argument.type != TokenType.STRING) {
+                        throw new JqlParseException("Expected an argument but found '" + argument.text + "'",
+                                argument.position);
+                    }
+                    arguments.add(argument.text);
+                } while (acceptSymbol(",") == true);
+                expectSymbol(")");
+            }
+            return JqlOperand.function(token.text, arguments);
+        }
+        if (token.text.equalsIgnoreCase("empty") == true || token.text.equalsIgnoreCase("null") == true) {
+            return JqlOperand.empty();
+        }
+        return JqlOperand.value(token.text);
+    }
+
+    private Token peek() {
+        return tokens.get(position);
+    }
+
+    private Token peek(int offset) {
+        return tokens.get(Math.min(position + offset, tokens.size() - 1));
+    }
+
+    private Token next() {
+        Token retval = tokens.get(position);
+        if (retval.type != TokenType.END) {
+            position++;
+        }
+        return retval;
+    }
+
+    private boolean isKeyword(String keyword) {
+        return peek().type == TokenType.WORD && peek().text.equalsIgnoreCase(keyword) == true;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (isKeyword(keyword) == true) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectKeyword(String keyword) {
+        if (acceptKeyword(keyword) == false) {
+            throw new JqlParseException("Expected '" + keyword + "' but found '" + peek().text + "'", peek().position);
+        }
+    }
+
+    private boolean acceptSymbol(String symbol) {
+        if (peek().type == TokenType.SYMBOL && peek().text.equals(symbol) == true) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectSymbol(String symbol) {
+        if (acceptSymbol(symbol) == false) {
+            throw new JqlParseException("Expected '" + symbol + "' but found '" + peek().text + "'", peek().position);
+        }
+    }
+
+    private void tokenize(String jql) {
+        tokens.clear();
+        int i = 0;
+        while (i < jql.length()) {
+            char c = jql.charAt(i);
+            if (Character.isWhitespace(c) == true) {
+                i++;
+            } else if (c == '"' || c == '\'') {
+                StringBuilder value = new StringBuilder();
+                int end = i + 1;
+                while (end < jql.length() && jql.charAt(end) != c) {
+                    if (jql.charAt(end) == '\\' && end + 1 < jql.length()) {
+                        end++;
+                    }
+                    value.append(jql.charAt(end));
+                    end++;
+                }
+                if (end >= jql.length()) {
+                    throw new JqlParseException("Unterminated string", i);
+                }
+                tokens.add(new Token(TokenType.STRING, value.toString(), i));
+                i = end + 1;
+            } else if (SYMBOLS.indexOf(c) >= 0) {
+                int end = i + 1;
+                if (end < jql.length()) {
+                    char n = jql.charAt(end);
+                    if ((n == '=' && "!<>".indexOf(c) >= 0) || (n == '~' && c == '!')
+                            || (n == c && (c == '&' || c == '|'))) {
+                        end++;
+                    }
+                }
+                String symbol = jql.substring(i, end);
+                if (symbol.equals("&") || symbol.equals("|")) {
+                    throw new JqlParseException("Unexpected '" + symbol + "'", i);
+                }
+                tokens.add(new Token(TokenType.SYMBOL, symbol, i));
+                i = end;
+            } else {
+                int end = i;
+                while (end < jql.length() && Character.isWhitespace(jql.charAt(end)) == false
+                        && SYMBOLS.indexOf(jql.charAt(end)) < 0 && jql.charAt(end) != '"' && jql.charAt(end) != '\'') {
+                    end++;
+                }
+                tokens.add(new Token(TokenType.WORD, jql.substring(i, end), i));
+                i = end;
+            }
+        }
+        tokens.add(new Token(TokenType.END, "end of query", jql.length()));
+    }
+
+    private enum TokenType {
+        WORD, STRING, SYMBOL, END
+    }
+
+    private static final class Token {
+
+        private final TokenType type;
+
+        private final String text;
+
+        private final int position;
+
+        private Token(TokenType type, String text, int position) {
+            this.type = type;
+            this.text = text;
+            this.position = position;
+        }
+    }
+}
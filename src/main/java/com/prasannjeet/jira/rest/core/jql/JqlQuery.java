@@ -0,0 +1,122 @@
+package com.prasannjeet.jira.rest.core.jql;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A JQL query split into the condition and the ORDER BY clause.
+ * <p>
+ * Used to derive sub queries, e.g. to restrict a query to a time window while keeping its sort order.
+ * Instances are immutable.
+ */
+public class JqlQuery {
+
+    private final String where;
+
+    private final String orderBy;
+
+    public JqlQuery(String where, String orderBy) {
+        this.where = StringUtils.trimToEmpty(where);
+        this.orderBy = StringUtils.trimToEmpty(orderBy);
+    }
+
+    /**
+     * Splits the JQL at the top level ORDER BY keyword. Quoted strings and parentheses are respected.
+     *
+     * @param jql = the JQL, may be null
+     * @return the query
+     */
+    public static JqlQuery parse(String jql) {
+        if (jql == null) {
+            return new JqlQuery(null, null);
+        }
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < jql.length(); i++) {
+            char c = jql.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && isOrderBy(jql, i) == true) {
+                int by = StringUtils.indexOfIgnoreCase(jql, "by", i + 5);
+                return new JqlQuery(jql.substring(0, i), jql.substring(by + 2));
+            }
+        }
+        return new JqlQuery(jql, null);
+    }
+
+    private static boolean isOrderBy(String jql, int index) {
+        if (jql.regionMatches(true, index, "order", 0, 5) == false) {
+            return false;
+        }
+        if (index > 0 && Character.isWhitespace(jql.charAt(index - 1)) == false && jql.charAt(index - 1) != ')') {
+            return false;
+        }
+        int i = index + 5;
+        if (i >= jql.length() || Character.isWhitespace(jql.charAt(i)) == false) {
+            return false;
+        }
+        while (i < jql.length() && Character.isWhitespace(jql.charAt(i)) == true) {
+            i++;
+        }
+        return jql.regionMatches(true, i, "by", 0, 2)
+                && (i + 2 == jql.length() || Character.isWhitespace(jql.charAt(i + 2)) == true);
+    }
+
+    /**
+     * @return the condition without ORDER BY, empty if the query has no condition
+     */
+    public String getWhere() {
+        return where;
+    }
+
+    /**
+     * @return the sort clause without the ORDER BY keyword, empty if the query is not sorted
+     */
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    /**
+     * Returns a query which matches the issues of this query and the condition.
+     *
+     * @param condition = the additional condition
+     * @return the restricted query
+     */
+    public JqlQuery and(String condition) {
+        if (StringUtils.isBlank(condition) == true) {
+            return this;
+        }
+        if (where.isEmpty() == true) {
+            return new JqlQuery(condition, orderBy);
+        }
+        return new JqlQuery("(" + where + ") " + EKeyword.AND + " (" + condition.trim() + ")", orderBy);
+    }
+
+    /**
+     * @param orderBy = the sort clause without the ORDER BY keyword, or null for no sort order
+     * @return a query with the same condition and the given sort order
+     */
+    public JqlQuery withOrderBy(String orderBy) {
+        return new JqlQuery(where, orderBy);
+    }
+
+    @Override
+    public String toString() {
+        if (orderBy.isEmpty() == true) {
+            return where;
+        }
+        if (where.isEmpty() == true) {
+            return EKeyword.ORDER_BY + " " + orderBy;
+        }
+        return where + " " + EKeyword.ORDER_BY + " " + orderBy;
+    }
+}
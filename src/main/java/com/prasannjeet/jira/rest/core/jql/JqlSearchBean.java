@@ -54,6 +54,29 @@ public class JqlSearchBean {
     @Expose
     private List<String> expand = new ArrayList<>();
 
+    /**
+     * False reports unknown values, e.g. keys of deleted issues, as warnings instead of failing the search.
+     */
+    @Expose
+    private Boolean validateQuery = null;
+
+    public JqlSearchBean() {
+    }
+
+    /**
+     * Creates a copy of the search, e.g. to request another page of the same query.
+     *
+     * @param other = the search to copy
+     */
+    public JqlSearchBean(JqlSearchBean other) {
+        this.startAt = other.startAt;
+        this.maxResults = other.maxResults;
+        this.fields = other.fields != null ? new ArrayList<>(other.fields) : null;
+        this.jql = other.jql;
+        this.expand = other.expand != null ? new ArrayList<>(other.expand) : null;
+        this.validateQuery = other.validateQuery;
+    }
+
     /**
      * Adds fields which should be returned after the request.
      *
@@ -133,6 +156,17 @@ public class JqlSearchBean {
         this.jql = jql;
     }
 
+    public Boolean getValidateQuery() {
+        return validateQuery;
+    }
+
+    /**
+     * @param validateQuery = false to ignore unknown values in the JQL, null for the default of Jira (true)
+     */
+    public void setValidateQuery(Boolean validateQuery) {
+        this.validateQuery = validateQuery;
+    }
+
     public List<String> getExpand() {
         if(expand == null){
             expand = new ArrayList<>();
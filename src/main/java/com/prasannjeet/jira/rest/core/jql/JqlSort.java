@@ -0,0 +1,58 @@
+package com.prasannjeet.jira.rest.core.jql;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.Objects;
+
+/**
+ * One field of an ORDER BY clause. Instances are immutable.
+ */
+public final class JqlSort {
+
+    private final String field;
+
+    private final SortOrder order;
+
+    /**
+     * @param field = the field
+     * @param order = the order, or null for the default order of the field
+     */
+    public JqlSort(String field, SortOrder order) {
+        Validate.notEmpty(field);
+        this.field = field;
+        this.order = order;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * @return the order, or null if not set in the JQL
+     */
+    public SortOrder getOrder() {
+        return order;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JqlSort that = (JqlSort) o;
+        return field.equals(that.field) && order == that.order;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(field, order);
+    }
+
+    @Override
+    public String toString() {
+        return order != null ? JqlOperand.quoteField(field) + " " + order : JqlOperand.quoteField(field);
+    }
+}
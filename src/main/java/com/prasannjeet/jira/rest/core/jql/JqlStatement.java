@@ -0,0 +1,76 @@
+package com.prasannjeet.jira.rest.core.jql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A parsed JQL query: the condition and the ORDER BY clause. Instances are immutable.
+ *
+ * @see JqlParser
+ */
+public final class JqlStatement {
+
+    private final JqlNode where;
+
+    private final List<JqlSort> orderBy;
+
+    /**
+     * @param where   = the condition, or null for all issues
+     * @param orderBy = the sort fields, may be empty
+     */
+    public JqlStatement(JqlNode where, List<JqlSort> orderBy) {
+        this.where = where;
+        this.orderBy = Collections.unmodifiableList(new ArrayList<>(orderBy));
+    }
+
+    /**
+     * @return the condition, or null if the query has none
+     */
+    public JqlNode getWhere() {
+        return where;
+    }
+
+    public List<JqlSort> getOrderBy() {
+        return orderBy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JqlStatement that = (JqlStatement) o;
+        return Objects.equals(where, that.where) && orderBy.equals(that.orderBy);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(where, orderBy);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder retval = new StringBuilder();
+        if (where != null) {
+            retval.append(where);
+        }
+        if (orderBy.isEmpty() == false) {
+            if (retval.length() > 0) {
+                retval.append(' ');
+            }
+            retval.append(EKeyword.ORDER_BY).append(' ');
+            for (int i = 0; i < orderBy.size(); i++) {
+                if (i > 0) {
+                    retval.append(", ");
+                }
+                retval.append(orderBy.get(i));
+            }
+        }
+        return retval.toString();
+    }
+}
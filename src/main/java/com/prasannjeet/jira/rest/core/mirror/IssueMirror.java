@@ -0,0 +1,519 @@
+package com.prasannjeet.jira.rest.core.mirror;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.Expose;
+import com.prasannjeet.jira.rest.core.custom.IssueBeanTypeAdapterFactory;
+import com.prasannjeet.jira.rest.core.domain.FieldsBean;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.UserBean;
+import com.prasannjeet.jira.rest.core.sync.IssueChangeEvent;
+import com.prasannjeet.jira.rest.core.sync.IssueChangeListener;
+import com.prasannjeet.jira.rest.core.util.DateParser;
+import org.apache.commons.lang3.Validate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Local file backed copy of issues with secondary indexes on project, status, assignee, issue type and updated.
+ * <p>
+ * The issues are kept in memory and every change is appended to a log file in the directory, which is replayed
+ * when the mirror is opened. The log is compacted when it holds more than twice as many entries as issues.
+ * A last entry which was only partly written before a crash is cut off when the mirror is opened.
+ * Open the mirror after the JiraRestClient is connected, the custom fields are decoded with its field types.
+ * <p>
+ * The mirror is filled with put or as IssueChangeListener of an IssueSyncEngine. It is thread safe. The mirror
+ * stores a copy of every put issue, the issues returned by get and find are shared and must not be modified.
+ */
+public class IssueMirror implements IssueChangeListener, Closeable {
+
+    private static final String LOG_FILE = "issues.jsonl";
+
+    private static final int MIN_COMPACT_ENTRIES = 1000;
+
+    private final Gson gson = new GsonBuilder()
+            .excludeFieldsWithoutExposeAnnotation()
+            .registerTypeAdapterFactory(new IssueBeanTypeAdapterFactory(true))
+            .create();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Path logFile;
+
+    private final Map<Long, IssueBean> byId = new HashMap<>();
+
+    private final Map<String, Long> idByKey = new HashMap<>();
+
+    private final Map<String, Set<Long>> byProject = new HashMap<>();
+
+    private final Map<String, Set<Long>> byStatus = new HashMap<>();
+
+    private final Map<String, Set<Long>> byAssignee = new HashMap<>();
+
+    private final Map<String, Set<Long>> byIssueType = new HashMap<>();
+
+    private final NavigableMap<Long, Set<Long>> byUpdated = new TreeMap<>();
+
+    private Writer log;
+
+    private int logEntries = 0;
+
+    /**
+     * Opens the mirror in the directory and loads the stored issues.
+     *
+     * @param directory = the directory of the log file, created if missing
+     */
+    public IssueMirror(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.logFile = directory.resolve(LOG_FILE);
+        if (Files.exists(logFile) == true) {
+            replay();
+        }
+        this.log = openLog();
+    }
+
+    /**
+     * Adds or replaces an issue.
+     *
+     * @param issue = the issue, must have an id
+     */
+    public void put(IssueBean issue) throws IOException {
+        putAll(Collections.singletonList(issue));
+    }
+
+    /**
+     * Adds or replaces the issues and writes them to the log with one flush.
+     *
+     * @param issues = the issues, must have an id
+     */
+    public void putAll(Collection<IssueBean> issues) throws IOException {
+        lock.writeLock().lock();
+        try {
+            for (IssueBean issue : issues) {
+                // the logged JSON is decoded again, so the mirror holds the same copy as after a replay
+                JsonElement json = gson.toJsonTree(issue);
+                index(gson.fromJson(json, IssueBean.class));
+                JsonObject entry = new JsonObject();
+                entry.add("issue", json);
+                append(entry);
+            }
+            log.flush();
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an issue, e.g. after it was deleted in Jira.
+     *
+     * @param id = the id of the issue
+     * @return true if the issue was in the mirror
+     */
+    public boolean remove(String id) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (unindex(Long.valueOf(id)) == null) {
+                return false;
+            }
+            append(gson.toJsonTree(new LogEntry(null, id)));
+            log.flush();
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onChange(IssueChangeEvent event) throws IOException {
+        put(event.getIssue());
+    }
+
+    /**
+     * @param id = the id of the issue
+     * @return the issue or null
+     */
+    public IssueBean get(String id) {
+        lock.readLock().lock();
+        try {
+            return byId.get(Long.valueOf(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param key = the key of the issue, e.g. DEMO-1
+     * @return the issue or null
+     */
+    public IssueBean getByKey(String key) {
+        lock.readLock().lock();
+        try {
+            Long id = idByKey.get(key.toUpperCase(Locale.ROOT));
+            return id != null ? byId.get(id) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the issues which match all criteria of the query, sorted by id.
+     *
+     * @param query = the criteria
+     * @return the matching issues
+     */
+    public List<IssueBean> find(MirrorQuery query) {
+        lock.readLock().lock();
+        try {
+            List<Set<Long>> candidates = new ArrayList<>();
+            addCandidates(candidates, byProject, query.getProjects());
+            addCandidates(candidates, byStatus, query.getStatuses());
+            addCandidates(candidates, byAssignee, query.getAssignees());
+            addCandidates(candidates, byIssueType, query.getIssueTypes());
+            if (query.getUpdatedFrom() != null || query.getUpdatedTo() != null) {
+                long from = query.getUpdatedFrom() != null ? query.getUpdatedFrom() : Long.MIN_VALUE;
+                long to = query.getUpdatedTo() != null ? query.getUpdatedTo() : Long.MAX_VALUE;
+                Set<Long> ids = new HashSet<>();
+                if (from < to) {
+                    for (Set<Long> updated : byUpdated.subMap(from, true, to, false).values()) {
+                        ids.addAll(updated);
+                    }
+                }
+                candidates.add(ids);
+            }
+            List<Long> ids = new ArrayList<>();
+            if (candidates.isEmpty() == true) {
+                ids.addAll(byId.keySet());
+            } else {
+                // probe the other criteria with the smallest set
+                candidates.sort(Comparator.comparingInt(Set::size));
+                Set<Long> smallest = candidates.get(0);
+                for (Long id : smallest) {
+                    boolean match = true;
+                    for (int i = 1; i < candidates.size() && match == true; i++) {
+                        match = candidates.get(i).contains(id);
+                    }
+                    if (match == true) {
+                        ids.add(id);
+                    }
+                }
+            }
+            Collections.sort(ids);
+            List<IssueBean> retval = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                retval.add(byId.get(id));
+            }
+            return retval;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return all issues of the mirror, sorted by id
+     */
+    public List<IssueBean> getAll() {
+        return find(new MirrorQuery());
+    }
+
+    public List<IssueBean> findByProject(String project) {
+        return find(new MirrorQuery().project(project));
+    }
+
+    public List<IssueBean> findByStatus(String status) {
+        return find(new MirrorQuery().status(status));
+    }
+
+    public List<IssueBean> findByAssignee(String assignee) {
+        return find(new MirrorQuery().assignee(assignee));
+    }
+
+    public List<IssueBean> findByIssueType(String issueType) {
+        return find(new MirrorQuery().issueType(issueType));
+    }
+
+    public List<IssueBean> findUpdatedBetween(long from, long to) {
+        return find(new MirrorQuery().updated(from, to));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log file with one entry per issue.
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            log.close();
+            Path temp = Files.createTempFile(logFile.getParent(), LOG_FILE, ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    for (IssueBean issue : byId.values()) {
+                        writer.write(gson.toJson(new LogEntry(issue, null)));
+                        writer.write('\n');
+                    }
+                }
+                try {
+                    Files.move(temp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, logFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            logEntries = byId.size();
+            log = openLog();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            log.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the issues of the log file. A last line without line break or which is no valid JSON was cut by a crash
+     * while it was written, it is removed from the file.
+     */
+    private void replay() throws IOException {
+        long size = Files.size(logFile);
+        long complete = 0;
+        // a cut line may end inside a character, it is decoded with replacement characters instead of failing
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(logFile),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                long end = complete + line.getBytes(StandardCharsets.UTF_8).length + 1;
+                boolean last = end >= size;
+                if (line.isEmpty() == true) {
+                    complete = end;
+                    continue;
+                }
+                LogEntry entry;
+                try {
+                    entry = gson.fromJson(line, LogEntry.class);
+                } catch (JsonParseException e) {
+                    if (last == true) {
+                        break;
+                    }
+                    throw new IOException("The log " + logFile + " is corrupt at byte " + complete, e);
+                }
+                if (end > size) {
+                    // the line break is missing
+                    break;
+                }
+                if (entry != null && entry.issue != null) {
+                    index(entry.issue);
+                } else if (entry != null && entry.removed != null) {
+                    unindex(Long.valueOf(entry.removed));
+                }
+                logEntries++;
+                complete = end;
+            }
+        }
+        if (complete < size) {
+            try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+                channel.truncate(complete);
+            }
+        }
+    }
+
+    private Writer openLog() throws IOException {
+        return new BufferedWriter(Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    }
+
+    private void append(JsonElement entry) throws IOException {
+        log.write(gson.toJson(entry));
+        log.write('\n');
+        logEntries++;
+    }
+
+    private void compactIfNeeded() throws IOException {
+        if (logEntries > MIN_COMPACT_ENTRIES && logEntries > 2 * byId.size()) {
+            compact();
+        }
+    }
+
+    private void index(IssueBean issue) {
+        Validate.notNull(issue.getId(), "The issue has no id");
+        Long id = Long.valueOf(issue.getId());
+        unindex(id);
+        byId.put(id, issue);
+        if (issue.getKey() != null) {
+            idByKey.put(issue.getKey().toUpperCase(Locale.ROOT), id);
+        }
+        for (String value : projectValues(issue)) {
+            addToIndex(byProject, value, id);
+        }
+        FieldsBean fields = issue.getFields();
+        if (fields == null) {
+            return;
+        }
+        for (String value : statusValues(fields)) {
+            addToIndex(byStatus, value, id);
+        }
+        for (String value : assigneeValues(fields)) {
+            addToIndex(byAssignee, value, id);
+        }
+        for (String value : issueTypeValues(fields)) {
+            addToIndex(byIssueType, value, id);
+        }
+        Long updated = DateParser.parseJiraDateTime(fields.getUpdated());
+        if (updated != null) {
+            byUpdated.computeIfAbsent(updated, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private IssueBean unindex(Long id) {
+        IssueBean issue = byId.remove(id);
+        if (issue == null) {
+            return null;
+        }
+        if (issue.getKey() != null) {
+            idByKey.remove(issue.getKey().toUpperCase(Locale.ROOT));
+        }
+        for (String value : projectValues(issue)) {
+            removeFromIndex(byProject, value, id);
+        }
+        FieldsBean fields = issue.getFields();
+        if (fields != null) {
+            for (String value : statusValues(fields)) {
+                removeFromIndex(byStatus, value, id);
+            }
+            for (String value : assigneeValues(fields)) {
+                removeFromIndex(byAssignee, value, id);
+            }
+            for (String value : issueTypeValues(fields)) {
+                removeFromIndex(byIssueType, value, id);
+            }
+            Long updated = DateParser.parseJiraDateTime(fields.getUpdated());
+            if (updated != null) {
+                Set<Long> ids = byUpdated.get(updated);
+                if (ids != null && ids.remove(id) == true && ids.isEmpty() == true) {
+                    byUpdated.remove(updated);
+                }
+            }
+        }
+        return issue;
+    }
+
+    private static List<String> projectValues(IssueBean issue) {
+        List<String> retval = new ArrayList<>();
+        if (issue.getFields() != null && issue.getFields().getProject() != null) {
+            retval.add(issue.getFields().getProject().getKey());
+            retval.add(issue.getFields().getProject().getId());
+            retval.add(issue.getFields().getProject().getName());
+        }
+        return retval;
+    }
+
+    private static List<String> statusValues(FieldsBean fields) {
+        return fields.getStatus() != null
+                ? Arrays.asList(fields.getStatus().getName(), fields.getStatus().getId()) : Collections.emptyList();
+    }
+
+    private static List<String> assigneeValues(FieldsBean fields) {
+        UserBean assignee = fields.getAssignee();
+        return assignee != null
+                ? Arrays.asList(assignee.getName(), assignee.getDisplayName(), assignee.getEmailAddress())
+                : Collections.emptyList();
+    }
+
+    private static List<String> issueTypeValues(FieldsBean fields) {
+        return fields.getIssuetype() != null
+                ? Arrays.asList(fields.getIssuetype().getName(), fields.getIssuetype().getId())
+                : Collections.emptyList();
+    }
+
+    private static void addToIndex(Map<String, Set<Long>> index, String value, Long id) {
+        if (value != null) {
+            index.computeIfAbsent(value.toLowerCase(Locale.ROOT), k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private static void removeFromIndex(Map<String, Set<Long>> index, String value, Long id) {
+        if (value == null) {
+            return;
+        }
+        String normalized = value.toLowerCase(Locale.ROOT);
+        Set<Long> ids = index.get(normalized);
+        if (ids != null && ids.remove(id) == true && ids.isEmpty() == true) {
+            index.remove(normalized);
+        }
+    }
+
+    private static void addCandidates(List<Set<Long>> candidates, Map<String, Set<Long>> index, Set<String> values) {
+        if (values.isEmpty() == true) {
+            return;
+        }
+        if (values.size() == 1) {
+            candidates.add(index.getOrDefault(values.iterator().next(), Collections.emptySet()));
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        for (String value : values) {
+            ids.addAll(index.getOrDefault(value, Collections.emptySet()));
+        }
+        candidates.add(ids);
+    }
+
+    private static class LogEntry {
+
+        @Expose
+        private IssueBean issue;
+
+        @Expose
+        private String removed;
+
+        LogEntry(IssueBean issue, String removed) {
+            this.issue = issue;
+            this.removed = removed;
+        }
+    }
+}
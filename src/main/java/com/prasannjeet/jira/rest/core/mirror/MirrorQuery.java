@@ -0,0 +1,102 @@
+package com.prasannjeet.jira.rest.core.mirror;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Criteria for a lookup in the IssueMirror. All set criteria must match, the values of one criterion are alternatives.
+ * The values are compared case insensitive.
+ */
+public class MirrorQuery {
+
+    private final Set<String> projects = new LinkedHashSet<>();
+
+    private final Set<String> statuses = new LinkedHashSet<>();
+
+    private final Set<String> assignees = new LinkedHashSet<>();
+
+    private final Set<String> issueTypes = new LinkedHashSet<>();
+
+    private Long updatedFrom;
+
+    private Long updatedTo;
+
+    /**
+     * @param projects = key, id or name of the projects
+     * @return this
+     */
+    public MirrorQuery project(String... projects) {
+        add(this.projects, projects);
+        return this;
+    }
+
+    /**
+     * @param statuses = names or ids of the statuses
+     * @return this
+     */
+    public MirrorQuery status(String... statuses) {
+        add(this.statuses, statuses);
+        return this;
+    }
+
+    /**
+     * @param assignees = names, display names or email addresses of the users
+     * @return this
+     */
+    public MirrorQuery assignee(String... assignees) {
+        add(this.assignees, assignees);
+        return this;
+    }
+
+    /**
+     * @param issueTypes = names or ids of the issue types
+     * @return this
+     */
+    public MirrorQuery issueType(String... issueTypes) {
+        add(this.issueTypes, issueTypes);
+        return this;
+    }
+
+    /**
+     * @param from = inclusive lower bound of the updated date in epoch milliseconds, or null
+     * @param to   = exclusive upper bound of the updated date in epoch milliseconds, or null
+     * @return this
+     */
+    public MirrorQuery updated(Long from, Long to) {
+        this.updatedFrom = from;
+        this.updatedTo = to;
+        return this;
+    }
+
+    private static void add(Collection<String> target, String... values) {
+        for (String value : values) {
+            target.add(value.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    public Set<String> getProjects() {
+        return projects;
+    }
+
+    public Set<String> getStatuses() {
+        return statuses;
+    }
+
+    public Set<String> getAssignees() {
+        return assignees;
+    }
+
+    public Set<String> getIssueTypes() {
+        return issueTypes;
+    }
+
+    public Long getUpdatedFrom() {
+        return updatedFrom;
+    }
+
+    public Long getUpdatedTo() {
+        return updatedTo;
+    }
+}
@@ -0,0 +1,239 @@
+package com.prasannjeet.jira.rest.core.mirror;
+
+import com.prasannjeet.jira.rest.client.SearchClient;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.JqlSearchResult;
+import com.prasannjeet.jira.rest.core.jql.EKeyword;
+import com.prasannjeet.jira.rest.core.jql.EOperator;
+import com.prasannjeet.jira.rest.core.jql.JqlClause;
+import com.prasannjeet.jira.rest.core.jql.JqlEvaluator;
+import com.prasannjeet.jira.rest.core.jql.JqlJunction;
+import com.prasannjeet.jira.rest.core.jql.JqlNode;
+import com.prasannjeet.jira.rest.core.jql.JqlOperand;
+import com.prasannjeet.jira.rest.core.jql.JqlParseException;
+import com.prasannjeet.jira.rest.core.jql.JqlParser;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+import com.prasannjeet.jira.rest.core.jql.JqlStatement;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Answers JQL searches from an IssueMirror and falls back to Jira for the searches the mirror cannot answer.
+ * <p>
+ * A search is answered locally if the JqlEvaluator supports its JQL (see {@link #isLocal(JqlSearchBean)}) and it
+ * is restricted to the covered projects, which the mirror holds completely. The conditions on project, status, assignee,
+ * issue type and updated of the top level AND select the candidates with the indexes of the mirror, the
+ * remaining conditions are evaluated on the candidates. The result honors startAt and maxResults, the requested
+ * fields are ignored and the issues are returned as stored in the mirror. Without ORDER BY the issues are sorted
+ * by id.
+ */
+public class MirrorSearch {
+
+    private static final int DEFAULT_MAX_RESULTS = 50;
+
+    private final IssueMirror mirror;
+
+    private final SearchClient searchClient;
+
+    private final JqlEvaluator evaluator;
+
+    private volatile Set<String> coveredProjects;
+
+    private final AtomicLong localSearches = new AtomicLong();
+
+    private final AtomicLong remoteSearches = new AtomicLong();
+
+    /**
+     * @param mirror          = the local issues
+     * @param searchClient    = the fallback for unsupported searches
+     * @param evaluator       = evaluates the JQL, configured with the time zone and name of the Jira user
+     * @param coveredProjects = keys, ids or names of the completely mirrored projects, see
+     *                        {@link #setCoveredProjects(Collection)}
+     */
+    public MirrorSearch(IssueMirror mirror, SearchClient searchClient, JqlEvaluator evaluator,
+                        Collection<String> coveredProjects) {
+        Validate.notNull(mirror);
+        Validate.notNull(searchClient);
+        Validate.notNull(evaluator);
+        this.mirror = mirror;
+        this.searchClient = searchClient;
+        this.evaluator = evaluator;
+        setCoveredProjects(coveredProjects);
+    }
+
+    /**
+     * Restricts the local searches to the projects which are completely mirrored, e.g. the projects of the sync.
+     * Searches in other or without projects go to Jira. Without covered projects all searches go to Jira, e.g.
+     * until the first sync is done.
+     *
+     * @param projects = keys, ids or names of the mirrored projects
+     */
+    public void setCoveredProjects(Collection<String> projects) {
+        Validate.notNull(projects);
+        Set<String> covered = new HashSet<>();
+        for (String project : projects) {
+            covered.add(project.toLowerCase(Locale.ROOT));
+        }
+        coveredProjects = Collections.unmodifiableSet(covered);
+    }
+
+    /**
+     * @return the covered projects in lower case
+     */
+    public Set<String> getCoveredProjects() {
+        return coveredProjects;
+    }
+
+    /**
+     * @param jsb = the search
+     * @return Future of the result, completed at once if the search was answered by the mirror
+     */
+    public Future<JqlSearchResult> searchIssues(JqlSearchBean jsb) {
+        JqlStatement statement = parse(jsb);
+        if (statement == null) {
+            remoteSearches.incrementAndGet();
+            return searchClient.searchIssues(jsb);
+        }
+        localSearches.incrementAndGet();
+        Predicate<IssueBean> predicate = evaluator.compile(statement.getWhere());
+        List<IssueBean> issues = new ArrayList<>();
+        for (IssueBean issue : mirror.find(candidates(statement.getWhere()))) {
+            if (predicate.test(issue) == true) {
+                issues.add(issue);
+            }
+        }
+        Comparator<IssueBean> order = evaluator.compile(statement.getOrderBy());
+        if (order != null) {
+            issues.sort(order);
+        }
+        int startAt = jsb.getStartAt() != null ? Math.max(jsb.getStartAt(), 0) : 0;
+        int maxResults = jsb.getMaxResults() != null ? Math.max(jsb.getMaxResults(), 0) : DEFAULT_MAX_RESULTS;
+        JqlSearchResult result = new JqlSearchResult();
+        result.setStartAt(startAt);
+        result.setMaxResults(maxResults);
+        result.setTotal(issues.size());
+        if (startAt < issues.size()) {
+            int end = (int) Math.min((long) startAt + maxResults, issues.size());
+            result.setIssues(new ArrayList<>(issues.subList(startAt, end)));
+        } else {
+            result.setIssues(new ArrayList<>());
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
+    /**
+     * @param jsb = the search
+     * @return true if the search is answered by the mirror
+     */
+    public boolean isLocal(JqlSearchBean jsb) {
+        return parse(jsb) != null;
+    }
+
+    public long getLocalSearches() {
+        return localSearches.get();
+    }
+
+    public long getRemoteSearches() {
+        return remoteSearches.get();
+    }
+
+    /**
+     * @return the statement, or null if the search must be sent to Jira
+     */
+    private JqlStatement parse(JqlSearchBean jsb) {
+        JqlStatement statement;
+        try {
+            statement = JqlParser.parseJql(jsb.getJql());
+        } catch (JqlParseException e) {
+            return null;
+        }
+        Set<String> covered = coveredProjects;
+        if (covered.isEmpty() == true || evaluator.isSupported(statement) == false) {
+            return null;
+        }
+        Set<String> projects = candidates(statement.getWhere()).getProjects();
+        if (projects.isEmpty() == true || covered.containsAll(projects) == false) {
+            return null;
+        }
+        return statement;
+    }
+
+    /**
+     * Builds the index lookup from the conditions of the top level AND. It may select more issues than the
+     * JQL, the candidates are filtered with the evaluator.
+     */
+    private MirrorQuery candidates(JqlNode where) {
+        MirrorQuery retval = new MirrorQuery();
+        List<JqlNode> conditions = Collections.singletonList(where);
+        if (where instanceof JqlJunction && ((JqlJunction) where).getKeyword() == EKeyword.AND) {
+            conditions = ((JqlJunction) where).getNodes();
+        }
+        Long from = null;
+        Long to = null;
+        for (JqlNode node : conditions) {
+            if (node instanceof JqlClause == false) {
+                continue;
+            }
+            JqlClause clause = (JqlClause) node;
+            String field = clause.getField().toLowerCase(Locale.ROOT);
+            if (field.equals("updated") == true || field.equals("updateddate") == true) {
+                if (clause.getOperands().get(0).getType() == JqlOperand.Type.EMPTY) {
+                    continue;
+                }
+                long date = evaluator.toEpochMillis(clause.getOperands().get(0));
+                switch (clause.getOperator()) {
+                    case GREATER_THAN:
+                    case GREATER_THAN_EQUALS:
+                        from = from == null ? date : Math.max(from, date);
+                        break;
+                    case LESS_THAN:
+                    case LESS_THAN_EQUALS:
+                        to = to == null ? date + 1 : Math.min(to, date + 1);
+                        break;
+                    default:
+                        break;
+                }
+                continue;
+            }
+            if (clause.getOperator() != EOperator.EQUALS && clause.getOperator() != EOperator.IN) {
+                continue;
+            }
+            String[] values = new String[clause.getOperands().size()];
+            for (int i = 0; i < values.length; i++) {
+                JqlOperand operand = clause.getOperands().get(i);
+                if (operand.getType() != JqlOperand.Type.VALUE) {
+                    values = null;
+                    break;
+                }
+                values[i] = operand.getValue();
+            }
+            if (values == null) {
+                continue;
+            }
+            // a second condition on the same field is left to the evaluator
+            if (field.equals("project") == true && retval.getProjects().isEmpty() == true) {
+                retval.project(values);
+            } else if (field.equals("status") == true && retval.getStatuses().isEmpty() == true) {
+                retval.status(values);
+            } else if (field.equals("assignee") == true && retval.getAssignees().isEmpty() == true) {
+                retval.assignee(values);
+            } else if ((field.equals("issuetype") == true || field.equals("type") == true)
+                    && retval.getIssueTypes().isEmpty() == true) {
+                retval.issueType(values);
+            }
+        }
+        return retval.updated(from, to);
+    }
+}
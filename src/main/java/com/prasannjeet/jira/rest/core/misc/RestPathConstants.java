@@ -38,6 +38,8 @@ public interface RestPathConstants {
 
     String ISSUE = "/issue";
 
+    String BULK = "/bulk";
+
     String COMMENT = "/comment";
 
     String VERSIONS = "/versions";
@@ -0,0 +1,116 @@
+package com.prasannjeet.jira.rest.core.search;
+
+import com.prasannjeet.jira.rest.core.domain.JqlSearchResult;
+import com.prasannjeet.jira.rest.core.jql.JqlClause;
+import com.prasannjeet.jira.rest.core.jql.JqlJunction;
+import com.prasannjeet.jira.rest.core.jql.JqlNode;
+import com.prasannjeet.jira.rest.core.jql.JqlNot;
+import com.prasannjeet.jira.rest.core.jql.JqlOperand;
+import com.prasannjeet.jira.rest.core.jql.JqlParseException;
+import com.prasannjeet.jira.rest.core.jql.JqlParser;
+
+import java.util.ArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * A search result in the SearchCache with the time it was last known to be up to date.
+ * Instances are immutable.
+ */
+public final class CachedSearch {
+
+    /**
+     * A period relative to now, e.g. "-4w" or "-4w 2d".
+     */
+    private static final Pattern RELATIVE_DATE = Pattern.compile("[+-]?\\d+[wdhm](\\s*[+-]?\\d+[wdhm])*",
+            Pattern.CASE_INSENSITIVE);
+
+    private final JqlSearchResult result;
+
+    private final long validatedAt;
+
+    private final boolean revalidatable;
+
+    /**
+     * @param result        = the result
+     * @param validatedAt   = the time in epoch milliseconds the result was requested or revalidated
+     * @param revalidatable = false if the result can not be revalidated, e.g. for JQL with relative dates
+     */
+    public CachedSearch(JqlSearchResult result, long validatedAt, boolean revalidatable) {
+        this.result = result;
+        this.validatedAt = validatedAt;
+        this.revalidatable = revalidatable;
+    }
+
+    /**
+     * @return the cached result, do not modify it
+     */
+    public JqlSearchResult getResult() {
+        return result;
+    }
+
+    /**
+     * @return a copy of the result with its own issue list, the issues are shared
+     */
+    public JqlSearchResult copyResult() {
+        JqlSearchResult retval = new JqlSearchResult();
+        retval.setExpand(result.getExpand());
+        retval.setStartAt(result.getStartAt());
+        retval.setMaxResults(result.getMaxResults());
+        retval.setTotal(result.getTotal());
+        retval.setIssues(new ArrayList<>(result.getIssues()));
+        return retval;
+    }
+
+    public long getValidatedAt() {
+        return validatedAt;
+    }
+
+    public boolean isRevalidatable() {
+        return revalidatable;
+    }
+
+    /**
+     * @param validatedAt = the time of the successful revalidation
+     * @return a copy with the new validation time
+     */
+    public CachedSearch revalidated(long validatedAt) {
+        return new CachedSearch(result, validatedAt, revalidatable);
+    }
+
+    /**
+     * A result can only be revalidated by its updated dates if the JQL does not depend on the current time,
+     * i.e. it has no functions and no relative dates.
+     *
+     * @param jql = the JQL of the search
+     * @return true if a result of the search can be revalidated
+     */
+    public static boolean isRevalidatable(String jql) {
+        try {
+            JqlNode where = JqlParser.parseJql(jql).getWhere();
+            return where == null || hasNoTimeDependency(where);
+        } catch (JqlParseException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasNoTimeDependency(JqlNode node) {
+        if (node instanceof JqlNot) {
+            return hasNoTimeDependency(((JqlNot) node).getNode());
+        }
+        if (node instanceof JqlJunction) {
+            for (JqlNode child : ((JqlJunction) node).getNodes()) {
+                if (hasNoTimeDependency(child) == false) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (JqlOperand operand : ((JqlClause) node).getOperands()) {
+            if (operand.getType() == JqlOperand.Type.FUNCTION
+                    || RELATIVE_DATE.matcher(operand.getValue().trim()).matches() == true) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
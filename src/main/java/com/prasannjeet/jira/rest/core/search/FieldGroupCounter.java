@@ -0,0 +1,205 @@
+package com.prasannjeet.jira.rest.core.search;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the issues of search result pages per value of one field while reading the JSON, no IssueBeans are built.
+ * <p>
+ * Objects are counted by their name, value, key, display name or id (projects and issues by key), arrays count
+ * every element and issues without value are counted under the key null. Dates can be truncated to the day.
+ * Not thread safe, one instance reads the pages of one aggregation.
+ */
+public class FieldGroupCounter {
+
+    private static final String[] OBJECT_KEYS = {"name", "value", "key", "displayName", "accountId", "id"};
+
+    private static final String[] ISSUE_KEYS = {"key", "id", "name"};
+
+    private final String field;
+
+    private final boolean dateOnly;
+
+    private final String[] objectKeys;
+
+    private final Map<String, Long> counts = new HashMap<>();
+
+    private int total = 0;
+
+    private String lastId;
+
+    private long issues = 0;
+
+    /**
+     * @param field    = the field in the JSON of the issue, e.g. assignee or customfield_10000
+     * @param dateOnly = true to count dates per day
+     */
+    public FieldGroupCounter(String field, boolean dateOnly) {
+        this.field = field;
+        this.dateOnly = dateOnly;
+        this.objectKeys = field.equals("project") || field.equals("parent") ? ISSUE_KEYS : OBJECT_KEYS;
+    }
+
+    /**
+     * Reads one search result page and adds its issues to the counts.
+     *
+     * @param reader = the reader of the search result
+     * @return the number of issues in the page
+     */
+    public int read(JsonReader reader) throws IOException {
+        int retval = 0;
+        reader.beginObject();
+        while (reader.hasNext() == true) {
+            String name = reader.nextName();
+            if (name.equals("total") == true) {
+                total = reader.nextInt();
+            } else if (name.equals("issues") == true && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext() == true) {
+                    readIssue(reader);
+                    retval++;
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        issues += retval;
+        return retval;
+    }
+
+    private void readIssue(JsonReader reader) throws IOException {
+        boolean found = false;
+        reader.beginObject();
+        while (reader.hasNext() == true) {
+            String name = reader.nextName();
+            if (name.equals("id") == true) {
+                lastId = reader.nextString();
+            } else if (name.equals("fields") == true && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext() == true) {
+                    if (reader.nextName().equals(field) == true) {
+                        List<String> keys = readKeys(reader);
+                        if (keys.isEmpty() == true) {
+                            count(null);
+                        }
+                        for (String key : keys) {
+                            count(key);
+                        }
+                        found = true;
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (found == false) {
+            count(null);
+        }
+    }
+
+    private List<String> readKeys(JsonReader reader) throws IOException {
+        List<String> retval = new ArrayList<>();
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            while (reader.hasNext() == true) {
+                String key = readKey(reader);
+                if (key != null) {
+                    retval.add(key);
+                }
+            }
+            reader.endArray();
+        } else {
+            String key = readKey(reader);
+            if (key != null) {
+                retval.add(key);
+            }
+        }
+        return retval;
+    }
+
+    private String readKey(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return null;
+            case BEGIN_OBJECT:
+                Map<String, String> values = new HashMap<>();
+                reader.beginObject();
+                while (reader.hasNext() == true) {
+                    String name = reader.nextName();
+                    JsonToken token = reader.peek();
+                    if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+                        values.put(name, reader.nextString());
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                for (String key : objectKeys) {
+                    if (values.containsKey(key) == true) {
+                        return values.get(key);
+                    }
+                }
+                return null;
+            case BEGIN_ARRAY:
+                reader.skipValue();
+                return null;
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+            default:
+                String value = reader.nextString();
+                return dateOnly == true && value.length() > 10 ? value.substring(0, 10) : value;
+        }
+    }
+
+    private void count(String key) {
+        counts.merge(key, 1L, Long::sum);
+    }
+
+    /**
+     * @return the counts sorted by count descending
+     */
+    public Map<String, Long> getCounts() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        Map<String, Long> retval = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            retval.put(entry.getKey(), entry.getValue());
+        }
+        return retval;
+    }
+
+    /**
+     * @return the total of the last page
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the id of the last read issue, or null
+     */
+    public String getLastId() {
+        return lastId;
+    }
+
+    /**
+     * @return the number of read issues
+     */
+    public long getIssues() {
+        return issues;
+    }
+}
@@ -0,0 +1,100 @@
+package com.prasannjeet.jira.rest.core.search;
+
+import com.prasannjeet.jira.rest.core.jql.EField;
+import com.prasannjeet.jira.rest.core.jql.EOperator;
+import com.prasannjeet.jira.rest.core.jql.JqlBuilder;
+import com.prasannjeet.jira.rest.core.jql.JqlQuery;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+import org.apache.commons.lang3.Validate;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Splits a JQL search into disjoint shards.
+ * <p>
+ * Every shard restricts the condition of the search and keeps its ORDER BY, fields and expand.
+ * Small shards keep the startAt offsets shallow and can be fetched in parallel with a {@link ShardedSearchIterator}.
+ */
+public final class JqlSharder {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private JqlSharder() {
+    }
+
+    /**
+     * Shards the search by windows of the created date. The first shard takes all issues created before from,
+     * the last shard all issues created at or after to, so the shards together match the whole search.
+     *
+     * @param search = the search to split
+     * @param from   = start of the first window
+     * @param to     = end of the last window
+     * @param window = length of a window, e.g. Period.ofMonths(1)
+     * @return the shards in the order of the created date
+     */
+    public static List<SearchShard> byCreated(JqlSearchBean search, LocalDate from, LocalDate to, Period window) {
+        Validate.notNull(search);
+        Validate.isTrue(from.isBefore(to), "from must be before to");
+        Validate.isTrue(from.plus(window).isAfter(from), "window must be positive");
+        JqlQuery query = JqlQuery.parse(search.getJql());
+        JqlBuilder builder = new JqlBuilder();
+        List<SearchShard> retval = new ArrayList<>();
+
+        String first = builder.addCondition(EField.CREATED, EOperator.LESS_THAN, quote(from)).build();
+        retval.add(shard(search, query, "created<" + format(from), first));
+        LocalDate start = from;
+        while (start.isBefore(to) == true) {
+            LocalDate end = start.plus(window);
+            if (end.isAfter(to) == true) {
+                end = to;
+            }
+            String condition = builder.addCondition(EField.CREATED, EOperator.GREATER_THAN_EQUALS, quote(start))
+                    .and().addCondition(EField.CREATED, EOperator.LESS_THAN, quote(end)).build();
+            retval.add(shard(search, query, "created:" + format(start) + "/" + format(end), condition));
+            start = end;
+        }
+        String last = builder.addCondition(EField.CREATED, EOperator.GREATER_THAN_EQUALS, quote(to)).build();
+        retval.add(shard(search, query, "created>=" + format(to), last));
+        return retval;
+    }
+
+    /**
+     * Shards the search by project. Issues of other projects are not part of any shard.
+     *
+     * @param search      = the search to split
+     * @param projectKeys = the keys of the projects
+     * @return one shard per project
+     */
+    public static List<SearchShard> byProject(JqlSearchBean search, Collection<String> projectKeys) {
+        Validate.notNull(search);
+        Validate.notEmpty(projectKeys);
+        JqlQuery query = JqlQuery.parse(search.getJql());
+        JqlBuilder builder = new JqlBuilder();
+        List<SearchShard> retval = new ArrayList<>();
+        for (String projectKey : projectKeys) {
+            String condition = builder.addCondition(EField.PROJECT, EOperator.EQUALS, "\"" + projectKey + "\"").build();
+            retval.add(shard(search, query, "project:" + projectKey, condition));
+        }
+        return retval;
+    }
+
+    private static SearchShard shard(JqlSearchBean search, JqlQuery query, String name, String condition) {
+        JqlSearchBean shardSearch = new JqlSearchBean(search);
+        shardSearch.setStartAt(null);
+        shardSearch.setJql(query.and(condition).toString());
+        return new SearchShard(name, shardSearch);
+    }
+
+    private static String format(LocalDate date) {
+        return DATE_FORMAT.format(date);
+    }
+
+    private static String quote(LocalDate date) {
+        return "\"" + format(date) + "\"";
+    }
+}
@@ -0,0 +1,87 @@
+package com.prasannjeet.jira.rest.core.search;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SearchCache which keeps the most recently used results up to a maximum number of entries.
+ * <p>
+ * A revalidating cache keeps stale results until they are evicted, otherwise they are removed when they expire.
+ */
+public class LruSearchCache implements SearchCache {
+
+    private final Map<String, CachedSearch> entries;
+
+    private final long timeToLive;
+
+    private boolean revalidating = true;
+
+    /**
+     * @param maxEntries = the maximum number of cached results
+     * @param timeToLive = the time a result is returned without request
+     * @param unit       = the unit of timeToLive
+     */
+    public LruSearchCache(final int maxEntries, long timeToLive, TimeUnit unit) {
+        Validate.isTrue(maxEntries > 0, "maxEntries must be greater than 0");
+        Validate.isTrue(timeToLive >= 0, "timeToLive must not be negative");
+        this.timeToLive = unit.toMillis(timeToLive);
+        this.entries = new LinkedHashMap<String, CachedSearch>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSearch> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized CachedSearch get(String key) {
+        CachedSearch retval = entries.get(key);
+        if (retval != null && revalidating == false
+                && System.currentTimeMillis() - retval.getValidatedAt() >= timeToLive) {
+            entries.remove(key);
+            return null;
+        }
+        return retval;
+    }
+
+    @Override
+    public synchronized void put(String key, CachedSearch result) {
+        entries.put(key, result);
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    @Override
+    public synchronized boolean isRevalidating() {
+        return revalidating;
+    }
+
+    /**
+     * @param revalidating = false to request expired results again instead of revalidating them, default true
+     */
+    public synchronized void setRevalidating(boolean revalidating) {
+        this.revalidating = revalidating;
+    }
+}
@@ -0,0 +1,68 @@
+package com.prasannjeet.jira.rest.core.search;
+
+import com.prasannjeet.jira.rest.core.jql.JqlCanonicalizer;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cache of search results used by the SearchClient, see {@link LruSearchCache}.
+ * <p>
+ * A result younger than the time to live is returned without request. An older result is revalidated with two
+ * requests for maxResults = 0, if the cache is revalidating: it is still valid if the search has the same total
+ * and no matching issue was updated since the last validation. Otherwise the search is sent again.
+ * <p>
+ * Implementations must be thread safe.
+ */
+public interface SearchCache {
+
+    /**
+     * @param key = the key of the search
+     * @return the cached result, or null
+     */
+    CachedSearch get(String key);
+
+    /**
+     * @param key    = the key of the search
+     * @param result = the result to cache
+     */
+    void put(String key, CachedSearch result);
+
+    /**
+     * @param key = the key of the search to remove
+     */
+    void remove(String key);
+
+    /**
+     * Removes all results, e.g. after the issues were changed by this client.
+     */
+    void clear();
+
+    /**
+     * @return the milliseconds a result is returned without request
+     */
+    long getTimeToLive();
+
+    /**
+     * @return true if older results are revalidated, false if they are requested again
+     */
+    boolean isRevalidating();
+
+    /**
+     * Builds the key of a search from the canonical JQL, the fields, the expands and the paging.
+     *
+     * @param jsb = the search
+     * @return the key
+     */
+    static String key(JqlSearchBean jsb) {
+        List<String> fields = new ArrayList<>(jsb.getFields());
+        Collections.sort(fields);
+        List<String> expand = new ArrayList<>(jsb.getExpand());
+        Collections.sort(expand);
+        return JqlCanonicalizer.canonicalize(jsb.getJql()) + "|fields=" + fields + "|expand=" + expand
+                + "|startAt=" + jsb.getStartAt() + "|maxResults=" + jsb.getMaxResults()
+                + "|validateQuery=" + jsb.getValidateQuery();
+    }
+}
@@ -0,0 +1,18 @@
+package com.prasannjeet.jira.rest.core.search;
+
+/**
+ * Unchecked wrapper for a failed page request while iterating a search result.
+ * The cause is usually a RestException or an IOException.
+ */
+public class SearchException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SearchException(Throwable cause) {
+        super(cause);
+    }
+
+    public SearchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,221 @@
+package com.prasannjeet.jira.rest.core.search;
+
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.JqlSearchResult;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+import org.apache.commons.lang3.Validate;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over all issues of a JQL search and requests the pages lazily.
+ * <p>
+ * The first page is requested with the first call of hasNext. Once a page is taken, the following pages are
+ * requested in the background, so the next page is usually received while the current one is consumed.
+ * At most prefetch pages are in flight and only the current page is held, so the memory stays constant
+ * regardless of the total.
+ * <p>
+ * With a prefetch greater than one, the pages after the first are requested concurrently as soon as the first
+ * page reports the total, so a full scan is limited by the server rather than by the round trips.
+ * In unordered mode the pages are emitted as they arrive instead of in the order of startAt.
+ * <p>
+ * A failed page request is thrown as SearchException. Close the iterator if it is not consumed to the end,
+ * this cancels the pages which are still in flight.
+ */
+public class SearchResultIterator implements Iterator<IssueBean>, Closeable {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    public static final int DEFAULT_PREFETCH = 1;
+
+    private final Function<JqlSearchBean, ? extends CompletableFuture<JqlSearchResult>> pageLoader;
+
+    private final JqlSearchBean search;
+
+    private final int prefetch;
+
+    private final boolean ordered;
+
+    private final Deque<CompletableFuture<JqlSearchResult>> pending = new ArrayDeque<>();
+
+    private final BlockingQueue<CompletableFuture<JqlSearchResult>> arrived = new LinkedBlockingQueue<>();
+
+    private int pageSize;
+
+    private int nextStartAt;
+
+    private int total = -1;
+
+    private boolean started = false;
+
+    private boolean exhausted = false;
+
+    private boolean closed = false;
+
+    private Iterator<IssueBean> current = Collections.emptyIterator();
+
+    /**
+     * @param pageLoader = requests one page, usually SearchClient::searchIssues
+     * @param search     = the search, startAt is the offset of the first page
+     * @param pageSize   = the requested maxResults per page
+     * @param prefetch   = maximum number of pages requested ahead
+     */
+    public SearchResultIterator(Function<JqlSearchBean, ? extends CompletableFuture<JqlSearchResult>> pageLoader,
+                                JqlSearchBean search, int pageSize, int prefetch) {
+        this(pageLoader, search, pageSize, prefetch, true);
+    }
+
+    /**
+     * @param pageLoader = requests one page, usually SearchClient::searchIssues
+     * @param search     = the search, startAt is the offset of the first page
+     * @param pageSize   = the requested maxResults per page
+     * @param prefetch   = maximum number of pages requested concurrently
+     * @param ordered    = true to emit the pages in the order of startAt, false to emit them as they arrive
+     */
+    public SearchResultIterator(Function<JqlSearchBean, ? extends CompletableFuture<JqlSearchResult>> pageLoader,
+                                JqlSearchBean search, int pageSize, int prefetch, boolean ordered) {
+        Validate.notNull(pageLoader);
+        Validate.notNull(search);
+        Validate.isTrue(pageSize > 0, "pageSize must be greater than 0");
+        Validate.isTrue(prefetch > 0, "prefetch must be greater than 0");
+        this.pageLoader = pageLoader;
+        this.search = new JqlSearchBean(search);
+        this.pageSize = pageSize;
+        this.prefetch = prefetch;
+        this.ordered = ordered;
+        this.nextStartAt = search.getStartAt() != null ? search.getStartAt() : 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (current.hasNext() == false) {
+            if (closed == true) {
+                return false;
+            }
+            if (started == false) {
+                started = true;
+                requestPage();
+            }
+            if (pending.isEmpty() == true) {
+                return false;
+            }
+            JqlSearchResult page = await(takePage());
+            onPage(page);
+            current = page.getIssues().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public IssueBean next() {
+        if (hasNext() == false) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * @return the total reported by the last received page, or -1 before the first page
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the remaining issues as sequential Stream. Closing the Stream closes this iterator.
+     *
+     * @return Stream of the issues
+     */
+    public Stream<IssueBean> stream() {
+        int characteristics = ordered == true ? Spliterator.ORDERED | Spliterator.NONNULL : Spliterator.NONNULL;
+        Spliterator<IssueBean> spliterator = Spliterators.spliteratorUnknownSize(this, characteristics);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Future<JqlSearchResult> future : pending) {
+            future.cancel(true);
+        }
+        pending.clear();
+        arrived.clear();
+        current = Collections.emptyIterator();
+    }
+
+    private void onPage(JqlSearchResult page) {
+        boolean firstPage = total < 0;
+        total = page.getTotal();
+        int received = page.getIssues().size();
+        if (received == 0) {
+            // the result shrank while paging, only drain the pages in flight
+            exhausted = true;
+            return;
+        }
+        if (firstPage == true) {
+            // the server may cap maxResults below the requested page size
+            if (page.getMaxResults() > 0 && page.getMaxResults() < pageSize) {
+                pageSize = page.getMaxResults();
+            }
+            nextStartAt = page.getStartAt() + Math.max(received, pageSize);
+        }
+        while (exhausted == false && pending.size() < prefetch && nextStartAt < total) {
+            requestPage();
+        }
+    }
+
+    private void requestPage() {
+        JqlSearchBean page = new JqlSearchBean(search);
+        page.setStartAt(nextStartAt);
+        page.setMaxResults(pageSize);
+        CompletableFuture<JqlSearchResult> future = pageLoader.apply(page);
+        pending.add(future);
+        if (ordered == false) {
+            future.whenComplete((result, throwable) -> arrived.add(future));
+        }
+        nextStartAt += pageSize;
+    }
+
+    private CompletableFuture<JqlSearchResult> takePage() {
+        if (ordered == true) {
+            return pending.poll();
+        }
+        try {
+            CompletableFuture<JqlSearchResult> future = arrived.take();
+            pending.remove(future);
+            return future;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new SearchException(e);
+        }
+    }
+
+    private JqlSearchResult await(Future<JqlSearchResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new SearchException(e);
+        } catch (ExecutionException e) {
+            close();
+            throw new SearchException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.prasannjeet.jira.rest.core.search;
+
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+
+/**
+ * A named part of a sharded search. The shards of a search select disjoint sets of issues.
+ * <p>
+ * The name identifies the shard when a sharded search is restarted, see {@link ShardedSearchIterator#getCompletedShards()}.
+ */
+public class SearchShard {
+
+    private final String name;
+
+    private final JqlSearchBean search;
+
+    public SearchShard(String name, JqlSearchBean search) {
+        this.name = name;
+        this.search = search;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public JqlSearchBean getSearch() {
+        return search;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + search.getJql();
+    }
+}
@@ -0,0 +1,151 @@
+package com.prasannjeet.jira.rest.core.search;
+
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.JqlSearchResult;
+import com.prasannjeet.jira.rest.core.jql.EField;
+import com.prasannjeet.jira.rest.core.jql.EOperator;
+import com.prasannjeet.jira.rest.core.jql.JqlBuilder;
+import com.prasannjeet.jira.rest.core.jql.JqlQuery;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+import com.prasannjeet.jira.rest.core.jql.SortOrder;
+import org.apache.commons.lang3.Validate;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over all issues of a JQL search with keyset (seek) pagination.
+ * <p>
+ * The search is sorted by id and every page is requested from startAt 0 with the condition
+ * <code>id &gt; last id of the previous page</code>. The cost of a page does not grow with the depth of the scan and
+ * issues which are created or deleted while scanning do not shift the following pages. The ORDER BY of the
+ * search is replaced by <code>ORDER BY id ASC</code>.
+ * <p>
+ * The cursor is the id of the last emitted issue. A scan is resumed by passing it as startAfterId.
+ */
+public class SeekSearchIterator implements Iterator<IssueBean>, Closeable {
+
+    private final Function<JqlSearchBean, ? extends Future<JqlSearchResult>> pageLoader;
+
+    private final JqlSearchBean search;
+
+    private final JqlQuery query;
+
+    private final int pageSize;
+
+    private String lastFetchedId;
+
+    private String cursor;
+
+    private boolean exhausted = false;
+
+    private Iterator<IssueBean> current = Collections.emptyIterator();
+
+    /**
+     * @param pageLoader   = requests one page, usually SearchClient::searchIssues
+     * @param search       = the search, startAt is ignored
+     * @param pageSize     = the maxResults per page
+     * @param startAfterId = the cursor of a previous scan to resume, or null to start with the first issue
+     */
+    public SeekSearchIterator(Function<JqlSearchBean, ? extends Future<JqlSearchResult>> pageLoader,
+                              JqlSearchBean search, int pageSize, String startAfterId) {
+        Validate.notNull(pageLoader);
+        Validate.notNull(search);
+        Validate.isTrue(pageSize > 0, "pageSize must be greater than 0");
+        this.pageLoader = pageLoader;
+        this.search = new JqlSearchBean(search);
+        this.query = JqlQuery.parse(search.getJql()).withOrderBy(EField.ID + " " + SortOrder.ASC);
+        this.pageSize = pageSize;
+        this.lastFetchedId = startAfterId;
+        this.cursor = startAfterId;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (current.hasNext() == false) {
+            if (exhausted == true) {
+                return false;
+            }
+            JqlSearchResult page = await(pageLoader.apply(nextPage()));
+            int received = page.getIssues().size();
+            if (received == 0) {
+                exhausted = true;
+                return false;
+            }
+            // total counts the issues after the last id, so the last page needs no further request
+            exhausted = received >= page.getTotal();
+            lastFetchedId = page.getIssues().get(received - 1).getId();
+            current = page.getIssues().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public IssueBean next() {
+        if (hasNext() == false) {
+            throw new NoSuchElementException();
+        }
+        IssueBean issue = current.next();
+        cursor = issue.getId();
+        return issue;
+    }
+
+    /**
+     * @return the id of the last emitted issue, or the startAfterId if no issue was emitted yet
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Returns the remaining issues as sequential Stream. Closing the Stream closes this iterator.
+     *
+     * @return Stream of the issues
+     */
+    public Stream<IssueBean> stream() {
+        Spliterator<IssueBean> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        exhausted = true;
+        current = Collections.emptyIterator();
+    }
+
+    private JqlSearchBean nextPage() {
+        JqlQuery pageQuery = query;
+        if (lastFetchedId != null) {
+            String condition = new JqlBuilder().addCondition(EField.ID, EOperator.GREATER_THAN, lastFetchedId).build();
+            pageQuery = query.and(condition);
+        }
+        JqlSearchBean page = new JqlSearchBean(search);
+        page.setJql(pageQuery.toString());
+        page.setStartAt(0);
+        page.setMaxResults(pageSize);
+        return page;
+    }
+
+    private JqlSearchResult await(Future<JqlSearchResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new SearchException(e);
+        } catch (ExecutionException e) {
+            close();
+            throw new SearchException(e.getCause());
+        }
+    }
+}
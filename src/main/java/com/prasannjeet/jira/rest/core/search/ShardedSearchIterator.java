@@ -0,0 +1,294 @@
+package com.prasannjeet.jira.rest.core.search;
+
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.JqlSearchResult;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+import org.apache.commons.lang3.Validate;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the issues of several shards which are fetched in parallel.
+ * <p>
+ * Up to parallelism shards are active at once. Each active shard has at most one page in flight, its next page
+ * is requested when the previous one is taken, so the memory is bounded by the parallelism. The issues are emitted
+ * as the pages arrive.
+ * <p>
+ * The shards are disjoint, so an issue is only emitted twice if it moves during the scan, e.g. from one page to the
+ * next or across a shard boundary. The ids of the active shards and of the last completed shards are kept to
+ * suppress these duplicates, the ids of older shards are dropped to keep the memory bounded. An issue which moves
+ * into a shard that starts much later can be emitted again, the delivery is at least once.
+ * <p>
+ * A shard is completed when all of its issues were emitted. A stopped scan can be restarted with the names of the
+ * completed shards, which are then skipped.
+ */
+public class ShardedSearchIterator implements Iterator<IssueBean>, Closeable {
+
+    private final Function<JqlSearchBean, ? extends CompletableFuture<JqlSearchResult>> pageLoader;
+
+    private final int pageSize;
+
+    private final int parallelism;
+
+    private final Deque<SearchShard> waiting = new ArrayDeque<>();
+
+    private final Set<CompletableFuture<JqlSearchResult>> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final BlockingQueue<ShardPage> arrived = new LinkedBlockingQueue<>();
+
+    /**
+     * The emitted ids of the active shards.
+     */
+    private final Map<SearchShard, Set<String>> activeIds = new IdentityHashMap<>();
+
+    /**
+     * The emitted ids of the last completed shards, at most parallelism.
+     */
+    private final Deque<Set<String>> completedIds = new ArrayDeque<>();
+
+    private final Set<String> completedShards = new LinkedHashSet<>();
+
+    private int active = 0;
+
+    private int duplicates = 0;
+
+    private boolean started = false;
+
+    private boolean closed = false;
+
+    private ShardPage currentPage;
+
+    private Iterator<IssueBean> current = Collections.emptyIterator();
+
+    private IssueBean next;
+
+    /**
+     * @param pageLoader      = requests one page, usually SearchClient::searchIssues
+     * @param shards          = the disjoint shards of the search
+     * @param pageSize        = the maxResults per page
+     * @param parallelism     = maximum number of shards fetched at once
+     * @param completedShards = names of shards to skip because a previous run completed them, may be null
+     */
+    public ShardedSearchIterator(Function<JqlSearchBean, ? extends CompletableFuture<JqlSearchResult>> pageLoader,
+                                 List<SearchShard> shards, int pageSize, int parallelism,
+                                 Collection<String> completedShards) {
+        Validate.notNull(pageLoader);
+        Validate.notNull(shards);
+        Validate.isTrue(pageSize > 0, "pageSize must be greater than 0");
+        Validate.isTrue(parallelism > 0, "parallelism must be greater than 0");
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+        for (SearchShard shard : shards) {
+            if (completedShards != null && completedShards.contains(shard.getName()) == true) {
+                this.completedShards.add(shard.getName());
+            } else {
+                waiting.add(shard);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            if (current.hasNext() == true) {
+                IssueBean issue = current.next();
+                if (issue.getId() == null || isEmitted(issue.getId()) == false) {
+                    if (issue.getId() != null) {
+                        activeIds.get(currentPage.shard).add(issue.getId());
+                    }
+                    next = issue;
+                } else {
+                    duplicates++;
+                }
+                continue;
+            }
+            if (currentPage != null && currentPage.last == true) {
+                completeShard(currentPage.shard);
+            }
+            currentPage = null;
+            if (closed == true) {
+                return false;
+            }
+            if (started == false) {
+                started = true;
+                while (active < parallelism && waiting.isEmpty() == false) {
+                    startShard(waiting.poll());
+                }
+            }
+            if (active == 0) {
+                return false;
+            }
+            currentPage = takePage();
+            current = currentPage.issues.iterator();
+        }
+        return true;
+    }
+
+    private boolean isEmitted(String id) {
+        for (Set<String> ids : activeIds.values()) {
+            if (ids.contains(id) == true) {
+                return true;
+            }
+        }
+        for (Set<String> ids : completedIds) {
+            if (ids.contains(id) == true) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void completeShard(SearchShard shard) {
+        completedShards.add(shard.getName());
+        Set<String> ids = activeIds.remove(shard);
+        if (ids != null) {
+            completedIds.addLast(ids);
+            while (completedIds.size() > parallelism) {
+                completedIds.removeFirst();
+            }
+        }
+    }
+
+    @Override
+    public IssueBean next() {
+        if (hasNext() == false) {
+            throw new NoSuchElementException();
+        }
+        IssueBean retval = next;
+        next = null;
+        return retval;
+    }
+
+    /**
+     * @return the names of the shards whose issues were all emitted, including the skipped ones
+     */
+    public Set<String> getCompletedShards() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(completedShards));
+    }
+
+    /**
+     * @return number of issues suppressed because they were emitted already
+     */
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Returns the remaining issues as sequential Stream. Closing the Stream closes this iterator.
+     *
+     * @return Stream of the issues
+     */
+    public Stream<IssueBean> stream() {
+        Spliterator<IssueBean> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (CompletableFuture<JqlSearchResult> future : inFlight) {
+            future.cancel(true);
+        }
+        inFlight.clear();
+        arrived.clear();
+        waiting.clear();
+        current = Collections.emptyIterator();
+        next = null;
+        activeIds.clear();
+        completedIds.clear();
+    }
+
+    private void startShard(SearchShard shard) {
+        active++;
+        activeIds.put(shard, new HashSet<>());
+        requestPage(shard, 0);
+    }
+
+    private void requestPage(SearchShard shard, int startAt) {
+        JqlSearchBean search = new JqlSearchBean(shard.getSearch());
+        search.setStartAt(startAt);
+        search.setMaxResults(pageSize);
+        CompletableFuture<JqlSearchResult> future = pageLoader.apply(search);
+        inFlight.add(future);
+        future.whenComplete((result, throwable) -> {
+            inFlight.remove(future);
+            arrived.add(new ShardPage(shard, result, throwable));
+        });
+    }
+
+    private ShardPage takePage() {
+        ShardPage page;
+        try {
+            page = arrived.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new SearchException(e);
+        }
+        if (page.failure != null) {
+            close();
+            Throwable cause = page.failure instanceof CompletionException && page.failure.getCause() != null
+                    ? page.failure.getCause() : page.failure;
+            throw new SearchException("Shard " + page.shard.getName() + " failed", cause);
+        }
+        if (page.last == true) {
+            active--;
+            if (waiting.isEmpty() == false) {
+                startShard(waiting.poll());
+            }
+        } else {
+            requestPage(page.shard, page.nextStartAt);
+        }
+        return page;
+    }
+
+    private static class ShardPage {
+
+        private final SearchShard shard;
+
+        private final List<IssueBean> issues;
+
+        private final Throwable failure;
+
+        private final int nextStartAt;
+
+        private final boolean last;
+
+        ShardPage(SearchShard shard, JqlSearchResult result, Throwable failure) {
+            this.shard = shard;
+            this.failure = failure;
+            if (result == null) {
+                this.issues = Collections.emptyList();
+                this.nextStartAt = 0;
+                this.last = true;
+            } else {
+                this.issues = result.getIssues();
+                this.nextStartAt = result.getStartAt() + issues.size();
+                this.last = issues.isEmpty() == true || nextStartAt >= result.getTotal();
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.prasannjeet.jira.rest.core.sync;
+
+/**
+ * Kind of change of an issue found by the IssueSyncEngine.
+ */
+public enum ChangeType {
+
+    /**
+     * The issue was not changed since it was created.
+     */
+    CREATED,
+
+    /**
+     * The issue was changed after it was created.
+     */
+    UPDATED
+}
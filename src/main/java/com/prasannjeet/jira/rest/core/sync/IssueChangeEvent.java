@@ -0,0 +1,41 @@
+package com.prasannjeet.jira.rest.core.sync;
+
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+
+/**
+ * A created or updated issue found by a sync run.
+ */
+public class IssueChangeEvent {
+
+    private final ChangeType type;
+
+    private final IssueBean issue;
+
+    private final long updated;
+
+    public IssueChangeEvent(ChangeType type, IssueBean issue, long updated) {
+        this.type = type;
+        this.issue = issue;
+        this.updated = updated;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public IssueBean getIssue() {
+        return issue;
+    }
+
+    /**
+     * @return the updated date of the issue in epoch milliseconds
+     */
+    public long getUpdated() {
+        return updated;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + issue.getKey() + " (" + issue.getId() + ") at " + updated;
+    }
+}
@@ -0,0 +1,23 @@
+package com.prasannjeet.jira.rest.core.sync;
+
+/**
+ * Receives the changes found by the IssueSyncEngine.
+ */
+public interface IssueChangeListener {
+
+    /**
+     * Called for every created or updated issue. An exception stops the run, the watermark is not advanced
+     * and the same changes are emitted again by the next run.
+     *
+     * @param event = the change
+     */
+    void onChange(IssueChangeEvent event) throws Exception;
+
+    /**
+     * Called by a scheduled sync if a run failed. The schedule continues with the next run.
+     *
+     * @param e = the failure
+     */
+    default void onError(Exception e) {
+    }
+}
@@ -0,0 +1,243 @@
+package com.prasannjeet.jira.rest.core.sync;
+
+import com.prasannjeet.jira.rest.client.SearchClient;
+import com.prasannjeet.jira.rest.core.domain.FieldsBean;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.jql.EField;
+import com.prasannjeet.jira.rest.core.jql.EOperator;
+import com.prasannjeet.jira.rest.core.jql.JqlBuilder;
+import com.prasannjeet.jira.rest.core.jql.JqlQuery;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+import com.prasannjeet.jira.rest.core.search.SeekSearchIterator;
+import com.prasannjeet.jira.rest.core.util.DateParser;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a local system in sync with the issues of a JQL search by polling only the changed issues.
+ * <p>
+ * Every run searches <code>updated &gt;= watermark - overlap</code> with keyset pagination and emits an
+ * IssueChangeEvent for every issue which was not emitted with the same updated date before. The overlap covers
+ * the minute resolution of JQL dates and clock skew, the issues emitted inside it are remembered to suppress
+ * duplicates. The scan is ordered by id, so an issue which is updated during the scan after its id was passed is
+ * not seen by this run. Therefore the watermark never passes the start of the run minus the overlap, the next run
+ * searches that time again. After a successful run the watermark is saved in the WatermarkStore, so a restarted process
+ * continues where it stopped. The first run emits every issue of the search.
+ * <p>
+ * The delivery is at least once: if the listener fails, the watermark is not advanced. Deleted issues are not
+ * reported, because they no longer match any search.
+ */
+public class IssueSyncEngine {
+
+    public static final long DEFAULT_OVERLAP = TimeUnit.MINUTES.toMillis(2);
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final DateTimeFormatter JQL_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+
+    private final SearchClient searchClient;
+
+    private final JqlSearchBean search;
+
+    private final WatermarkStore store;
+
+    private final String name;
+
+    private long overlap = DEFAULT_OVERLAP;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    private ZoneId zoneId = ZoneId.systemDefault();
+
+    private Clock clock = Clock.systemUTC();
+
+    private SyncState state;
+
+    /**
+     * @param searchClient = the client used for the searches
+     * @param search       = the issues to keep in sync, its ORDER BY is ignored
+     * @param store        = stores the watermark
+     * @param name         = the name of the sync in the store
+     */
+    public IssueSyncEngine(SearchClient searchClient, JqlSearchBean search, WatermarkStore store, String name) {
+        Validate.notNull(searchClient);
+        Validate.notNull(search);
+        Validate.notNull(store);
+        Validate.notEmpty(name);
+        this.searchClient = searchClient;
+        this.search = new JqlSearchBean(search);
+        this.store = store;
+        this.name = name;
+        // the updated date drives the watermark, the created date the change type
+        if (this.search.getFields().isEmpty() == false) {
+            addField(EField.UPDATED);
+            addField(EField.CREATED);
+        }
+    }
+
+    private void addField(EField field) {
+        if (search.getFields().contains(field.getField()) == false) {
+            search.getFields().add(field.getField());
+        }
+    }
+
+    /**
+     * Runs one sync and emits the changes since the last run.
+     *
+     * @param listener = receives the changes
+     * @return the number of emitted changes
+     * @throws Exception if the search, the listener or the store failed, the watermark is then unchanged
+     */
+    public synchronized int sync(IssueChangeListener listener) throws Exception {
+        Validate.notNull(listener);
+        if (state == null) {
+            state = store.load(name);
+        }
+        JqlSearchBean changed = new JqlSearchBean(search);
+        if (state.getWatermark() > 0) {
+            String from = "\"" + formatJqlDate(state.getWatermark() - overlap) + "\"";
+            String condition = new JqlBuilder().addCondition(EField.UPDATED, EOperator.GREATER_THAN_EQUALS, from).build();
+            changed.setJql(JqlQuery.parse(search.getJql()).and(condition).toString());
+        }
+
+        // taken before the first page, every later update is searched again by the next run
+        long runStart = clock.millis();
+        long watermark = state.getWatermark();
+        Map<String, Long> emitted = new HashMap<>(state.getRecent());
+        int events = 0;
+        try (SeekSearchIterator issues = searchClient.iterateIssuesById(changed, pageSize, null)) {
+            while (issues.hasNext() == true) {
+                IssueBean issue = issues.next();
+                FieldsBean fields = issue.getFields();
+                long updated = parseJiraDate(fields != null ? fields.getUpdated() : null);
+                Long previous = emitted.get(issue.getId());
+                if (previous != null && previous >= updated) {
+                    continue;
+                }
+                ChangeType type = previous == null && fields.getCreated() != null
+                        && parseJiraDate(fields.getCreated()) == updated ? ChangeType.CREATED : ChangeType.UPDATED;
+                listener.onChange(new IssueChangeEvent(type, issue, updated));
+                emitted.put(issue.getId(), updated);
+                watermark = Math.max(watermark, updated);
+                events++;
+            }
+        }
+        watermark = Math.max(state.getWatermark(), Math.min(watermark, runStart - overlap));
+
+        // only the issues inside the overlap of the next run are needed to suppress duplicates,
+        // one more minute because the JQL date is truncated to minutes
+        long cutoff = watermark - overlap - TimeUnit.MINUTES.toMillis(1);
+        Map<String, Long> recent = new HashMap<>();
+        for (Map.Entry<String, Long> entry : emitted.entrySet()) {
+            if (entry.getValue() >= cutoff) {
+                recent.put(entry.getKey(), entry.getValue());
+            }
+        }
+        SyncState newState = new SyncState(watermark, recent);
+        store.save(name, newState);
+        state = newState;
+        return events;
+    }
+
+    /**
+     * Runs the sync periodically. Failed runs are reported to {@link IssueChangeListener#onError(Exception)}.
+     *
+     * @param scheduler = runs the syncs, should not be shared with short tasks
+     * @param period    = the delay between two runs
+     * @param unit      = the unit of the period
+     * @param listener  = receives the changes
+     * @return the future of the schedule, cancel it to stop the sync
+     */
+    public ScheduledFuture<?> schedule(ScheduledExecutorService scheduler, long period, TimeUnit unit,
+                                       final IssueChangeListener listener) {
+        return scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                sync(listener);
+            } catch (Exception e) {
+                listener.onError(e);
+            }
+        }, 0, period, unit);
+    }
+
+    /**
+     * @return the current state, loaded from the store if the sync did not run yet
+     */
+    public synchronized SyncState getState() throws IOException {
+        if (state == null) {
+            state = store.load(name);
+        }
+        return state;
+    }
+
+    public long getOverlap() {
+        return overlap;
+    }
+
+    /**
+     * @param overlap = milliseconds before the watermark which are searched again, default 2 minutes
+     */
+    public void setOverlap(long overlap) {
+        Validate.isTrue(overlap >= 0, "overlap must not be negative");
+        this.overlap = overlap;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        Validate.isTrue(pageSize > 0, "pageSize must be greater than 0");
+        this.pageSize = pageSize;
+    }
+
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * JQL dates are interpreted in the time zone of the Jira user.
+     *
+     * @param zoneId = the time zone of the Jira user, default is the system time zone
+     */
+    public void setZoneId(ZoneId zoneId) {
+        Validate.notNull(zoneId);
+        this.zoneId = zoneId;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * The start of a run limits the watermark. The Jira server sets the updated dates, a skew between its clock
+     * and this clock must be smaller than the overlap.
+     *
+     * @param clock = the clock for the start of a run, default is the system clock
+     */
+    public void setClock(Clock clock) {
+        Validate.notNull(clock);
+        this.clock = clock;
+    }
+
+    private String formatJqlDate(long epochMillis) {
+        return JQL_DATE.format(Instant.ofEpochMilli(epochMillis).atZone(zoneId));
+    }
+
+    private static long parseJiraDate(String date) {
+        Long retval = DateParser.parseJiraDateTime(date);
+        if (retval == null) {
+            throw new IllegalStateException("The issue has no updated date or an unexpected format: " + date);
+        }
+        return retval;
+    }
+}
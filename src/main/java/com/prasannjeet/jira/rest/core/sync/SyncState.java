@@ -0,0 +1,34 @@
+package com.prasannjeet.jira.rest.core.sync;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Progress of a sync: the watermark and the issues emitted inside the overlap window before it.
+ */
+public class SyncState {
+
+    private final long watermark;
+
+    private final Map<String, Long> recent;
+
+    public SyncState(long watermark, Map<String, Long> recent) {
+        this.watermark = watermark;
+        this.recent = Collections.unmodifiableMap(new HashMap<>(recent));
+    }
+
+    /**
+     * @return the highest updated date emitted so far in epoch milliseconds, 0 before the first run
+     */
+    public long getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * @return the updated dates of the emitted issues inside the overlap window, by issue id
+     */
+    public Map<String, Long> getRecent() {
+        return recent;
+    }
+}
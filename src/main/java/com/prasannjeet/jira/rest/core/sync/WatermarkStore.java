@@ -0,0 +1,93 @@
+package com.prasannjeet.jira.rest.core.sync;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Persists the SyncStates of one or more syncs in a properties file.
+ * <p>
+ * The file is rewritten through a temporary file and an atomic move, so a crash never leaves a half written state.
+ */
+public class WatermarkStore {
+
+    private static final String WATERMARK = ".watermark";
+
+    private static final String RECENT = ".recent";
+
+    private final Path file;
+
+    public WatermarkStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @param name = the name of the sync
+     * @return the stored state, or an empty state if the sync never ran
+     */
+    public synchronized SyncState load(String name) throws IOException {
+        Properties properties = read();
+        long watermark = Long.parseLong(properties.getProperty(name + WATERMARK, "0"));
+        Map<String, Long> recent = new HashMap<>();
+        String recentValue = properties.getProperty(name + RECENT);
+        if (StringUtils.isNotEmpty(recentValue) == true) {
+            for (String entry : StringUtils.split(recentValue, ',')) {
+                int separator = entry.lastIndexOf(':');
+                recent.put(entry.substring(0, separator), Long.parseLong(entry.substring(separator + 1)));
+            }
+        }
+        return new SyncState(watermark, recent);
+    }
+
+    /**
+     * @param name  = the name of the sync
+     * @param state = the state to store
+     */
+    public synchronized void save(String name, SyncState state) throws IOException {
+        Properties properties = read();
+        properties.setProperty(name + WATERMARK, String.valueOf(state.getWatermark()));
+        StringBuilder recent = new StringBuilder();
+        for (Map.Entry<String, Long> entry : state.getRecent().entrySet()) {
+            if (recent.length() > 0) {
+                recent.append(',');
+            }
+            recent.append(entry.getKey()).append(':').append(entry.getValue());
+        }
+        properties.setProperty(name + RECENT, recent.toString());
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "JiraRestClient sync state");
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Properties read() throws IOException {
+        Properties properties = new Properties();
+        if (Files.exists(file) == true) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,265 @@
+package com.prasannjeet.jira.rest.core.transition;
+
+import com.prasannjeet.jira.rest.client.IssueClient;
+import com.prasannjeet.jira.rest.core.domain.FieldsBean;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.TransitionBean;
+import com.prasannjeet.jira.rest.core.jql.EField;
+import com.prasannjeet.jira.rest.core.util.Futures;
+import com.prasannjeet.jira.rest.core.util.RestException;
+import org.apache.commons.lang3.Validate;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves many issues through a workflow with a limited number of concurrent transitions.
+ * <p>
+ * Project, issue type and status of the issues are loaded with a few searches. The available transitions are
+ * cached by project, issue type and status, so they are requested once per workflow step instead of once per
+ * issue. A transition is found by its id, its name or the name of its target status. If the cached transition
+ * is rejected, e.g. because of a condition on the issue, the transitions of the issue are requested again.
+ */
+public class BulkTransitionEngine {
+
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    private static final List<String> STATE_FIELDS = Arrays.asList(EField.PROJECT.getField(),
+            EField.ISSUE_TYPE.getField(), EField.STATUS.getField());
+
+    private final IssueClient issueClient;
+
+    private final Executor executor;
+
+    private final ConcurrentMap<String, CompletableFuture<List<TransitionBean>>> transitions = new ConcurrentHashMap<>();
+
+    private final AtomicLong transitionRequests = new AtomicLong();
+
+    /**
+     * @param issueClient = the client for the requests
+     * @param executor    = waits for the futures of other IssueClient implementations
+     */
+    public BulkTransitionEngine(IssueClient issueClient, Executor executor) {
+        Validate.notNull(issueClient);
+        Validate.notNull(executor);
+        this.issueClient = issueClient;
+        this.executor = executor;
+    }
+
+    /**
+     * Moves the issues with {@link #DEFAULT_CONCURRENCY} concurrent transitions.
+     *
+     * @param issueKeys  = the issues to move
+     * @param transition = id or name of the transition, or name of the target status
+     * @return Future of one TransitionResult per distinct issue key in the order of the keys
+     */
+    public CompletableFuture<List<TransitionResult>> transition(Collection<String> issueKeys, String transition) {
+        return transition(issueKeys, transition, DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * @param issueKeys   = the issues to move
+     * @param transition  = id or name of the transition, or name of the target status
+     * @param concurrency = the maximum number of concurrent transitions
+     * @return Future of one TransitionResult per distinct issue key in the order of the keys
+     */
+    public CompletableFuture<List<TransitionResult>> transition(Collection<String> issueKeys, final String transition,
+                                                                final int concurrency) {
+        Validate.notNull(issueKeys);
+        Validate.notEmpty(transition);
+        Validate.isTrue(concurrency > 0, "concurrency must be greater than 0");
+        return Futures.toCompletableFuture(issueClient.getIssuesByKeys(issueKeys, STATE_FIELDS, null), executor)
+                .thenCompose(issues -> transitionAll(issues, transition, concurrency));
+    }
+
+    private CompletableFuture<List<TransitionResult>> transitionAll(Map<String, IssueBean> issues, String transition,
+                                                                    int concurrency) {
+        final List<String> keys = new ArrayList<>(issues.keySet());
+        final TransitionResult[] results = new TransitionResult[keys.size()];
+        final AtomicInteger next = new AtomicInteger();
+        final CompletableFuture<List<TransitionResult>> retval = new CompletableFuture<>();
+        final AtomicInteger running = new AtomicInteger(Math.min(concurrency, keys.size()));
+        if (keys.isEmpty() == true) {
+            retval.complete(new ArrayList<>());
+            return retval;
+        }
+        // every worker takes the next issue when its transition is done, on the executor to keep the stack flat
+        Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                while (true) {
+                    final int index = next.getAndIncrement();
+                    if (index >= keys.size()) {
+                        if (running.decrementAndGet() == 0) {
+                            retval.complete(Arrays.asList(results));
+                        }
+                        return;
+                    }
+                    final String key = keys.get(index);
+                    try {
+                        transitionIssue(key, issues.get(key), transition).whenComplete((result, throwable) -> {
+                            results[index] = throwable != null
+                                    ? new TransitionResult(key, null, Futures.unwrap(throwable)) : result;
+                            proceed(this);
+                        });
+                        return;
+                    } catch (RuntimeException e) {
+                        // e.g. a RejectedExecutionException of a shut down executor, the worker takes the next issue
+                        results[index] = new TransitionResult(key, null, e);
+                    }
+                }
+            }
+        };
+        for (int i = running.get(); i > 0; i--) {
+            worker.run();
+        }
+        return retval;
+    }
+
+    /**
+     * Continues the worker on the executor, or in the current thread if the executor rejects it.
+     */
+    private void proceed(Runnable worker) {
+        try {
+            executor.execute(worker);
+        } catch (RejectedExecutionException e) {
+            worker.run();
+        }
+    }
+
+    private CompletableFuture<TransitionResult> transitionIssue(final String key, final IssueBean issue,
+                                                                final String transition) {
+        if (issue == null) {
+            return CompletableFuture.completedFuture(new TransitionResult(key, null,
+                    new IllegalArgumentException("The issue " + key + " does not exist")));
+        }
+        final String state = stateOf(issue);
+        return getTransitions(state, issue.getKey()).thenCompose(available -> {
+            final TransitionBean cached = find(available, transition);
+            if (cached == null) {
+                // the cached transitions may be outdated, e.g. after a change of the workflow
+                transitions.remove(state);
+                return execute(issue.getKey(), transition, null);
+            }
+            return execute(issue.getKey(), transition, cached.getId());
+        }).thenApply(transitionId -> new TransitionResult(key, transitionId, null));
+    }
+
+    /**
+     * Executes the transition, with the transitions of the issue itself if the transition id is null or rejected.
+     *
+     * @return Future of the executed transition id
+     */
+    private CompletableFuture<String> execute(final String issueKey, final String transition,
+                                              final String transitionId) {
+        if (transitionId == null) {
+            return requestTransitions(issueKey).thenCompose(available -> {
+                TransitionBean own = find(available, transition);
+                if (own == null) {
+                    CompletableFuture<String> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(new IllegalStateException(
+                            "The transition " + transition + " is not available for " + issueKey));
+                    return failed;
+                }
+                return post(issueKey, own.getId());
+            });
+        }
+        CompletableFuture<String> retval = new CompletableFuture<>();
+        post(issueKey, transitionId).whenComplete((executed, throwable) -> {
+            Throwable cause = Futures.unwrap(throwable);
+            if (cause == null) {
+                retval.complete(executed);
+            } else if (cause instanceof RestException
+                    && ((RestException) cause).getStatusCode() == HttpURLConnection.HTTP_BAD_REQUEST) {
+                execute(issueKey, transition, null).whenComplete((retried, error) -> {
+                    if (error != null) {
+                        retval.completeExceptionally(Futures.unwrap(error));
+                    } else {
+                        retval.complete(retried);
+                    }
+                });
+            } else {
+                retval.completeExceptionally(cause);
+            }
+        });
+        return retval;
+    }
+
+    private CompletableFuture<String> post(String issueKey, final String transitionId) {
+        return Futures.toCompletableFuture(issueClient.transitionIssue(issueKey, transitionId), executor)
+                .thenApply(ignored -> transitionId);
+    }
+
+    private CompletableFuture<List<TransitionBean>> getTransitions(final String state, final String issueKey) {
+        CompletableFuture<List<TransitionBean>> retval = transitions.computeIfAbsent(state,
+                s -> requestTransitions(issueKey));
+        // a failed request is not cached
+        retval.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                transitions.remove(state, retval);
+            }
+        });
+        return retval;
+    }
+
+    private CompletableFuture<List<TransitionBean>> requestTransitions(String issueKey) {
+        transitionRequests.incrementAndGet();
+        return Futures.toCompletableFuture(issueClient.getIssueTransitionsByKey(issueKey, false), executor);
+    }
+
+    private static TransitionBean find(List<TransitionBean> available, String transition) {
+        if (available == null) {
+            return null;
+        }
+        for (TransitionBean candidate : available) {
+            if (transition.equals(candidate.getId()) == true || transition.equalsIgnoreCase(candidate.getName()) == true) {
+                return candidate;
+            }
+        }
+        for (TransitionBean candidate : available) {
+            if (candidate.getTo() != null && transition.equalsIgnoreCase(candidate.getTo().getName()) == true) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static String stateOf(IssueBean issue) {
+        FieldsBean fields = issue.getFields();
+        if (fields == null) {
+            return issue.getKey();
+        }
+        String project = fields.getProject() != null ? fields.getProject().getId() : null;
+        String issueType = fields.getIssuetype() != null ? fields.getIssuetype().getId() : null;
+        String status = fields.getStatus() != null ? fields.getStatus().getId() : null;
+        if (project == null || issueType == null || status == null) {
+            return issue.getKey();
+        }
+        return project + "/" + issueType + "/" + status;
+    }
+
+    /**
+     * @return number of requests for the transitions of an issue, a measure of the cache efficiency
+     */
+    public long getTransitionRequests() {
+        return transitionRequests.get();
+    }
+
+    /**
+     * Forgets the cached transitions, e.g. after a change of a workflow.
+     */
+    public void clearCache() {
+        transitions.clear();
+    }
+}
@@ -0,0 +1,48 @@
+package com.prasannjeet.jira.rest.core.transition;
+
+/**
+ * The result of the transition of one issue.
+ */
+public class TransitionResult {
+
+    private final String issueKey;
+
+    private final String transitionId;
+
+    private final Throwable error;
+
+    /**
+     * @param issueKey     = the issue key
+     * @param transitionId = the executed transition, or null if no transition was found
+     * @param error        = the reason of the failure, or null if the transition succeeded
+     */
+    public TransitionResult(String issueKey, String transitionId, Throwable error) {
+        this.issueKey = issueKey;
+        this.transitionId = transitionId;
+        this.error = error;
+    }
+
+    public String getIssueKey() {
+        return issueKey;
+    }
+
+    public String getTransitionId() {
+        return transitionId;
+    }
+
+    /**
+     * @return the reason of the failure, e.g. a RestException, or null if the transition succeeded
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return issueKey + (error == null ? " -> " + transitionId : " failed: " + error.getMessage());
+    }
+}
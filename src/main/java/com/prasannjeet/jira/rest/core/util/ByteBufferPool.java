@@ -0,0 +1,127 @@
+package com.prasannjeet.jira.rest.core.util;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct ByteBuffers for copying downloads, so a download needs a constant amount of memory and
+ * the buffers are not allocated again for every download.
+ * <p>
+ * Direct buffers are written to a FileChannel without another copy. Buffers beyond the maximum pool size are
+ * dropped on release.
+ */
+public class ByteBufferPool {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    public static final int DEFAULT_MAX_POOLED = 32;
+
+    private static final ByteBufferPool SHARED = new ByteBufferPool(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED);
+
+    private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    private final int bufferSize;
+
+    private final int maxPooled;
+
+    /**
+     * @param bufferSize = the capacity of each buffer in bytes
+     * @param maxPooled  = the maximum number of idle buffers kept in the pool
+     */
+    public ByteBufferPool(int bufferSize, int maxPooled) {
+        Validate.isTrue(bufferSize > 0, "bufferSize must be greater than 0");
+        Validate.isTrue(maxPooled >= 0, "maxPooled must not be negative");
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * @return the pool used by the clients
+     */
+    public static ByteBufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return a cleared buffer, release it after use
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer retval = buffers.poll();
+        if (retval == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        retval.clear();
+        return retval;
+    }
+
+    /**
+     * @param buffer = a buffer of {@link #acquire()}
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() != bufferSize || buffer.isDirect() == false) {
+            return;
+        }
+        if (pooled.incrementAndGet() <= maxPooled) {
+            buffers.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    /**
+     * Copies the stream to the channel with a pooled buffer.
+     *
+     * @param in  = the source, it is not closed
+     * @param out = the target, it is not closed
+     * @return the number of copied bytes
+     */
+    public long copy(InputStream in, WritableByteChannel out) throws IOException {
+        return copy(Channels.newChannel(in), out);
+    }
+
+    /**
+     * Copies the channel to the channel with a pooled buffer.
+     *
+     * @param in  = the source, it is not closed
+     * @param out = the target, it is not closed
+     * @return the number of copied bytes
+     */
+    public long copy(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        ByteBuffer buffer = acquire();
+        try {
+            long retval = 0;
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining() == true) {
+                    retval += out.write(buffer);
+                }
+                buffer.clear();
+            }
+            return retval;
+        } finally {
+            release(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return number of idle buffers in the pool
+     */
+    public int getPooled() {
+        return pooled.get();
+    }
+}
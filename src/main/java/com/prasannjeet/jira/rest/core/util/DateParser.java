@@ -16,6 +16,9 @@
 package com.prasannjeet.jira.rest.core.util;
 
 import java.text.SimpleDateFormat;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Date;
 
 /**
@@ -24,6 +27,8 @@ import java.util.Date;
  */
 public class DateParser {
 
+    private static final DateTimeFormatter JIRA_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+
     public enum Format {
 
         YYYY_MM_DD("yyyy-MM-dd"),
@@ -53,4 +58,22 @@ public class DateParser {
         return null;
     }
 
+    /**
+     * Parses a date of an issue like created or updated, e.g. 2016-02-18T10:11:12.000+0100.
+     * Unlike the Formats this method is thread safe.
+     *
+     * @param dateString = the date, may be null
+     * @return the date in epoch milliseconds, or null if the date is null or has another format
+     */
+    public static Long parseJiraDateTime(String dateString) {
+        if (dateString == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(dateString, JIRA_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
 }
@@ -0,0 +1,52 @@
+package com.prasannjeet.jira.rest.core.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+/**
+ * Helpers to combine the futures of the clients without blocking a thread of the pool.
+ */
+public class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * The futures of the clients are CompletableFutures and returned as they are. Other futures are awaited
+     * on the executor.
+     *
+     * @param future   = the future
+     * @param executor = waits for other futures
+     * @return the CompletableFuture
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CompletableFuture<T> toCompletableFuture(final Future<T> future, Executor executor) {
+        if (future instanceof CompletableFuture) {
+            return (CompletableFuture<T>) future;
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            }
+        }, executor);
+    }
+
+    /**
+     * @param throwable = the exception of a dependent CompletableFuture
+     * @return the original exception without the CompletionException
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+}
@@ -0,0 +1,139 @@
+package com.prasannjeet.jira.rest.core.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.prasannjeet.jira.rest.core.custom.IssueBeanTypeAdapterFactory;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.update.FieldOperation;
+import com.prasannjeet.jira.rest.core.domain.update.IssueUpdate;
+import org.apache.commons.lang3.Validate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Applies an IssueUpdate to a loaded issue, so the issue does not have to be loaded again after the update.
+ * <p>
+ * The values of <code>fields</code> and the <code>set</code> operations replace the field, <code>add</code> appends
+ * to a list and <code>remove</code> removes the matching elements of a list. An object value matches if all its
+ * properties are equal, e.g. <code>{"name": "UI"}</code> matches a component with this name. The patched fields
+ * hold the values as they were sent, e.g. an assignee only with the name, and the updated date is unchanged.
+ */
+public class IssuePatcher {
+
+    private static final String FIELDS = "fields";
+
+    private static final Gson GSON = new GsonBuilder()
+            .excludeFieldsWithoutExposeAnnotation()
+            .registerTypeAdapterFactory(new IssueBeanTypeAdapterFactory(true))
+            .create();
+
+    private IssuePatcher() {
+    }
+
+    /**
+     * @param issue       = the loaded issue, it is not modified
+     * @param issueUpdate = the update which was sent to Jira
+     * @return a patched copy of the issue, or null if the update has an operation which can not be applied
+     * locally, e.g. <code>edit</code> or <code>add</code> to a field which is not a list
+     */
+    public static IssueBean patch(IssueBean issue, IssueUpdate issueUpdate) {
+        Validate.notNull(issue);
+        Validate.notNull(issueUpdate);
+        JsonObject json = GSON.toJsonTree(issue).getAsJsonObject();
+        JsonObject fields = json.getAsJsonObject(FIELDS);
+        if (fields == null) {
+            fields = new JsonObject();
+            json.add(FIELDS, fields);
+        }
+        if (issueUpdate.getFields() != null) {
+            for (Map.Entry<String, Object> entry : issueUpdate.getFields().entrySet()) {
+                fields.add(entry.getKey(), GSON.toJsonTree(entry.getValue()));
+            }
+        }
+        if (issueUpdate.getUpdate() != null) {
+            for (Map.Entry<String, List<FieldOperation>> entry : issueUpdate.getUpdate().entrySet()) {
+                for (FieldOperation operation : entry.getValue()) {
+                    if (apply(fields, entry.getKey(), operation) == false) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return GSON.fromJson(json, IssueBean.class);
+    }
+
+    private static boolean apply(JsonObject fields, String field, FieldOperation operation) {
+        if (operation.getOperation() == null) {
+            return false;
+        }
+        JsonElement value = GSON.toJsonTree(operation.getValue());
+        JsonElement current = fields.get(field);
+        switch (operation.getOperation().toLowerCase(Locale.ROOT)) {
+            case "set":
+                fields.add(field, value);
+                return true;
+            case "add":
+                if (current == null || current.isJsonNull() == true) {
+                    current = new JsonArray();
+                    fields.add(field, current);
+                }
+                if (current.isJsonArray() == false) {
+                    return false;
+                }
+                if (contains(current.getAsJsonArray(), value) == false) {
+                    current.getAsJsonArray().add(value);
+                }
+                return true;
+            case "remove":
+                if (current == null || current.isJsonNull() == true) {
+                    return true;
+                }
+                if (current.isJsonArray() == false) {
+                    return false;
+                }
+                Iterator<JsonElement> elements = current.getAsJsonArray().iterator();
+                while (elements.hasNext() == true) {
+                    if (matches(elements.next(), value) == true) {
+                        elements.remove();
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean contains(JsonArray array, JsonElement value) {
+        for (JsonElement element : array) {
+            if (matches(element, value) == true) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the element equals the value or has all properties of the value object
+     */
+    private static boolean matches(JsonElement element, JsonElement value) {
+        if (element.equals(value) == true) {
+            return true;
+        }
+        if (element.isJsonObject() == false || value.isJsonObject() == false) {
+            return false;
+        }
+        JsonObject object = element.getAsJsonObject();
+        for (Map.Entry<String, JsonElement> property : value.getAsJsonObject().entrySet()) {
+            if (property.getValue().equals(object.get(property.getKey())) == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -16,9 +16,11 @@
 package com.prasannjeet.jira.rest.core.util;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.google.gson.stream.JsonReader;
 import com.prasannjeet.jira.rest.core.domain.ErrorBean;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.client.methods.CloseableHttpResponse;
 
@@ -50,22 +52,44 @@ public class RestException extends Exception {
         StatusLine statusLine = response.getStatusLine();
         this.statusCode = statusLine.getStatusCode();
         this.reasonPhrase = statusLine.getReasonPhrase();
+        try {
+            restErrorMessage = readErrorBean(response);
+        } finally {
+            response.close();
+        }
+
+    }
+
+    /**
+     * Creates the exception from a response which is already fully received, e.g. by the async client.
+     *
+     * @param response = the response with the error
+     */
+    public RestException(HttpResponse response) {
+        StatusLine statusLine = response.getStatusLine();
+        this.statusCode = statusLine.getStatusCode();
+        this.reasonPhrase = statusLine.getReasonPhrase();
+        this.restErrorMessage = readErrorBean(response);
+    }
+
+    private static ErrorBean readErrorBean(HttpResponse response) {
         try {
             HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                return null;
+            }
             InputStream inputStream = entity.getContent();
             if(inputStream != null) {
                 InputStreamReader reader = new InputStreamReader(inputStream, "UTF-8");
                 JsonReader jsonReader = new JsonReader(reader);
                 jsonReader.setLenient(true);
                 Gson gson = new Gson();
-                restErrorMessage = gson.fromJson(jsonReader, ErrorBean.class);
+                return gson.fromJson(jsonReader, ErrorBean.class);
             }
-        } catch (IOException e) {
+        } catch (IOException | JsonParseException e) {
             // nothing to say
-        } finally {
-            response.close();
         }
-
+        return null;
     }
 
     public int getStatusCode() {
@@ -0,0 +1,54 @@
+package com.prasannjeet.jira.rest.core.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to the virtual threads of Java 21 while the library is still compiled for Java 8.
+ * <p>
+ * Executors.newVirtualThreadPerTaskExecutor() is looked up at runtime, so the same jar runs on older JVMs
+ * and uses virtual threads when they are available.
+ */
+public class VirtualThreads {
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = lookupFactory();
+
+    private static MethodHandle lookupFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the running JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an ExecutorService which starts a new virtual thread for each task.
+     *
+     * @return the ExecutorService
+     * @throws UnsupportedOperationException if the JVM has no virtual threads (before Java 21)
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (isSupported() == false) {
+            throw new UnsupportedOperationException("Virtual threads need Java 21 or newer, running on "
+                    + System.getProperty("java.version"));
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+}
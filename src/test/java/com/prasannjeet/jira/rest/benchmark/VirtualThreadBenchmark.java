@@ -0,0 +1,67 @@
+package com.prasannjeet.jira.rest.benchmark;
+
+import com.prasannjeet.jira.rest.JiraRestClient;
+import com.prasannjeet.jira.rest.core.util.VirtualThreads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the executor of {@link JiraRestClient#withVirtualThreads()} against the fixed pool of 100 threads
+ * of the README. A blocking Jira call is simulated with a sleep, so no Jira-Instance is needed. It is no unit
+ * test, run it with the main method:
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *     com.prasannjeet.jira.rest.benchmark.VirtualThreadBenchmark [requests] [latencyMillis]
+ * </pre>
+ * Before Java 21 withVirtualThreads() uses a cached thread pool, which is measured instead.
+ */
+public class VirtualThreadBenchmark {
+
+    private static final int DEFAULT_REQUESTS = 5000;
+
+    private static final long DEFAULT_LATENCY_MILLIS = 20;
+
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_REQUESTS;
+        long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_LATENCY_MILLIS;
+        System.out.println("Java " + System.getProperty("java.version") + ", virtual threads supported: "
+                + VirtualThreads.isSupported() + ", " + requests + " requests of " + latencyMillis + " ms");
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            ExecutorService fixedPool = Executors.newFixedThreadPool(100);
+            long fixedPoolMillis = run(fixedPool, requests, latencyMillis);
+            fixedPool.shutdown();
+
+            JiraRestClient jiraRestClient = JiraRestClient.withVirtualThreads();
+            long virtualThreadMillis = run(jiraRestClient.getExecutorService(), requests, latencyMillis);
+            jiraRestClient.close();
+
+            System.out.println("Round " + round + ": fixed pool (100 threads) " + fixedPoolMillis
+                    + " ms, withVirtualThreads() " + virtualThreadMillis + " ms");
+        }
+    }
+
+    private static long run(ExecutorService executorService, int requests, final long latencyMillis)
+            throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            futures.add(executorService.submit(() -> {
+                Thread.sleep(latencyMillis);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
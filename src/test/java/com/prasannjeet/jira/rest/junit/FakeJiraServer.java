@@ -0,0 +1,123 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP server which answers the requests of a JiraRestClient with fixed responses, for the tests which
+ * need no Jira-Instance. It answers the requests of connect.
+ */
+class FakeJiraServer implements AutoCloseable {
+
+    /**
+     * Answers one request.
+     */
+    interface Route {
+
+        Response answer(HttpExchange exchange) throws Exception;
+    }
+
+    static final class Response {
+
+        private final int statusCode;
+
+        private final String body;
+
+        Response(int statusCode, String body) {
+            this.statusCode = statusCode;
+            this.body = body;
+        }
+    }
+
+    private final HttpServer server;
+
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    FakeJiraServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executorService);
+        route("GET /rest/api/2/user", exchange -> new Response(200, "{\"name\":\"admin\"}"));
+        route("GET /rest/api/2/field", exchange -> new Response(200, "[]"));
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * @param request = the method and the path, e.g. "POST /rest/api/2/issue/bulk"
+     * @param route   = answers the request
+     */
+    void route(String request, Route route) {
+        routes.put(request, route);
+    }
+
+    /**
+     * @param request = the method and the path
+     * @return the number of received requests
+     */
+    int getHits(String request) {
+        AtomicInteger retval = hits.get(request);
+        return retval != null ? retval.get() : 0;
+    }
+
+    String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    static String readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream retval = new ByteArrayOutputStream();
+        InputStream in = exchange.getRequestBody();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            retval.write(buffer, 0, read);
+        }
+        return new String(retval.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String request = exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath();
+        hits.computeIfAbsent(request, r -> new AtomicInteger()).incrementAndGet();
+        Route route = routes.get(request);
+        Response response;
+        try {
+            response = route != null ? route.answer(exchange)
+                    : new Response(404, "{\"errorMessages\":[\"" + request + " not found\"]}");
+        } catch (Exception e) {
+            response = new Response(500, "{\"errorMessages\":[\"" + e + "\"]}");
+        }
+        byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        try {
+            exchange.sendResponseHeaders(response.statusCode, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            // the client aborted the request
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,228 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.prasannjeet.jira.rest.client.IssueClient;
+import com.prasannjeet.jira.rest.core.attachment.AttachmentDownloadManager;
+import com.prasannjeet.jira.rest.core.attachment.DownloadResult;
+import com.prasannjeet.jira.rest.core.domain.AttachmentBean;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the AttachmentDownloadManager with a fake IssueClient, no Jira-Instance is needed.
+ */
+public class TestAttachmentDownloadManager {
+
+    private static final String CONTENT = "http://localhost/secure/attachment/";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    /**
+     * The content of the attachments by uri.
+     */
+    private final Map<String, byte[]> contents = new HashMap<>();
+
+    /**
+     * The number of bytes of the next transfer of an attachment by uri, for a transfer which ends too early.
+     */
+    private final Map<String, Integer> truncated = Collections.synchronizedMap(new HashMap<>());
+
+    /**
+     * The start of every transfer.
+     */
+    private final List<Long> offsets = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * The transfers which are not done yet, if the transfers are deferred.
+     */
+    private final List<Runnable> pending = new ArrayList<>();
+
+    private boolean deferred;
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testCacheHit() throws Exception {
+        AttachmentBean attachment = attachment("10", "report.txt", "0123456789");
+        AttachmentDownloadManager manager = manager(AttachmentDownloadManager.DEFAULT_PARALLELISM);
+        Files.write(manager.getPath(attachment), "0123456789".getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertEquals(manager.getPath(attachment), manager.download(attachment).get(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, manager.getCacheHits());
+        Assert.assertEquals(0, manager.getTransfers());
+        Assert.assertTrue(offsets.isEmpty());
+
+        // a file of another size is downloaded again
+        Files.write(manager.getPath(attachment), "012".getBytes(StandardCharsets.UTF_8));
+        manager.download(attachment).get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(1, manager.getCacheHits());
+        Assert.assertEquals("0123456789", read(manager.getPath(attachment)));
+    }
+
+    @Test
+    public void testResumePart() throws Exception {
+        AttachmentBean attachment = attachment("10", "report.txt", "0123456789");
+        AttachmentDownloadManager manager = manager(AttachmentDownloadManager.DEFAULT_PARALLELISM);
+        Files.write(part(manager, attachment), "0123".getBytes(StandardCharsets.UTF_8));
+
+        Path path = manager.download(attachment).get(10, TimeUnit.SECONDS);
+        Assert.assertEquals("0123456789", read(path));
+        Assert.assertEquals(Arrays.asList(4L), offsets);
+        Assert.assertEquals(1, manager.getResumes());
+        Assert.assertFalse(Files.exists(part(manager, attachment)));
+    }
+
+    @Test
+    public void testSizeMismatchRetry() throws Exception {
+        AttachmentBean attachment = attachment("10", "report.txt", "0123456789");
+        // the first transfer ends after 6 bytes without an error
+        truncated.put(attachment.getContent(), 6);
+        AttachmentDownloadManager manager = manager(AttachmentDownloadManager.DEFAULT_PARALLELISM);
+
+        Path path = manager.download(attachment).get(10, TimeUnit.SECONDS);
+        Assert.assertEquals("0123456789", read(path));
+        Assert.assertEquals(Arrays.asList(0L, 6L), offsets);
+        Assert.assertEquals(2, manager.getTransfers());
+        Assert.assertEquals(1, manager.getResumes());
+    }
+
+    @Test
+    public void testSizeMismatchFails() throws Exception {
+        AttachmentBean attachment = attachment("10", "report.txt", "0123456789");
+        truncated.put(attachment.getContent(), 6);
+        AttachmentDownloadManager manager = new AttachmentDownloadManager(fakeIssueClient(),
+                folder.getRoot().toPath(), scheduler, Runnable::run, 1, 1);
+
+        List<DownloadResult> results = manager.downloadAll(Arrays.asList(attachment)).get(10, TimeUnit.SECONDS);
+        Assert.assertTrue(results.get(0).getError() instanceof IOException);
+        Assert.assertFalse(Files.exists(manager.getPath(attachment)));
+        // the next run continues the partial file
+        Assert.assertEquals(6, Files.size(part(manager, attachment)));
+    }
+
+    @Test
+    public void testOversizePartDiscarded() throws Exception {
+        AttachmentBean attachment = attachment("10", "report.txt", "0123456789");
+        AttachmentDownloadManager manager = manager(AttachmentDownloadManager.DEFAULT_PARALLELISM);
+        Files.write(part(manager, attachment), "0123456789abc".getBytes(StandardCharsets.UTF_8));
+
+        Path path = manager.download(attachment).get(10, TimeUnit.SECONDS);
+        Assert.assertEquals("0123456789", read(path));
+        Assert.assertEquals(Arrays.asList(0L), offsets);
+        Assert.assertEquals(0, manager.getResumes());
+    }
+
+    @Test
+    public void testParallelism() throws Exception {
+        List<AttachmentBean> attachments = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            attachments.add(attachment(String.valueOf(i), "file" + i + ".txt", "content " + i));
+        }
+        deferred = true;
+        AttachmentDownloadManager manager = manager(2);
+
+        CompletableFuture<List<DownloadResult>> results = manager.downloadAll(attachments);
+        Assert.assertEquals(2, pending.size());
+        int transfers = 0;
+        while (pending.isEmpty() == false) {
+            pending.remove(0).run();
+            transfers++;
+            Assert.assertTrue(pending.size() <= 2);
+        }
+        Assert.assertEquals(5, transfers);
+        for (DownloadResult result : results.get(10, TimeUnit.SECONDS)) {
+            Assert.assertTrue(result.toString(), result.isSuccess());
+        }
+        Assert.assertEquals("content 5", read(manager.getPath(attachments.get(4))));
+    }
+
+    private AttachmentDownloadManager manager(int parallelism) {
+        AttachmentDownloadManager retval = new AttachmentDownloadManager(fakeIssueClient(), folder.getRoot().toPath(),
+                scheduler, Runnable::run, parallelism, AttachmentDownloadManager.DEFAULT_ATTEMPTS);
+        retval.setRetryDelay(0, TimeUnit.MILLISECONDS);
+        return retval;
+    }
+
+    private IssueClient fakeIssueClient() {
+        return (IssueClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{IssueClient.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("resumeAttachmentDownload") == false) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return resume((URI) args[0], (Path) args[1]);
+                });
+    }
+
+    /**
+     * Appends the bytes after the end of the file, like a Range request.
+     */
+    private CompletableFuture<Long> resume(URI uri, final Path target) throws IOException {
+        final byte[] content = contents.get(uri.toString());
+        final long offset = Files.exists(target) == true ? Files.size(target) : 0;
+        offsets.add(offset);
+        Integer limit = truncated.remove(uri.toString());
+        final int end = limit != null ? limit : content.length;
+        final CompletableFuture<Long> retval = new CompletableFuture<>();
+        Runnable transfer = () -> {
+            try {
+                Files.write(target, Arrays.copyOfRange(content, (int) offset, end), StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+                retval.complete(Files.size(target));
+            } catch (IOException e) {
+                retval.completeExceptionally(e);
+            }
+        };
+        if (deferred == true) {
+            pending.add(transfer);
+        } else {
+            transfer.run();
+        }
+        return retval;
+    }
+
+    private AttachmentBean attachment(String id, String filename, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        AttachmentBean retval = new AttachmentBean();
+        retval.setId(id);
+        retval.setFilename(filename);
+        retval.setContent(CONTENT + id + "/" + filename);
+        retval.setSize(String.valueOf(bytes.length));
+        contents.put(retval.getContent(), bytes);
+        return retval;
+    }
+
+    private static Path part(AttachmentDownloadManager manager, AttachmentBean attachment) {
+        Path path = manager.getPath(attachment);
+        return path.resolveSibling(path.getFileName() + ".part");
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,88 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.prasannjeet.jira.rest.core.batch.BatchLoader;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the BatchLoader with an in-memory batch function, no Jira-Instance is needed.
+ */
+public class TestBatchLoader {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private final BatchLoader.BatchFunction<String, String> upperCase = keys -> {
+        batches.add(keys);
+        Map<String, String> values = new HashMap<>();
+        for (String key : keys) {
+            if (key.startsWith("missing") == false) {
+                values.put(key, key.toUpperCase());
+            }
+        }
+        return CompletableFuture.completedFuture(values);
+    };
+
+    @After
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testWindow() throws Exception {
+        BatchLoader<String, String> loader = new BatchLoader<>(upperCase, scheduler, scheduler);
+        CompletableFuture<String> first = loader.load("demo-1");
+        CompletableFuture<String> second = loader.load("demo-2");
+        CompletableFuture<String> again = loader.load("demo-1");
+        CompletableFuture<String> missing = loader.load("missing-1");
+
+        Assert.assertEquals("DEMO-1", first.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals("DEMO-2", second.get(5, TimeUnit.SECONDS));
+        Assert.assertSame(first, again);
+        Assert.assertNull(missing.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Collections.singletonList(Arrays.asList("demo-1", "demo-2", "missing-1")), batches);
+        Assert.assertEquals(4, loader.getLoads());
+    }
+
+    @Test
+    public void testMaxBatchSize() {
+        BatchLoader<String, String> loader = new BatchLoader<>(upperCase, scheduler, scheduler, 0, 2);
+        List<CompletableFuture<String>> values = loader.loadAll(Arrays.asList("a", "b", "c"));
+
+        Assert.assertTrue(values.get(1).isDone());
+        Assert.assertFalse(values.get(2).isDone());
+        loader.dispatch();
+        Assert.assertEquals("C", values.get(2).join());
+        Assert.assertEquals(2, loader.getBatches());
+    }
+
+    @Test
+    public void testFailedBatch() throws Exception {
+        BatchLoader<String, String> loader = new BatchLoader<>(keys -> {
+            CompletableFuture<Map<String, String>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("search failed"));
+            return failed;
+        }, scheduler, scheduler);
+        CompletableFuture<String> value = loader.load("demo-1");
+        try {
+            value.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.prasannjeet.jira.rest.client.IssueClient;
+import com.prasannjeet.jira.rest.core.domain.FieldsBean;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.IssuetypeBean;
+import com.prasannjeet.jira.rest.core.domain.ProjectBean;
+import com.prasannjeet.jira.rest.core.domain.StatusBean;
+import com.prasannjeet.jira.rest.core.domain.TransitionBean;
+import com.prasannjeet.jira.rest.core.transition.BulkTransitionEngine;
+import com.prasannjeet.jira.rest.core.transition.TransitionResult;
+import com.prasannjeet.jira.rest.core.util.RestException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the BulkTransitionEngine with a fake IssueClient, no Jira-Instance is needed.
+ */
+public class TestBulkTransitionEngine {
+
+    /**
+     * The issues by key, null for a missing issue.
+     */
+    private final Map<String, IssueBean> issues = new LinkedHashMap<>();
+
+    /**
+     * The transitions of an issue by key, the default transitions for the others.
+     */
+    private final Map<String, List<TransitionBean>> transitions = new HashMap<>();
+
+    private final List<TransitionBean> defaultTransitions = Arrays.asList(transition("31", "Done"));
+
+    /**
+     * The status code of the response to a transition, by key and transition id.
+     */
+    private final Map<String, Integer> failures = new HashMap<>();
+
+    private final List<String> posted = new ArrayList<>();
+
+    /**
+     * The transitions which are not answered yet, if the answers are deferred.
+     */
+    private final List<CompletableFuture<Boolean>> pending = new ArrayList<>();
+
+    private boolean deferred;
+
+    private boolean blockingFutures;
+
+    private int maxPending;
+
+    @Test
+    public void testCacheReuse() throws Exception {
+        issues.put("DEMO-1", issue("DEMO-1", "1", "10", "100"));
+        issues.put("DEMO-2", issue("DEMO-2", "1", "10", "100"));
+        issues.put("DEMO-3", issue("DEMO-3", "1", "10", "200"));
+        issues.put("DEMO-4", issue("DEMO-4", "1", "11", "100"));
+        issues.put("DEMO-5", issue("DEMO-5", "2", "10", "100"));
+        issues.put("DEMO-6", issue("DEMO-6", "1", "10", "100"));
+        BulkTransitionEngine engine = new BulkTransitionEngine(fakeIssueClient(), Runnable::run);
+
+        List<TransitionResult> results = engine.transition(issues.keySet(), "Done").get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(6, results.size());
+        for (TransitionResult result : results) {
+            Assert.assertTrue(result.toString(), result.isSuccess());
+            Assert.assertEquals("31", result.getTransitionId());
+        }
+        // one request per project, issue type and status
+        Assert.assertEquals(4, engine.getTransitionRequests());
+
+        engine.transition(Arrays.asList("DEMO-1", "DEMO-5"), "Done").get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(4, engine.getTransitionRequests());
+    }
+
+    @Test
+    public void testRetryAfterRejection() throws Exception {
+        issues.put("DEMO-1", issue("DEMO-1", "1", "10", "100"));
+        issues.put("DEMO-2", issue("DEMO-2", "1", "10", "100"));
+        // a condition on DEMO-2 rejects the cached transition, the issue has its own
+        failures.put("DEMO-2/31", 400);
+        transitions.put("DEMO-2", Arrays.asList(transition("32", "Done")));
+        BulkTransitionEngine engine = new BulkTransitionEngine(fakeIssueClient(), Runnable::run);
+
+        List<TransitionResult> results = engine.transition(issues.keySet(), "done", 1).get(10, TimeUnit.SECONDS);
+        Assert.assertEquals("31", results.get(0).getTransitionId());
+        Assert.assertTrue(results.get(1).toString(), results.get(1).isSuccess());
+        Assert.assertEquals("32", results.get(1).getTransitionId());
+        Assert.assertEquals(Arrays.asList("DEMO-1/31", "DEMO-2/31", "DEMO-2/32"), posted);
+        Assert.assertEquals(2, engine.getTransitionRequests());
+    }
+
+    @Test
+    public void testConcurrencyCap() throws Exception {
+        for (int i = 1; i <= 10; i++) {
+            issues.put("DEMO-" + i, issue("DEMO-" + i, "1", "10", "100"));
+        }
+        deferred = true;
+        BulkTransitionEngine engine = new BulkTransitionEngine(fakeIssueClient(), Runnable::run);
+
+        CompletableFuture<List<TransitionResult>> results = engine.transition(issues.keySet(), "Done", 3);
+        Assert.assertEquals(3, pending.size());
+        while (pending.isEmpty() == false) {
+            pending.remove(0).complete(true);
+        }
+        Assert.assertEquals(10, results.get(10, TimeUnit.SECONDS).size());
+        Assert.assertEquals(10, posted.size());
+        Assert.assertEquals(3, maxPending);
+    }
+
+    @Test
+    public void testFailureReporting() throws Exception {
+        issues.put("DEMO-1", issue("DEMO-1", "1", "10", "100"));
+        issues.put("DEMO-2", null);
+        issues.put("DEMO-3", issue("DEMO-3", "1", "10", "100"));
+        issues.put("DEMO-4", issue("DEMO-4", "1", "10", "200"));
+        failures.put("DEMO-3/31", 500);
+        transitions.put("DEMO-4", Arrays.asList(transition("41", "Reopen")));
+        BulkTransitionEngine engine = new BulkTransitionEngine(fakeIssueClient(), Runnable::run);
+
+        List<TransitionResult> results = engine.transition(issues.keySet(), "Done").get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(4, results.size());
+        Assert.assertTrue(results.get(0).isSuccess());
+        Assert.assertEquals("DEMO-2", results.get(1).getIssueKey());
+        Assert.assertTrue(results.get(1).getError() instanceof IllegalArgumentException);
+        Assert.assertTrue(results.get(2).getError() instanceof RestException);
+        Assert.assertEquals(500, ((RestException) results.get(2).getError()).getStatusCode());
+        Assert.assertTrue(results.get(3).getError() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testRejectedExecution() throws Exception {
+        issues.put("DEMO-1", issue("DEMO-1", "1", "10", "100"));
+        issues.put("DEMO-2", issue("DEMO-2", "1", "10", "200"));
+        issues.put("DEMO-3", issue("DEMO-3", "1", "10", "300"));
+        // the futures of the fake are awaited on the executor, which is shut down
+        blockingFutures = true;
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.shutdown();
+        BulkTransitionEngine engine = new BulkTransitionEngine(fakeIssueClient(), executorService);
+
+        List<TransitionResult> results = engine.transition(issues.keySet(), "Done", 2).get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(3, results.size());
+        for (TransitionResult result : results) {
+            Assert.assertTrue(result.getError() instanceof RejectedExecutionException);
+        }
+    }
+
+    private IssueClient fakeIssueClient() {
+        return (IssueClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{IssueClient.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getIssuesByKeys":
+                            Map<String, IssueBean> found = new LinkedHashMap<>();
+                            for (Object key : (Collection<?>) args[0]) {
+                                found.put((String) key, issues.get(key));
+                            }
+                            return CompletableFuture.completedFuture(found);
+                        case "getIssueTransitionsByKey":
+                            List<TransitionBean> available = transitions.getOrDefault(args[0], defaultTransitions);
+                            if (blockingFutures == true) {
+                                FutureTask<List<TransitionBean>> retval = new FutureTask<>(() -> available);
+                                retval.run();
+                                return retval;
+                            }
+                            return CompletableFuture.completedFuture(available);
+                        case "transitionIssue":
+                            return post((String) args[0], (String) args[1]);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private CompletableFuture<Boolean> post(String issueKey, String transitionId) {
+        posted.add(issueKey + "/" + transitionId);
+        CompletableFuture<Boolean> retval = new CompletableFuture<>();
+        Integer statusCode = failures.get(issueKey + "/" + transitionId);
+        if (statusCode != null) {
+            retval.completeExceptionally(new RestException(statusCode, "rejected", null));
+        } else if (deferred == true) {
+            pending.add(retval);
+            maxPending = Math.max(maxPending, pending.size());
+        } else {
+            retval.complete(true);
+        }
+        return retval;
+    }
+
+    private static IssueBean issue(String key, String project, String issueType, String status) {
+        FieldsBean fields = new FieldsBean();
+        fields.setProject(new ProjectBean());
+        fields.getProject().setId(project);
+        fields.setIssuetype(new IssuetypeBean());
+        fields.getIssuetype().setId(issueType);
+        fields.setStatus(new StatusBean());
+        fields.getStatus().setId(status);
+        IssueBean retval = new IssueBean();
+        retval.setKey(key);
+        retval.setFields(fields);
+        return retval;
+    }
+
+    private static TransitionBean transition(String id, String name) {
+        TransitionBean retval = new TransitionBean();
+        retval.setId(id);
+        retval.setName(name);
+        return retval;
+    }
+}
@@ -0,0 +1,103 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.prasannjeet.jira.rest.JiraRestClient;
+import com.prasannjeet.jira.rest.client.IssueClient;
+import com.prasannjeet.jira.rest.core.domain.FieldsBean;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.IssueResponse;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the bulk create of issues against a local fake server, no Jira-Instance is needed.
+ */
+public class TestCreateIssues {
+
+    private static final String BULK = "POST /rest/api/2/issue/bulk";
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    private FakeJiraServer server;
+
+    private JiraRestClient jiraRestClient;
+
+    @After
+    public void tearDown() throws Exception {
+        if (jiraRestClient != null) {
+            jiraRestClient.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testFailedChunk() throws Exception {
+        connect();
+        server.route(BULK, exchange -> new FakeJiraServer.Response(500, "{\"errorMessages\":[\"down\"]}"));
+
+        List<IssueResponse> responses = jiraRestClient.getIssueClient().createIssues(issues(3)).get(10,
+                TimeUnit.SECONDS);
+        Assert.assertEquals(3, responses.size());
+        for (IssueResponse response : responses) {
+            Assert.assertNotNull(response.getError());
+            Assert.assertNull(response.getKey());
+        }
+        Assert.assertNotSame(responses.get(0), responses.get(1));
+        Assert.assertNotSame(responses.get(1), responses.get(2));
+    }
+
+    @Test
+    public void testCancelAbortsRequests() throws Exception {
+        connect();
+        final CountDownLatch arrived = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        server.route(BULK, exchange -> {
+            FakeJiraServer.readBody(exchange);
+            arrived.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new FakeJiraServer.Response(201, "{\"issues\":[],\"errors\":[]}");
+        });
+
+        // two chunks, the executor has one thread, so the second waits for the first
+        Future<List<IssueResponse>> created = jiraRestClient.getIssueClient()
+                .createIssues(issues(IssueClient.BULK_CREATE_LIMIT + 1));
+        Assert.assertTrue(arrived.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(created.cancel(true));
+
+        // the aborted request frees the thread before the server answers
+        Assert.assertTrue(executorService.submit(() -> true).get(5, TimeUnit.SECONDS));
+        release.countDown();
+        Thread.sleep(200);
+        Assert.assertEquals(1, server.getHits(BULK));
+    }
+
+    private void connect() throws Exception {
+        server = new FakeJiraServer();
+        jiraRestClient = new JiraRestClient(executorService);
+        jiraRestClient.connect(new URI(server.getUrl()), "admin", "admin");
+    }
+
+    private static List<IssueBean> issues(int count) {
+        List<IssueBean> retval = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            FieldsBean fields = new FieldsBean();
+            fields.setSummary("issue " + i);
+            IssueBean issue = new IssueBean();
+            issue.setFields(fields);
+            retval.add(issue);
+        }
+        return retval;
+    }
+}
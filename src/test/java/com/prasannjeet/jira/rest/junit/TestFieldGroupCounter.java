@@ -0,0 +1,122 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.google.gson.stream.JsonReader;
+import com.prasannjeet.jira.rest.core.search.FieldGroupCounter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Tests the counts of the FieldGroupCounter with search results from JSON strings, no Jira-Instance is needed.
+ */
+public class TestFieldGroupCounter {
+
+    @Test
+    public void testObjectField() throws Exception {
+        FieldGroupCounter counter = new FieldGroupCounter("assignee", false);
+        Assert.assertEquals(3, read(counter, "{\"total\":3,\"issues\":["
+                + issue("10", "\"assignee\":{\"key\":\"jdoe\",\"name\":\"john\",\"displayName\":\"John Doe\"}")
+                + "," + issue("11", "\"assignee\":{\"displayName\":\"Jane Doe\",\"key\":\"jane\"}")
+                + "," + issue("12", "\"assignee\":{\"name\":\"john\",\"active\":true,\"avatarUrls\":{}}") + "]}"));
+
+        Map<String, Long> counts = counter.getCounts();
+        Assert.assertEquals(2, counts.size());
+        // the name comes first, then the key
+        Assert.assertEquals(Long.valueOf(2), counts.get("john"));
+        Assert.assertEquals(Long.valueOf(1), counts.get("jane"));
+    }
+
+    @Test
+    public void testProjectByKey() throws Exception {
+        FieldGroupCounter counter = new FieldGroupCounter("project", false);
+        read(counter, "{\"total\":2,\"issues\":["
+                + issue("10", "\"project\":{\"id\":\"10000\",\"key\":\"DEMO\",\"name\":\"Demo\"}")
+                + "," + issue("11", "\"project\":{\"id\":\"10001\",\"name\":\"Other\"}") + "]}");
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("DEMO", "10001")), counter.getCounts().keySet());
+    }
+
+    @Test
+    public void testArrayField() throws Exception {
+        FieldGroupCounter counter = new FieldGroupCounter("labels", false);
+        read(counter, "{\"total\":3,\"issues\":["
+                + issue("10", "\"labels\":[\"ui\",\"backend\"]")
+                + "," + issue("11", "\"labels\":[\"ui\"]")
+                + "," + issue("12", "\"labels\":[]") + "]}");
+
+        Map<String, Long> counts = counter.getCounts();
+        Assert.assertEquals(Long.valueOf(2), counts.get("ui"));
+        Assert.assertEquals(Long.valueOf(1), counts.get("backend"));
+        Assert.assertEquals(Long.valueOf(1), counts.get(null));
+        // sorted by count descending
+        Assert.assertEquals("ui", counts.keySet().iterator().next());
+    }
+
+    @Test
+    public void testMissingValue() throws Exception {
+        FieldGroupCounter counter = new FieldGroupCounter("fixVersions", false);
+        read(counter, "{\"total\":4,\"issues\":["
+                + issue("10", "\"fixVersions\":[{\"id\":\"1\",\"name\":\"1.0\"}]")
+                + "," + issue("11", "\"fixVersions\":null")
+                + "," + issue("12", "\"summary\":\"no fix version\"")
+                + ",{\"id\":\"13\",\"key\":\"DEMO-13\"}]}");
+
+        Map<String, Long> counts = counter.getCounts();
+        Assert.assertEquals(Long.valueOf(1), counts.get("1.0"));
+        Assert.assertEquals(Long.valueOf(3), counts.get(null));
+    }
+
+    @Test
+    public void testDateOnly() throws Exception {
+        String page = "{\"total\":3,\"issues\":["
+                + issue("10", "\"created\":\"2026-10-16T09:15:00.000+0200\"")
+                + "," + issue("11", "\"created\":\"2026-10-16T23:59:59.000+0200\"")
+                + "," + issue("12", "\"created\":\"2026-10-17T08:00:00.000+0200\"") + "]}";
+        FieldGroupCounter days = new FieldGroupCounter("created", true);
+        read(days, page);
+        Assert.assertEquals(Long.valueOf(2), days.getCounts().get("2026-10-16"));
+        Assert.assertEquals(Long.valueOf(1), days.getCounts().get("2026-10-17"));
+
+        FieldGroupCounter timestamps = new FieldGroupCounter("created", false);
+        read(timestamps, page);
+        Assert.assertEquals(3, timestamps.getCounts().size());
+    }
+
+    @Test
+    public void testPages() throws Exception {
+        FieldGroupCounter counter = new FieldGroupCounter("status", false);
+        Assert.assertNull(counter.getLastId());
+
+        // the id comes after the fields, the total counts the issues after the last id
+        Assert.assertEquals(2, read(counter, "{\"startAt\":0,\"maxResults\":2,\"total\":3,\"issues\":["
+                + "{\"fields\":{\"status\":{\"name\":\"Open\"}},\"id\":\"10\"},"
+                + "{\"fields\":{\"status\":{\"name\":\"Done\"}},\"id\":\"12\"}]}"));
+        Assert.assertEquals(3, counter.getTotal());
+        Assert.assertEquals("12", counter.getLastId());
+
+        Assert.assertEquals(1, read(counter, "{\"startAt\":0,\"maxResults\":2,\"total\":1,\"issues\":["
+                + issue("15", "\"status\":{\"name\":\"Open\"}") + "]}"));
+        Assert.assertEquals(1, counter.getTotal());
+        Assert.assertEquals("15", counter.getLastId());
+
+        Assert.assertEquals(0, read(counter, "{\"startAt\":0,\"maxResults\":2,\"total\":0,\"issues\":[]}"));
+        Assert.assertEquals("15", counter.getLastId());
+        Assert.assertEquals(3, counter.getIssues());
+        Assert.assertEquals(Long.valueOf(2), counter.getCounts().get("Open"));
+    }
+
+    private static int read(FieldGroupCounter counter, String json) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            return counter.read(reader);
+        }
+    }
+
+    private static String issue(String id, String fields) {
+        return "{\"expand\":\"\",\"id\":\"" + id + "\",\"key\":\"DEMO-" + id + "\",\"fields\":{" + fields + "}}";
+    }
+}
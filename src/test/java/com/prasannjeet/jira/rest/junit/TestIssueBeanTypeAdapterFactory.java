@@ -0,0 +1,174 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.prasannjeet.jira.rest.JiraRestClient;
+import com.prasannjeet.jira.rest.core.custom.IssueBeanDeserializer;
+import com.prasannjeet.jira.rest.core.custom.IssueBeanTypeAdapterFactory;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.customFields.CustomFieldBaseBean;
+import com.prasannjeet.jira.rest.core.domain.customFields.CustomFieldType;
+import com.prasannjeet.jira.rest.core.domain.field.FieldBean;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares the IssueBeanTypeAdapterFactory with the deprecated IssueBeanDeserializer on the issue of
+ * src/test/resource/customfields.json, no Jira-Instance is needed.
+ */
+@SuppressWarnings("deprecation")
+public class TestIssueBeanTypeAdapterFactory {
+
+    private static final Gson FACTORY_GSON = new GsonBuilder()
+            .excludeFieldsWithoutExposeAnnotation()
+            .registerTypeAdapterFactory(new IssueBeanTypeAdapterFactory())
+            .create();
+
+    private static final Gson DESERIALIZER_GSON = new GsonBuilder()
+            .excludeFieldsWithoutExposeAnnotation()
+            .registerTypeAdapter(IssueBean.class, new IssueBeanDeserializer())
+            .create();
+
+    /**
+     * Writes all fields of the beans, including the custom fields, to compare them.
+     */
+    private static final Gson COMPARE_GSON = new GsonBuilder().serializeNulls().create();
+
+    private static final Object[][] CUSTOM_FIELD_TYPES = {
+            {"customfield_10000", CustomFieldType.SELECT},
+            {"customfield_10001", CustomFieldType.TEXT},
+            {"customfield_10100", CustomFieldType.SELECT},
+            {"customfield_10101", CustomFieldType.CHECKBOX},
+            {"customfield_10102", CustomFieldType.USER},
+            {"customfield_10103", CustomFieldType.DATETIME},
+            {"customfield_10104", CustomFieldType.DATE},
+            {"customfield_10105", CustomFieldType.URL},
+            {"customfield_10106", CustomFieldType.MULTISELECT},
+            {"customfield_10107", CustomFieldType.RADIO},
+            {"customfield_10108", CustomFieldType.LABELS},
+            {"customfield_10109", CustomFieldType.TEXTAREA},
+            {"customfield_10110", CustomFieldType.FLOAT},
+            {"customfield_10200", CustomFieldType.MULTIUSER},
+            {"customfield_10201", CustomFieldType.GROUP},
+            {"customfield_10202", CustomFieldType.MULTIGROUP},
+            {"customfield_10203", CustomFieldType.PROJECT},
+            {"customfield_10204", CustomFieldType.VERSION},
+            {"customfield_10205", CustomFieldType.MULTIVERSION},
+            {"customfield_10300", CustomFieldType.CASCADING},
+            {"customfield_10301", CustomFieldType.TEXT},
+            {"customfield_10302", CustomFieldType.TEXT}
+    };
+
+    private Map<String, FieldBean> previousCustomFields;
+
+    private JsonObject issue;
+
+    @Before
+    public void setUp() throws Exception {
+        previousCustomFields = JiraRestClient.getCustomfields();
+        Map<String, FieldBean> customFields = new HashMap<>();
+        for (Object[] customFieldType : CUSTOM_FIELD_TYPES) {
+            String json = "{\"id\":\"" + customFieldType[0] + "\",\"custom\":true,\"schema\":{\"custom\":\""
+                    + ((CustomFieldType) customFieldType[1]).getJiraName() + "\"}}";
+            customFields.put((String) customFieldType[0], COMPARE_GSON.fromJson(json, FieldBean.class));
+        }
+        setCustomFields(customFields);
+
+        String json = new String(Files.readAllBytes(Paths.get(System.getProperty("user.dir"), "src", "test",
+                "resource", "customfields.json")), StandardCharsets.UTF_8);
+        issue = new JsonParser().parse(json).getAsJsonObject();
+        JsonObject fields = issue.getAsJsonObject("fields");
+        fields.add("customfield_10300", new JsonParser().parse(
+                "{\"id\":\"10400\",\"value\":\"Europe\",\"child\":{\"id\":\"10401\",\"value\":\"Sweden\"}}"));
+        fields.add("customfield_10301", JsonNull.INSTANCE);
+        fields.add("customfield_10302", new JsonPrimitive(true));
+        fields.add("customfield_99999", new JsonPrimitive("no type"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        setCustomFields(previousCustomFields);
+    }
+
+    @Test
+    public void testSameAsDeserializer() {
+        IssueBean expected = DESERIALIZER_GSON.fromJson(issue, IssueBean.class);
+        IssueBean actual = FACTORY_GSON.fromJson(issue, IssueBean.class);
+
+        Assert.assertEquals(COMPARE_GSON.toJsonTree(expected), COMPARE_GSON.toJsonTree(actual));
+        // all types except the null value and the field without type
+        Set<CustomFieldType> types = EnumSet.noneOf(CustomFieldType.class);
+        for (CustomFieldBaseBean customField : actual.getFields().getCustomFields()) {
+            types.add(customField.getType());
+        }
+        Assert.assertEquals(CUSTOM_FIELD_TYPES.length - 1, actual.getFields().getCustomFields().size());
+        Assert.assertEquals(EnumSet.complementOf(EnumSet.of(CustomFieldType.UNKNOWN)), types);
+    }
+
+    @Test
+    public void testNestedIssues() {
+        JsonObject nested = issue.deepCopy();
+        nested.addProperty("key", "DEMO-2");
+        JsonArray subtasks = new JsonArray();
+        subtasks.add(nested);
+        JsonObject fields = issue.getAsJsonObject("fields");
+        fields.add("subtasks", subtasks);
+        fields.add("parent", nested);
+
+        IssueBean actual = FACTORY_GSON.fromJson(issue, IssueBean.class);
+        // the deserializer decodes the custom fields of the top level issue only, so every issue is compared alone
+        JsonElement expectedNested = COMPARE_GSON.toJsonTree(DESERIALIZER_GSON.fromJson(nested, IssueBean.class));
+        Assert.assertEquals(expectedNested, COMPARE_GSON.toJsonTree(actual.getFields().getSubtasks().get(0)));
+        Assert.assertEquals(expectedNested, COMPARE_GSON.toJsonTree(actual.getFields().getParent()));
+
+        fields.remove("subtasks");
+        fields.remove("parent");
+        IssueBean expected = DESERIALIZER_GSON.fromJson(issue, IssueBean.class);
+        actual.getFields().setSubtasks(null);
+        actual.getFields().setParent(null);
+        Assert.assertEquals(COMPARE_GSON.toJsonTree(expected), COMPARE_GSON.toJsonTree(actual));
+    }
+
+    @Test
+    public void testFieldNamingPolicy() {
+        Gson gson = new GsonBuilder()
+                .excludeFieldsWithoutExposeAnnotation()
+                .setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE)
+                .registerTypeAdapterFactory(new IssueBeanTypeAdapterFactory())
+                .create();
+
+        // the policy applies to the fields object as well, the custom fields keep their ids
+        IssueBean actual = gson.fromJson("{\"Key\":\"DEMO-1\",\"Fields\":{\"Summary\":\"naming\","
+                + "\"customfield_10001\":\"text\"}}", IssueBean.class);
+        Assert.assertEquals("DEMO-1", actual.getKey());
+        Assert.assertEquals("naming", actual.getFields().getSummary());
+        Assert.assertEquals(1, actual.getFields().getCustomFields().size());
+    }
+
+    /**
+     * The custom fields are loaded by connect, the test sets them without a Jira-Instance.
+     */
+    private static void setCustomFields(Map<String, FieldBean> customFields) throws Exception {
+        Field field = JiraRestClient.class.getDeclaredField("customfields");
+        field.setAccessible(true);
+        field.set(null, customFields);
+    }
+}
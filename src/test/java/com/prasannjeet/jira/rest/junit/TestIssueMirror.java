@@ -0,0 +1,86 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.prasannjeet.jira.rest.core.domain.FieldsBean;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.mirror.IssueMirror;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tests the log file of the IssueMirror, no Jira-Instance is needed.
+ */
+public class TestIssueMirror {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPartialLastLine() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (IssueMirror mirror = new IssueMirror(directory)) {
+            mirror.put(issue("10", "DEMO-1", "first"));
+            mirror.put(issue("20", "DEMO-2", "second"));
+        }
+        // a crash while the next entry was written
+        Path logFile = directory.resolve("issues.jsonl");
+        long size = Files.size(logFile);
+        Files.write(logFile, "{\"issue\":{\"id\":\"30\",\"key\":\"DE".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        try (IssueMirror mirror = new IssueMirror(directory)) {
+            Assert.assertEquals(2, mirror.size());
+            Assert.assertEquals(size, Files.size(logFile));
+            mirror.put(issue("30", "DEMO-3", "third"));
+        }
+        try (IssueMirror mirror = new IssueMirror(directory)) {
+            Assert.assertEquals(3, mirror.size());
+            Assert.assertEquals("third", mirror.getByKey("DEMO-3").getFields().getSummary());
+        }
+    }
+
+    @Test
+    public void testMissingLineBreak() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (IssueMirror mirror = new IssueMirror(directory)) {
+            mirror.put(issue("10", "DEMO-1", "first"));
+        }
+        Path logFile = directory.resolve("issues.jsonl");
+        Files.write(logFile, "{\"removed\":\"10\"}".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (IssueMirror mirror = new IssueMirror(directory)) {
+            Assert.assertEquals(1, mirror.size());
+            mirror.put(issue("20", "DEMO-2", "second"));
+        }
+        try (IssueMirror mirror = new IssueMirror(directory)) {
+            Assert.assertEquals(2, mirror.size());
+        }
+    }
+
+    @Test
+    public void testPutStoresCopy() throws Exception {
+        try (IssueMirror mirror = new IssueMirror(folder.getRoot().toPath())) {
+            IssueBean issue = issue("10", "DEMO-1", "first");
+            mirror.put(issue);
+            issue.getFields().setSummary("changed");
+
+            Assert.assertEquals("first", mirror.get("10").getFields().getSummary());
+        }
+    }
+
+    private static IssueBean issue(String id, String key, String summary) {
+        FieldsBean fields = new FieldsBean();
+        fields.setSummary(summary);
+        IssueBean retval = new IssueBean();
+        retval.setId(id);
+        retval.setKey(key);
+        retval.setFields(fields);
+        return retval;
+    }
+}
@@ -0,0 +1,56 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.prasannjeet.jira.rest.core.domain.ComponentBean;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.update.FieldOperation;
+import com.prasannjeet.jira.rest.core.domain.update.IssueUpdate;
+import com.prasannjeet.jira.rest.core.util.IssuePatcher;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Tests the IssuePatcher with a local issue, no Jira-Instance is needed.
+ */
+public class TestIssuePatcher {
+
+    private static final Gson GSON = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+
+    private final IssueBean issue = GSON.fromJson("{\"id\":\"1\",\"key\":\"DEMO-1\",\"fields\":{\"summary\":\"old\","
+            + "\"labels\":[\"ui\"],\"components\":[{\"id\":\"10\",\"name\":\"UI\"},{\"id\":\"11\",\"name\":\"API\"}]}}",
+            IssueBean.class);
+
+    @Test
+    public void testPatch() {
+        IssueUpdate update = new IssueUpdate();
+        update.getFields().put("summary", "new");
+        update.getUpdate().put("labels", Arrays.asList(new FieldOperation("add", "css"),
+                new FieldOperation("remove", "ui")));
+        update.getUpdate().put("components", Collections.singletonList(
+                new FieldOperation("remove", Collections.singletonMap("name", "UI"))));
+
+        IssueBean patched = IssuePatcher.patch(issue, update);
+        Assert.assertEquals("DEMO-1", patched.getKey());
+        Assert.assertEquals("new", patched.getFields().getSummary());
+        Assert.assertEquals(Collections.singletonList("css"), patched.getFields().getLabels());
+        Assert.assertEquals(1, patched.getFields().getComponents().size());
+        ComponentBean component = patched.getFields().getComponents().get(0);
+        Assert.assertEquals("API", component.getName());
+        // the loaded issue is not modified
+        Assert.assertEquals("old", issue.getFields().getSummary());
+        Assert.assertEquals(Collections.singletonList("ui"), issue.getFields().getLabels());
+    }
+
+    @Test
+    public void testUnsupportedOperation() {
+        IssueUpdate update = new IssueUpdate();
+        update.getUpdate().put("summary", Collections.singletonList(new FieldOperation("add", "x")));
+        Assert.assertNull(IssuePatcher.patch(issue, update));
+        update.getUpdate().put("summary", Collections.singletonList(new FieldOperation("edit", "x")));
+        Assert.assertNull(IssuePatcher.patch(issue, update));
+    }
+}
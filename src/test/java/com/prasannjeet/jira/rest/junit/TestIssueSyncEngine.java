@@ -0,0 +1,130 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.prasannjeet.jira.rest.client.SearchClient;
+import com.prasannjeet.jira.rest.core.domain.FieldsBean;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.JqlSearchResult;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+import com.prasannjeet.jira.rest.core.search.SeekSearchIterator;
+import com.prasannjeet.jira.rest.core.sync.ChangeType;
+import com.prasannjeet.jira.rest.core.sync.IssueChangeEvent;
+import com.prasannjeet.jira.rest.core.sync.IssueSyncEngine;
+import com.prasannjeet.jira.rest.core.sync.WatermarkStore;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tests the IssueSyncEngine with a fake SearchClient, no Jira-Instance is needed.
+ */
+public class TestIssueSyncEngine {
+
+    private static final long START = Instant.parse("2026-10-17T10:00:00Z").toEpochMilli();
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private static final DateTimeFormatter JIRA_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+
+    private static final DateTimeFormatter JQL_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+
+    private static final Pattern UPDATED_FROM = Pattern.compile("updated >= \"([^\"]+)\"");
+
+    private static final Pattern ID_AFTER = Pattern.compile("id > (\\d+)");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * The updated date of every issue by id.
+     */
+    private final Map<Long, Long> updated = new TreeMap<>();
+
+    private final List<IssueChangeEvent> events = new ArrayList<>();
+
+    @Test
+    public void testUpdateDuringScan() throws Exception {
+        updated.put(10L, START - 10 * MINUTE);
+        // the scan takes longer than the overlap, the last issue was updated at its end
+        updated.put(20L, START + 10 * MINUTE);
+        IssueSyncEngine engine = new IssueSyncEngine(fakeSearchClient(), new JqlSearchBean(),
+                new WatermarkStore(folder.getRoot().toPath().resolve("sync.properties")), "test");
+        engine.setZoneId(ZoneOffset.UTC);
+        engine.setPageSize(1);
+        engine.setClock(Clock.fixed(Instant.ofEpochMilli(START), ZoneOffset.UTC));
+
+        Assert.assertEquals(2, engine.sync(events::add));
+        Assert.assertEquals(START - engine.getOverlap(), engine.getState().getWatermark());
+
+        engine.setClock(Clock.fixed(Instant.ofEpochMilli(START + 15 * MINUTE), ZoneOffset.UTC));
+        events.clear();
+        Assert.assertEquals(1, engine.sync(events::add));
+        Assert.assertEquals("10", events.get(0).getIssue().getId());
+        Assert.assertEquals(ChangeType.UPDATED, events.get(0).getType());
+        Assert.assertEquals(START + MINUTE, events.get(0).getUpdated());
+    }
+
+    private SearchClient fakeSearchClient() {
+        return (SearchClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{SearchClient.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("iterateIssuesById") == false) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return new SeekSearchIterator(this::search, (JqlSearchBean) args[0], (Integer) args[1],
+                            (String) args[2]);
+                });
+    }
+
+    private CompletableFuture<JqlSearchResult> search(JqlSearchBean jsb) {
+        long from = Long.MIN_VALUE;
+        Matcher updatedFrom = UPDATED_FROM.matcher(jsb.getJql());
+        if (updatedFrom.find() == true) {
+            from = LocalDateTime.parse(updatedFrom.group(1), JQL_DATE).toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        long after = Long.MIN_VALUE;
+        Matcher idAfter = ID_AFTER.matcher(jsb.getJql());
+        if (idAfter.find() == true) {
+            after = Long.parseLong(idAfter.group(1));
+        }
+
+        List<IssueBean> matches = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : updated.entrySet()) {
+            if (entry.getKey() > after && entry.getValue() >= from) {
+                matches.add(issue(entry.getKey(), entry.getValue()));
+            }
+        }
+        JqlSearchResult result = new JqlSearchResult();
+        result.setTotal(matches.size());
+        result.setIssues(new ArrayList<>(matches.subList(0, Math.min(jsb.getMaxResults(), matches.size()))));
+        if (after == 10L) {
+            // the first issue is updated after the scan passed it
+            updated.put(10L, START + MINUTE);
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
+    private static IssueBean issue(long id, long updated) {
+        FieldsBean fields = new FieldsBean();
+        fields.setCreated(JIRA_DATE.format(Instant.ofEpochMilli(START - 20 * MINUTE).atOffset(ZoneOffset.UTC)));
+        fields.setUpdated(JIRA_DATE.format(Instant.ofEpochMilli(updated).atOffset(ZoneOffset.UTC)));
+        IssueBean retval = new IssueBean();
+        retval.setId(String.valueOf(id));
+        retval.setFields(fields);
+        return retval;
+    }
+}
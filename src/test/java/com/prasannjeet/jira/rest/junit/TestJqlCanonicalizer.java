@@ -0,0 +1,46 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.prasannjeet.jira.rest.core.jql.EField;
+import com.prasannjeet.jira.rest.core.jql.EOperator;
+import com.prasannjeet.jira.rest.core.jql.JqlBuilder;
+import com.prasannjeet.jira.rest.core.jql.JqlCanonicalizer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the canonical form of JQL, no Jira-Instance is needed.
+ */
+public class TestJqlCanonicalizer {
+
+    @Test
+    public void testEquivalentQueries() {
+        String expected = "issuetype = Bug and project = DEMO and status in (Done, \"In Progress\") order by created desc";
+        Assert.assertEquals(expected, JqlCanonicalizer.canonicalize(
+                "project = DEMO AND status IN ('In Progress', Done) AND type in (Bug) ORDER BY created DESC"));
+        Assert.assertEquals(expected, JqlCanonicalizer.canonicalize(
+                "  Type = \"Bug\" and (Status in (Done,\"In Progress\", Done) and PROJECT=DEMO) order by CREATED desc"));
+    }
+
+    @Test
+    public void testJunctions() {
+        Assert.assertEquals("assignee = currentuser() or (labels = a and labels = b)",
+                JqlCanonicalizer.canonicalize("(labels = b and labels = a) or assignee = currentUser()"));
+        Assert.assertEquals("status = Open", JqlCanonicalizer.canonicalize("not not status = Open"));
+        Assert.assertEquals("a = 1 or b = 2 or c = 3", JqlCanonicalizer.canonicalize("c = 3 or (b = 2 or a = 1)"));
+    }
+
+    @Test
+    public void testBuilder() {
+        JqlBuilder builder = new JqlBuilder();
+        String canonical = builder.addCondition(EField.STATUS, EOperator.IN, "Open", "Closed").and()
+                .addCondition(EField.PROJECT, EOperator.EQUALS, "DEMO").buildCanonical();
+        Assert.assertEquals("project = DEMO and status in (Closed, Open)", canonical);
+        Assert.assertEquals("project = DEMO", builder.addCondition(EField.PROJECT, EOperator.EQUALS, "DEMO")
+                .buildStatement().toString());
+    }
+
+    @Test
+    public void testInvalidQueryIsKept() {
+        Assert.assertEquals("project = (DEMO", JqlCanonicalizer.canonicalize(" project = (DEMO "));
+    }
+}
@@ -0,0 +1,102 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.jql.JqlEvaluator;
+import com.prasannjeet.jira.rest.core.jql.JqlParseException;
+import com.prasannjeet.jira.rest.core.jql.JqlParser;
+import com.prasannjeet.jira.rest.core.jql.JqlStatement;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests the JqlParser and JqlEvaluator with local issues, no Jira-Instance is needed.
+ */
+public class TestJqlEvaluator {
+
+    private static final Gson GSON = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+
+    private final JqlEvaluator evaluator = new JqlEvaluator(ZoneOffset.UTC, "jsmith",
+            Clock.fixed(Instant.parse("2024-01-10T12:00:00Z"), ZoneOffset.UTC));
+
+    private final List<IssueBean> issues = Arrays.asList(
+            issue("1", "DEMO-1", "Open", "jsmith", "Login fails with SSO", "2024-01-09T10:00:00.000+0000", "ui"),
+            issue("2", "DEMO-2", "In Progress", null, "Export is slow", "2024-01-05T10:00:00.000+0000"),
+            issue("3", "DEMO-10", "Done", "bob", "Login page layout", "2024-01-10T11:00:00.000+0000", "ui", "css"),
+            issue("4", "TEST-1", "Open", "bob", "Crash on export", "2023-12-24T08:30:00.000+0000"));
+
+    @Test
+    public void testParseAndToString() {
+        JqlStatement statement = JqlParser.parseJql(
+                "project = DEMO AND (status in (Open, 'In Progress') OR assignee is EMPTY) order by created DESC, key");
+        Assert.assertEquals("project = DEMO and (status in (Open, \"In Progress\") or assignee is empty) "
+                + "order by created desc, key", statement.toString());
+        Assert.assertEquals(statement, JqlParser.parseJql(statement.toString()));
+    }
+
+    @Test(expected = JqlParseException.class)
+    public void testParseError() {
+        JqlParser.parseJql("project = DEMO and (status = Open");
+    }
+
+    @Test
+    public void testOperators() {
+        assertKeys("status = open", "DEMO-1", "TEST-1");
+        assertKeys("status != Open", "DEMO-2", "DEMO-10");
+        assertKeys("assignee != bob", "DEMO-1");
+        assertKeys("assignee is empty", "DEMO-2");
+        assertKeys("assignee = currentUser()", "DEMO-1");
+        assertKeys("labels in (css, other)", "DEMO-10");
+        assertKeys("labels not in (css)", "DEMO-1");
+        assertKeys("summary ~ login", "DEMO-1", "DEMO-10");
+        assertKeys("summary !~ \"login page\"", "DEMO-1", "DEMO-2", "TEST-1");
+        assertKeys("key > DEMO-2", "DEMO-10");
+        assertKeys("id in (1, 4)", "DEMO-1", "TEST-1");
+        assertKeys("updated >= \"2024/01/09\" and updated < \"2024-01-10 11:00\"", "DEMO-1");
+        assertKeys("updated = 2024-01-05", "DEMO-2");
+        assertKeys("updated > -2d", "DEMO-1", "DEMO-10");
+        assertKeys("project = TEST or not status = Open and summary ~ export", "DEMO-2", "TEST-1");
+    }
+
+    @Test
+    public void testOrderBy() {
+        assertKeys("project = DEMO order by key desc", "DEMO-10", "DEMO-2", "DEMO-1");
+        assertKeys("order by updated", "DEMO-10", "DEMO-1", "DEMO-2", "TEST-1");
+        assertKeys("order by assignee asc, id desc", "TEST-1", "DEMO-10", "DEMO-1", "DEMO-2");
+    }
+
+    @Test
+    public void testUnsupported() {
+        Assert.assertFalse(evaluator.isSupported(JqlParser.parseJql("cf[10000] = x")));
+        Assert.assertFalse(evaluator.isSupported(JqlParser.parseJql("assignee in membersOf(developers)")));
+        Assert.assertTrue(evaluator.isSupported(JqlParser.parseJql("project = DEMO order by updated")));
+    }
+
+    private void assertKeys(String jql, String... keys) {
+        List<String> actual = new ArrayList<>();
+        for (IssueBean issue : evaluator.search(issues, jql)) {
+            actual.add(issue.getKey());
+        }
+        Assert.assertEquals(jql, Arrays.asList(keys), actual);
+    }
+
+    private static IssueBean issue(String id, String key, String status, String assignee, String summary,
+                                   String updated, String... labels) {
+        StringBuilder json = new StringBuilder("{\"id\":\"").append(id).append("\",\"key\":\"").append(key)
+                .append("\",\"fields\":{\"project\":{\"key\":\"").append(key, 0, key.indexOf('-'))
+                .append("\"},\"status\":{\"name\":\"").append(status).append("\"},\"summary\":\"").append(summary)
+                .append("\",\"updated\":\"").append(updated).append("\",\"labels\":").append(GSON.toJson(labels));
+        if (assignee != null) {
+            json.append(",\"assignee\":{\"name\":\"").append(assignee).append("\"}");
+        }
+        return GSON.fromJson(json.append("}}").toString(), IssueBean.class);
+    }
+}
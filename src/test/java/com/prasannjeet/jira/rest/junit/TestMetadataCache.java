@@ -0,0 +1,93 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.prasannjeet.jira.rest.core.cache.MetadataCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the MetadataCache with plain futures, no Jira-Instance is needed.
+ */
+public class TestMetadataCache {
+
+    private final MetadataCache cache = new MetadataCache(Runnable::run);
+
+    private final List<CompletableFuture<String>> loads = new ArrayList<>();
+
+    @Test
+    public void testSharedFirstLoad() throws Exception {
+        Future<String> first = cache.get(MetadataCache.STATES, this::load);
+        Future<String> second = cache.get(MetadataCache.STATES, this::load);
+        Assert.assertEquals(1, loads.size());
+        loads.get(0).complete("Open");
+
+        Assert.assertEquals("Open", first.get());
+        Assert.assertEquals("Open", second.get());
+        Future<String> cached = cache.get(MetadataCache.STATES, this::load);
+        Assert.assertTrue(cached.isDone());
+        Assert.assertEquals(1, loads.size());
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testRefreshAhead() throws Exception {
+        cache.setTimeToLive(MetadataCache.PRIORITIES, 0, TimeUnit.MILLISECONDS);
+        cache.get(MetadataCache.PRIORITIES, this::load);
+        loads.get(0).complete("Major");
+
+        // the old value is returned while the new one is loaded
+        Assert.assertEquals("Major", cache.get(MetadataCache.PRIORITIES, this::load).get());
+        Assert.assertEquals("Major", cache.get(MetadataCache.PRIORITIES, this::load).get());
+        Assert.assertEquals(2, loads.size());
+        loads.get(1).complete("Minor");
+        Assert.assertEquals("Minor", cache.get(MetadataCache.PRIORITIES, this::load).get());
+        Assert.assertEquals(2, cache.getRefreshes());
+    }
+
+    @Test
+    public void testStaleOnError() throws Exception {
+        cache.get(MetadataCache.FIELDS, this::load);
+        loads.get(0).complete("summary");
+        cache.expire(MetadataCache.FIELDS);
+
+        Assert.assertEquals("summary", cache.get(MetadataCache.FIELDS, this::load).get());
+        loads.get(1).completeExceptionally(new IllegalStateException("503"));
+        Assert.assertEquals("summary", cache.get(MetadataCache.FIELDS, this::load).get());
+        Assert.assertEquals(2, loads.size());
+        Assert.assertEquals(1, cache.getRefreshFailures());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        cache.get(MetadataCache.ISSUE_TYPES, this::load);
+        loads.get(0).complete("Bug");
+        cache.invalidate(MetadataCache.ISSUE_TYPES);
+
+        Future<String> reloaded = cache.get(MetadataCache.ISSUE_TYPES, this::load);
+        Assert.assertFalse(reloaded.isDone());
+        loads.get(1).complete("Task");
+        Assert.assertEquals("Task", reloaded.get());
+    }
+
+    @Test
+    public void testFailedFirstLoad() {
+        Future<String> failed = cache.get(MetadataCache.CONFIGURATION, this::load);
+        loads.get(0).completeExceptionally(new IllegalStateException("401"));
+
+        Assert.assertTrue(((CompletableFuture<String>) failed).isCompletedExceptionally());
+        cache.get(MetadataCache.CONFIGURATION, this::load);
+        Assert.assertEquals(2, loads.size());
+    }
+
+    private Future<String> load() {
+        CompletableFuture<String> retval = new CompletableFuture<>();
+        loads.add(retval);
+        return retval;
+    }
+}
@@ -0,0 +1,117 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.prasannjeet.jira.rest.client.SearchClient;
+import com.prasannjeet.jira.rest.core.domain.FieldsBean;
+import com.prasannjeet.jira.rest.core.domain.IssueBean;
+import com.prasannjeet.jira.rest.core.domain.JqlSearchResult;
+import com.prasannjeet.jira.rest.core.domain.ProjectBean;
+import com.prasannjeet.jira.rest.core.domain.StatusBean;
+import com.prasannjeet.jira.rest.core.jql.JqlEvaluator;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+import com.prasannjeet.jira.rest.core.mirror.IssueMirror;
+import com.prasannjeet.jira.rest.core.mirror.MirrorSearch;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.lang.reflect.Proxy;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the choice between the mirror and Jira of the MirrorSearch, no Jira-Instance is needed.
+ */
+public class TestMirrorSearch {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<String> remote = new ArrayList<>();
+
+    private IssueMirror mirror;
+
+    @Before
+    public void setUp() throws Exception {
+        mirror = new IssueMirror(folder.getRoot().toPath());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mirror.close();
+    }
+
+    @Test
+    public void testWithoutCoveredProjects() throws Exception {
+        // e.g. before the first sync, the empty mirror must not answer
+        MirrorSearch search = search(Collections.emptyList());
+
+        Assert.assertFalse(search.isLocal(jql("project = DEMO and status = Open")));
+        Assert.assertEquals(1, search.searchIssues(jql("project = DEMO")).get(10, TimeUnit.SECONDS).getTotal());
+        Assert.assertEquals(Arrays.asList("project = DEMO"), remote);
+        Assert.assertEquals(0, search.getLocalSearches());
+    }
+
+    @Test
+    public void testCoveredProjects() throws Exception {
+        mirror.put(issue("10", "DEMO-1", "Open"));
+        mirror.put(issue("11", "DEMO-2", "Done"));
+        MirrorSearch search = search(Arrays.asList("DEMO"));
+
+        Assert.assertTrue(search.isLocal(jql("project = demo and status = Open")));
+        Assert.assertFalse(search.isLocal(jql("status = Open")));
+        Assert.assertFalse(search.isLocal(jql("project in (DEMO, OTHER)")));
+
+        JqlSearchResult result = search.searchIssues(jql("project = DEMO and status = Open")).get(10,
+                TimeUnit.SECONDS);
+        Assert.assertEquals(1, result.getTotal());
+        Assert.assertEquals("DEMO-1", result.getIssues().get(0).getKey());
+        Assert.assertTrue(remote.isEmpty());
+
+        search.setCoveredProjects(Collections.emptyList());
+        Assert.assertFalse(search.isLocal(jql("project = DEMO and status = Open")));
+    }
+
+    private MirrorSearch search(List<String> coveredProjects) {
+        SearchClient searchClient = (SearchClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{SearchClient.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("searchIssues") == false) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    remote.add(((JqlSearchBean) args[0]).getJql());
+                    JqlSearchResult result = new JqlSearchResult();
+                    result.setTotal(1);
+                    result.setIssues(new ArrayList<>());
+                    return CompletableFuture.completedFuture(result);
+                });
+        return new MirrorSearch(mirror, searchClient, new JqlEvaluator(ZoneOffset.UTC, "admin"), coveredProjects);
+    }
+
+    private static JqlSearchBean jql(String jql) {
+        JqlSearchBean retval = new JqlSearchBean();
+        retval.setJql(jql);
+        return retval;
+    }
+
+    private static IssueBean issue(String id, String key, String status) {
+        ProjectBean project = new ProjectBean();
+        project.setId("10000");
+        project.setKey("DEMO");
+        FieldsBean fields = new FieldsBean();
+        fields.setProject(project);
+        fields.setStatus(new StatusBean());
+        fields.getStatus().setName(status);
+        IssueBean retval = new IssueBean();
+        retval.setId(id);
+        retval.setKey(key);
+        retval.setFields(fields);
+        return retval;
+    }
+}
@@ -0,0 +1,68 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.prasannjeet.jira.rest.core.http.RequestCoalescer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the RequestCoalescer with plain futures, no Jira-Instance is needed.
+ */
+public class TestRequestCoalescer {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void testSharedCall() throws Exception {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> first = coalescer.coalesce("GET /issue/X-1", () -> start(call));
+        CompletableFuture<String> second = coalescer.coalesce("GET /issue/X-1", () -> start(new CompletableFuture<>()));
+        CompletableFuture<String> other = coalescer.coalesce("GET /field", () -> start(new CompletableFuture<>()));
+        call.complete("X-1");
+
+        Assert.assertEquals("X-1", first.get());
+        Assert.assertEquals("X-1", second.get());
+        Assert.assertFalse(other.isDone());
+        Assert.assertEquals(2, calls.get());
+        Assert.assertEquals(1, coalescer.getHits());
+        Assert.assertEquals(2, coalescer.getMisses());
+
+        // a completed call is not cached
+        coalescer.coalesce("GET /issue/X-1", () -> start(new CompletableFuture<>()));
+        Assert.assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testCancel() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> first = coalescer.coalesce("GET /issue/X-1", () -> start(call));
+        CompletableFuture<String> second = coalescer.coalesce("GET /issue/X-1", () -> start(new CompletableFuture<>()));
+
+        first.cancel(true);
+        Assert.assertFalse(call.isCancelled());
+        second.cancel(true);
+        Assert.assertTrue(call.isCancelled());
+        Assert.assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    public void testFailure() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> first = coalescer.coalesce("GET /issue/X-1", () -> start(call));
+        CompletableFuture<String> second = coalescer.coalesce("GET /issue/X-1", () -> start(new CompletableFuture<>()));
+        call.completeExceptionally(new IllegalStateException("404"));
+
+        Assert.assertTrue(first.isCompletedExceptionally());
+        Assert.assertTrue(second.isCompletedExceptionally());
+        Assert.assertEquals(0, coalescer.getInFlight());
+    }
+
+    private CompletableFuture<String> start(CompletableFuture<String> call) {
+        calls.incrementAndGet();
+        return call;
+    }
+}
@@ -0,0 +1,97 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.prasannjeet.jira.rest.core.domain.JqlSearchResult;
+import com.prasannjeet.jira.rest.core.jql.JqlSearchBean;
+import com.prasannjeet.jira.rest.core.search.CachedSearch;
+import com.prasannjeet.jira.rest.core.search.LruSearchCache;
+import com.prasannjeet.jira.rest.core.search.SearchCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the keys, the expiry and the revalidation of cached searches, no Jira-Instance is needed.
+ */
+public class TestSearchCache {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Test
+    public void testKey() {
+        JqlSearchBean first = search("project = DEMO AND status IN (Open, Closed)", "summary", "status");
+        first.getExpand().addAll(Arrays.asList("names", "changelog"));
+        JqlSearchBean second = search("  status in (Closed,Open) and PROJECT=DEMO", "status", "summary");
+        second.getExpand().addAll(Arrays.asList("changelog", "names"));
+        Assert.assertEquals(SearchCache.key(first), SearchCache.key(second));
+
+        second.setStartAt(50);
+        Assert.assertNotEquals(SearchCache.key(first), SearchCache.key(second));
+        Assert.assertNotEquals(SearchCache.key(first), SearchCache.key(search(first.getJql(), "summary")));
+        Assert.assertNotEquals(SearchCache.key(first),
+                SearchCache.key(search("project = DEMO AND status IN (Open, Closed) ORDER BY key",
+                        "summary", "status")));
+    }
+
+    @Test
+    public void testTimeToLive() {
+        LruSearchCache cache = new LruSearchCache(10, 1, TimeUnit.MINUTES);
+        cache.setRevalidating(false);
+        long now = System.currentTimeMillis();
+        cache.put("fresh", cached(now));
+        cache.put("expired", cached(now - 2 * MINUTE));
+
+        Assert.assertNotNull(cache.get("fresh"));
+        Assert.assertNull(cache.get("expired"));
+        Assert.assertEquals(1, cache.size());
+
+        // a revalidating cache keeps the expired result for the revalidation
+        cache.setRevalidating(true);
+        cache.put("expired", cached(now - 2 * MINUTE));
+        Assert.assertNotNull(cache.get("expired"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsed() {
+        LruSearchCache cache = new LruSearchCache(2, 1, TimeUnit.MINUTES);
+        long now = System.currentTimeMillis();
+        cache.put("a", cached(now));
+        cache.put("b", cached(now));
+        cache.get("a");
+        cache.put("c", cached(now));
+
+        Assert.assertNotNull(cache.get("a"));
+        Assert.assertNull(cache.get("b"));
+        Assert.assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    public void testRevalidatable() {
+        Assert.assertTrue(CachedSearch.isRevalidatable("project = DEMO and status in (Open, Closed)"));
+        Assert.assertTrue(CachedSearch.isRevalidatable("created >= \"2026/01/01\" order by created"));
+        Assert.assertTrue(CachedSearch.isRevalidatable("order by key"));
+        Assert.assertTrue(CachedSearch.isRevalidatable("summary ~ \"release 4\" or labels = release"));
+
+        Assert.assertFalse(CachedSearch.isRevalidatable("updated >= -4w"));
+        Assert.assertFalse(CachedSearch.isRevalidatable("project = DEMO and updated >= \"-4w 2d\""));
+        Assert.assertFalse(CachedSearch.isRevalidatable("not (created < \"-1d -12h\")"));
+        Assert.assertFalse(CachedSearch.isRevalidatable("resolved >= startOfWeek()"));
+        Assert.assertFalse(CachedSearch.isRevalidatable("project = (DEMO"));
+    }
+
+    private static JqlSearchBean search(String jql, String... fields) {
+        JqlSearchBean retval = new JqlSearchBean();
+        retval.setJql(jql);
+        retval.getFields().clear();
+        retval.getFields().addAll(Arrays.asList(fields));
+        return retval;
+    }
+
+    private static CachedSearch cached(long validatedAt) {
+        JqlSearchResult result = new JqlSearchResult();
+        result.setIssues(new ArrayList<>());
+        return new CachedSearch(result, validatedAt, true);
+    }
+}
@@ -0,0 +1,47 @@
+package com.prasannjeet.jira.rest.junit;
+
+import com.prasannjeet.jira.rest.JiraRestClient;
+import com.prasannjeet.jira.rest.core.util.VirtualThreads;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests the executor of the virtual thread mode, no Jira-Instance is needed.
+ * Before Java 21 the fallback to a thread pool is tested.
+ */
+public class TestVirtualThreads {
+
+    @Test
+    public void testWithVirtualThreads() throws Exception {
+        JiraRestClient jiraRestClient = JiraRestClient.withVirtualThreads();
+        ExecutorService executorService = jiraRestClient.getExecutorService();
+        Thread thread = executorService.submit(Thread::currentThread).get();
+
+        Assert.assertEquals(VirtualThreads.isSupported(), isVirtual(thread));
+        jiraRestClient.close();
+        Assert.assertTrue(executorService.isShutdown());
+    }
+
+    @Test
+    public void testCallerExecutorIsNotShutDown() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        JiraRestClient jiraRestClient = new JiraRestClient(executorService);
+        jiraRestClient.close();
+
+        Assert.assertFalse(executorService.isShutdown());
+        executorService.shutdown();
+    }
+
+    /**
+     * Thread.isVirtual() exists since Java 21, the tests are compiled for Java 8.
+     */
+    private static boolean isVirtual(Thread thread) throws Exception {
+        if (VirtualThreads.isSupported() == false) {
+            return false;
+        }
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}